@@ -0,0 +1,11 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import io.vavr.control.Either;
+
+import java.util.List;
+
+public abstract class CreateProductsUseCase
+        extends UseCase<List<CreateProductCommand>, List<Either<Notification, CreateProductOutput>>> {
+}
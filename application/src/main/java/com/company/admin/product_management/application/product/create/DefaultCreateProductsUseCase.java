@@ -0,0 +1,83 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import io.vavr.API;
+import io.vavr.control.Either;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static io.vavr.API.Left;
+import static io.vavr.API.Right;
+
+public class DefaultCreateProductsUseCase extends CreateProductsUseCase {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final ProductGateway productGateway;
+    private final int chunkSize;
+
+    public DefaultCreateProductsUseCase(final ProductGateway productGateway) {
+        this(productGateway, DEFAULT_CHUNK_SIZE);
+    }
+
+    public DefaultCreateProductsUseCase(final ProductGateway productGateway, final int chunkSize) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize should be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<Either<Notification, CreateProductOutput>> execute(final List<CreateProductCommand> aCommands) {
+        final var results = new ArrayList<Either<Notification, CreateProductOutput>>(aCommands.size());
+        final var pending = new ArrayList<Integer>();
+        final var products = new ArrayList<Product>();
+
+        for (final var aCommand : aCommands) {
+            final var aProduct = Product.newProduct(
+                    aCommand.aDescription(),
+                    aCommand.aFabricatedAt(),
+                    aCommand.anExpiredAt(),
+                    aCommand.anSupplierCode(),
+                    aCommand.aSupplierDescription(),
+                    aCommand.aSupplierCNPJ(),
+                    aCommand.isActive()
+            );
+
+            //missing fields make the validator throw, the notification turns that into an item error
+            final var notification = Notification.create();
+            notification.validate(() -> aProduct.validate(notification));
+
+            if (notification.hasError()) {
+                results.add(Left(notification));
+            } else {
+                results.add(null);
+                pending.add(results.size() - 1);
+                products.add(aProduct);
+            }
+        }
+
+        //each chunk is written on its own, a failing chunk does not roll back the ones already created
+        for (var from = 0; from < products.size(); from += this.chunkSize) {
+            final var to = Math.min(products.size(), from + this.chunkSize);
+            final var chunk = products.subList(from, to);
+            final var positions = pending.subList(from, to);
+
+            API.Try(() -> this.productGateway.createAll(chunk))
+                    .toEither()
+                    .peek(created -> {
+                        for (var i = 0; i < created.size(); i++) {
+                            results.set(positions.get(i), Right(CreateProductOutput.from(created.get(i))));
+                        }
+                    })
+                    .peekLeft(t -> positions.forEach(position -> results.set(position, Left(Notification.create(t)))));
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,283 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+//parse (caller thread) -> validate (workers) -> insert (one thread), every hand-off is bounded so a slow stage stops the one before it;
+//the threads are shared by every import, at most concurrency imports run at once and each one owns an inserter
+public class DefaultImportProductsUseCase extends ImportProductsUseCase {
+
+    //compared by identity, never confused with a real batch
+    private static final List<Line> END = Collections.unmodifiableList(new ArrayList<>());
+
+    private final ProductGateway productGateway;
+    private final int batchSize;
+    private final int workers;
+    private final int queueCapacity;
+    private final int maxErrors;
+    private final Semaphore imports;
+    private final ExecutorService validators;
+    private final ExecutorService inserters;
+
+    public DefaultImportProductsUseCase(
+            final ProductGateway productGateway,
+            final int batchSize,
+            final int workers,
+            final int queueCapacity,
+            final int maxErrors,
+            final int concurrency
+    ) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+        if (batchSize < 1 || workers < 1 || queueCapacity < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("batchSize, workers, queueCapacity and concurrency should be positive");
+        }
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors should not be negative");
+        }
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.maxErrors = maxErrors;
+        this.imports = new Semaphore(concurrency);
+        this.validators = Executors.newFixedThreadPool(workers, daemon("product-import-validator"));
+        this.inserters = Executors.newFixedThreadPool(concurrency, daemon("product-import-inserter"));
+    }
+
+    public void shutdown() {
+        this.validators.shutdownNow();
+        this.inserters.shutdownNow();
+    }
+
+    @Override
+    public ImportProductsOutput execute(final Iterator<ImportProductCommand> aCommands) {
+        final var summary = new Summary(this.maxErrors);
+        final var run = new Run(new ArrayBlockingQueue<>(this.queueCapacity), new Semaphore(this.workers * 2), new AtomicBoolean());
+
+        acquire(this.imports, 1);
+        final Future<?> inserting;
+        try {
+            inserting = this.inserters.submit(() -> insert(run.batches(), summary));
+        } catch (final RuntimeException ex) {
+            this.imports.release();
+            throw ex;
+        }
+
+        try {
+            var chunk = new ArrayList<ImportProductCommand>(this.batchSize);
+            while (aCommands.hasNext()) {
+                chunk.add(aCommands.next());
+                summary.lines.incrementAndGet();
+                if (chunk.size() == this.batchSize) {
+                    submit(run, chunk, summary);
+                    chunk = new ArrayList<>(this.batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(run, chunk, summary);
+            }
+
+            //every permit back means every chunk of this import went through validation
+            acquire(run.validating(), this.workers * 2);
+            put(run, END);
+            await(inserting);
+        } finally {
+            //no-op once the inserter is done; otherwise it and the validators of this import give up instead of
+            //holding a shared thread on a queue nobody reads anymore
+            run.aborted().set(true);
+            inserting.cancel(true);
+            this.imports.release();
+        }
+
+        return summary.toOutput();
+    }
+
+    //blocks the parser while every worker already has a chunk waiting
+    private void submit(final Run run, final List<ImportProductCommand> chunk, final Summary summary) {
+        acquire(run.validating(), 1);
+        try {
+            this.validators.execute(() -> {
+                try {
+                    final var valid = validate(chunk, summary);
+                    if (!valid.isEmpty()) {
+                        put(run, valid);
+                    }
+                } finally {
+                    run.validating().release();
+                }
+            });
+        } catch (final RuntimeException ex) {
+            run.validating().release();
+            throw ex;
+        }
+    }
+
+    private static List<Line> validate(final List<ImportProductCommand> chunk, final Summary summary) {
+        final var valid = new ArrayList<Line>(chunk.size());
+        for (final var aCommand : chunk) {
+            aCommand.command().fold(
+                    notification -> {
+                        summary.fail(aCommand.line(), notification);
+                        return null;
+                    },
+                    command -> {
+                        final var notification = Notification.create();
+                        final var aProduct = Product.newProduct(
+                                command.aDescription(),
+                                command.aFabricatedAt(),
+                                command.anExpiredAt(),
+                                command.anSupplierCode(),
+                                command.aSupplierDescription(),
+                                command.aSupplierCNPJ(),
+                                command.isActive()
+                        );
+                        notification.validate(() -> aProduct.validate(notification));
+
+                        if (notification.hasError()) {
+                            summary.fail(aCommand.line(), notification);
+                        } else {
+                            valid.add(new Line(aCommand.line(), aProduct));
+                        }
+                        return null;
+                    }
+            );
+        }
+        return valid;
+    }
+
+    //each batch is its own transaction, a failing batch marks its lines and the import goes on
+    private void insert(final BlockingQueue<List<Line>> batches, final Summary summary) {
+        while (true) {
+            final var batch = take(batches);
+            if (batch == END) {
+                return;
+            }
+            try {
+                final var created = this.productGateway.createAll(batch.stream().map(Line::product).toList());
+                summary.imported.addAndGet(created.size());
+            } catch (final Throwable t) {
+                batch.forEach(line -> summary.fail(line.number(), Notification.create(t)));
+            }
+        }
+    }
+
+    private static void acquire(final Semaphore semaphore, final int permits) {
+        try {
+            semaphore.acquire(permits);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("import interrupted", ex);
+        }
+    }
+
+    //waits for room while the import is alive, a validator of an abandoned import drops its batch
+    private static void put(final Run run, final List<Line> batch) {
+        try {
+            while (!run.batches().offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (run.aborted().get()) {
+                    return;
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("import interrupted", ex);
+        }
+    }
+
+    private static <T> T take(final BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("import interrupted", ex);
+        }
+    }
+
+    private static void await(final Future<?> future) {
+        try {
+            future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("import interrupted", ex);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static ThreadFactory daemon(final String name) {
+        final var count = new AtomicLong();
+        return runnable -> {
+            final var thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Line(long number, Product product) {
+    }
+
+    private record Run(BlockingQueue<List<Line>> batches, Semaphore validating, AtomicBoolean aborted) {
+    }
+
+    //only the first maxErrors lines keep their messages, the counters stay exact whatever the file size
+    private static final class Summary {
+
+        private final AtomicLong lines = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final PriorityQueue<ImportProductsOutput.LineErrors> errors =
+                new PriorityQueue<>(Comparator.comparingLong(ImportProductsOutput.LineErrors::line).reversed());
+        //a lock instead of synchronized, the caller may be a virtual thread and must not pin its carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int maxErrors;
+
+        private Summary(final int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(final long aLine, final Notification aNotification) {
+            this.failed.incrementAndGet();
+            this.lock.lock();
+            try {
+                this.errors.add(new ImportProductsOutput.LineErrors(aLine, aNotification.getErrors()));
+                if (this.errors.size() > this.maxErrors) {
+                    this.errors.poll();
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private ImportProductsOutput toOutput() {
+            this.lock.lock();
+            try {
+                final var sorted = this.errors.stream()
+                        .sorted(Comparator.comparingLong(ImportProductsOutput.LineErrors::line))
+                        .toList();
+                return new ImportProductsOutput(this.lines.get(), this.imported.get(), this.failed.get(), sorted);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
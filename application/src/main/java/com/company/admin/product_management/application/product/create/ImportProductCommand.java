@@ -0,0 +1,18 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import io.vavr.control.Either;
+
+//one line of an import file, already parsed, or the reason it could not be
+public record ImportProductCommand(
+        long line,
+        Either<Notification, CreateProductCommand> command
+) {
+    public static ImportProductCommand with(final long aLine, final CreateProductCommand aCommand) {
+        return new ImportProductCommand(aLine, Either.right(aCommand));
+    }
+
+    public static ImportProductCommand with(final long aLine, final Notification aNotification) {
+        return new ImportProductCommand(aLine, Either.left(aNotification));
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.domain.validation.Error;
+
+import java.util.List;
+
+public record ImportProductsOutput(
+        long lines,
+        long imported,
+        long failed,
+        List<LineErrors> errors
+) {
+
+    public record LineErrors(long line, List<Error> errors) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.application.UseCase;
+
+import java.util.Iterator;
+
+public abstract class ImportProductsUseCase extends UseCase<Iterator<ImportProductCommand>, ImportProductsOutput> {
+}
@@ -0,0 +1,25 @@
+package com.company.admin.product_management.application.product.delete;
+
+import com.company.admin.product_management.domain.product.ProductGateway;
+
+import java.util.List;
+import java.util.Objects;
+
+public class DefaultDeleteProductsUseCase extends DeleteProductsUseCase {
+
+    private final ProductGateway productGateway;
+
+    public DefaultDeleteProductsUseCase(final ProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Long execute(final List<Long> someCodes) {
+        final var codes = someCodes.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        return codes.isEmpty() ? 0L : this.productGateway.deleteAllByCodes(codes);
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.admin.product_management.application.product.delete;
+
+import com.company.admin.product_management.application.UseCase;
+
+import java.util.List;
+
+public abstract class DeleteProductsUseCase extends UseCase<List<Long>, Long> {
+}
@@ -0,0 +1,7 @@
+package com.company.admin.product_management.application.product.retrieve.count;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+
+public abstract class CountProductsUseCase extends UseCase<ProductSearchQuery, Long> {
+}
@@ -0,0 +1,20 @@
+package com.company.admin.product_management.application.product.retrieve.count;
+
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+
+import java.util.Objects;
+
+public class DefaultCountProductsUseCase extends CountProductsUseCase {
+
+    private final ProductGateway productGateway;
+
+    public DefaultCountProductsUseCase(final ProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Long execute(final ProductSearchQuery aQuery) {
+        return this.productGateway.count(aQuery);
+    }
+}
@@ -0,0 +1,22 @@
+package com.company.admin.product_management.application.product.retrieve.export;
+
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+import com.company.admin.product_management.domain.product.ProductGateway;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class DefaultExportProductsUseCase extends ExportProductsUseCase {
+
+    private final ProductGateway productGateway;
+
+    public DefaultExportProductsUseCase(final ProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    //products are handed over one at a time as they are read, nothing is collected
+    @Override
+    public Long execute(final Consumer<ProductOutput> aConsumer) {
+        return this.productGateway.streamAll(aProduct -> aConsumer.accept(ProductOutput.from(aProduct)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.company.admin.product_management.application.product.retrieve.export;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+
+import java.util.function.Consumer;
+
+public abstract class ExportProductsUseCase extends UseCase<Consumer<ProductOutput>, Long> {
+}
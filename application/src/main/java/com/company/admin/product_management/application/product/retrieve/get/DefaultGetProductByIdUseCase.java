@@ -0,0 +1,36 @@
+package com.company.admin.product_management.application.product.retrieve.get;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.validation.Error;
+
+import java.util.Objects;
+
+public class DefaultGetProductByIdUseCase extends GetProductByIdUseCase {
+
+    private final ProductGateway productGateway;
+
+    public DefaultGetProductByIdUseCase(final ProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public ProductOutput execute(final String anId) {
+        final var aProductID = parse(anId);
+
+        return this.productGateway.findById(aProductID)
+                .map(ProductOutput::from)
+                .orElseThrow(() -> NotFoundException.with(Product.class, aProductID));
+    }
+
+    private static ProductID parse(final String anId) {
+        try {
+            return ProductID.from(anId);
+        } catch (final IllegalArgumentException ex) {
+            throw DomainException.with(new Error("'id' should be a valid UUID"));
+        }
+    }
+}
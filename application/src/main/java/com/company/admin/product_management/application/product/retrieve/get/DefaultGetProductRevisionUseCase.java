@@ -0,0 +1,31 @@
+package com.company.admin.product_management.application.product.retrieve.get;
+
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class DefaultGetProductRevisionUseCase extends GetProductRevisionUseCase {
+
+    private final ProductGateway productGateway;
+
+    public DefaultGetProductRevisionUseCase(final ProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public ProductRevisionOutput execute(final Long aCode) {
+        return this.productGateway.findRevisionByCode(aCode)
+                .map(ProductRevisionOutput::from)
+                .orElseThrow(notFound(aCode));
+    }
+
+    private Supplier<NotFoundException> notFound(final Long aCode) {
+        return () -> NotFoundException.with(
+                Product.class,
+                aCode
+        );
+    }
+}
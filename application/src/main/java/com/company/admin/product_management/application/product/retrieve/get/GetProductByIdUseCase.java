@@ -0,0 +1,6 @@
+package com.company.admin.product_management.application.product.retrieve.get;
+
+import com.company.admin.product_management.application.UseCase;
+
+public abstract class GetProductByIdUseCase extends UseCase<String, ProductOutput> {
+}
@@ -17,7 +17,8 @@ public record ProductOutput(
         boolean isActive,
         Instant createdAt,
         Instant updatedAt,
-        Instant deletedAt
+        Instant deletedAt,
+        long version
 ) {
 
     public static ProductOutput from(final Product aProduct) {
@@ -33,7 +34,8 @@ public record ProductOutput(
                 aProduct.isActive(),
                 aProduct.getCreatedAt(),
                 aProduct.getUpdatedAt(),
-                aProduct.getDeletedAt()
+                aProduct.getDeletedAt(),
+                aProduct.getVersion()
         );
     }
 }
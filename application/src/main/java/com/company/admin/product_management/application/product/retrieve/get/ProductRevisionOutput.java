@@ -0,0 +1,20 @@
+package com.company.admin.product_management.application.product.retrieve.get;
+
+import com.company.admin.product_management.domain.product.ProductRevision;
+
+import java.time.Instant;
+
+public record ProductRevisionOutput(
+        Long code,
+        long version,
+        Instant updatedAt
+) {
+
+    public static ProductRevisionOutput from(final ProductRevision aRevision) {
+        return new ProductRevisionOutput(
+                aRevision.code(),
+                aRevision.version(),
+                aRevision.updatedAt()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.admin.product_management.application.product.retrieve.list;
+
+import com.company.admin.product_management.domain.product.ProductGateway;
+
+import java.util.Objects;
+
+public class DefaultGetCatalogVersionUseCase extends GetCatalogVersionUseCase {
+
+    private final ProductGateway productGateway;
+
+    public DefaultGetCatalogVersionUseCase(final ProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Long execute() {
+        return this.productGateway.catalogVersion();
+    }
+}
@@ -0,0 +1,6 @@
+package com.company.admin.product_management.application.product.retrieve.list;
+
+import com.company.admin.product_management.application.NullaryUseCase;
+
+public abstract class GetCatalogVersionUseCase extends NullaryUseCase<Long> {
+}
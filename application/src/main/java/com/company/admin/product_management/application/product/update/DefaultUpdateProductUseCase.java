@@ -1,5 +1,6 @@
 package com.company.admin.product_management.application.product.update;
 
+import com.company.admin.product_management.domain.exceptions.ConflictException;
 import com.company.admin.product_management.domain.exceptions.DomainException;
 import com.company.admin.product_management.domain.exceptions.NotFoundException;
 import com.company.admin.product_management.domain.product.Product;
@@ -27,6 +28,10 @@ public class DefaultUpdateProductUseCase extends UpdateProductUseCase{
 
         final var code = aCommand.code();
         final var aProduct = this.productGateway.findByCode(code).orElseThrow(notFound(code));
+        if (aCommand.isStale(aProduct.getVersion())) {
+            throw ConflictException.with(Product.class, code);
+        }
+
         final var notification = Notification.create();
 
         aProduct.update(
@@ -44,7 +49,10 @@ public class DefaultUpdateProductUseCase extends UpdateProductUseCase{
     }
 
     private Either<Notification, UpdateProductOutput> update(final Product aProduct) {
+        //a concurrent change or removal is not a validation error, so it reaches the caller as is
         return Try(() -> this.productGateway.update(aProduct))
+                .onFailure(ConflictException.class, ex -> { throw ex; })
+                .onFailure(NotFoundException.class, ex -> { throw ex; })
                 .toEither()
                 .bimap(Notification::create, UpdateProductOutput::from);
     }
@@ -0,0 +1,153 @@
+package com.company.admin.product_management.application.product.update;
+
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import io.vavr.control.Either;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.vavr.API.Left;
+import static io.vavr.API.Right;
+import static io.vavr.API.Try;
+
+public class DefaultUpdateProductsUseCase extends UpdateProductsUseCase {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final ProductGateway productGateway;
+    private final int chunkSize;
+
+    public DefaultUpdateProductsUseCase(final ProductGateway productGateway) {
+        this(productGateway, DEFAULT_CHUNK_SIZE);
+    }
+
+    public DefaultUpdateProductsUseCase(final ProductGateway productGateway, final int chunkSize) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize should be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<Either<Notification, UpdateProductOutput>> execute(final List<UpdateProductCommand> aCommands) {
+        final var results = new ArrayList<Either<Notification, UpdateProductOutput>>(aCommands.size());
+        final var seen = new HashSet<Long>();
+
+        for (var from = 0; from < aCommands.size(); from += this.chunkSize) {
+            final var chunk = aCommands.subList(from, Math.min(aCommands.size(), from + this.chunkSize));
+            results.addAll(update(chunk, seen));
+        }
+
+        return results;
+    }
+
+    //one IN query loads the chunk, and the valid changes are written together in one transaction
+    private List<Either<Notification, UpdateProductOutput>> update(
+            final List<UpdateProductCommand> aCommands,
+            final HashSet<Long> seen
+    ) {
+        final var codes = aCommands.stream()
+                .map(UpdateProductCommand::code)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        final var products = this.productGateway.findAllByCodes(codes).stream()
+                .collect(Collectors.toMap(Product::getCode, Function.identity()));
+
+        final var results = new ArrayList<Either<Notification, UpdateProductOutput>>(aCommands.size());
+        final var pending = new HashMap<Long, Integer>();
+
+        for (final var aCommand : aCommands) {
+            final var code = aCommand.code();
+            if (code == null) {
+                results.add(Left(Notification.create(new Error("'code' should not be null"))));
+                continue;
+            }
+            if (!seen.add(code)) {
+                results.add(Left(Notification.create(new Error("'code' %s is repeated in the batch".formatted(code)))));
+                continue;
+            }
+
+            final var aProduct = products.get(code);
+            if (aProduct == null) {
+                results.add(Left(notFound(code)));
+                continue;
+            }
+            if (aCommand.isStale(aProduct.getVersion())) {
+                results.add(Left(conflict(code)));
+                continue;
+            }
+
+            final var notification = Notification.create();
+            notification.validate(() -> aProduct.update(
+                    code,
+                    aCommand.description(),
+                    aCommand.fabricatedAt(),
+                    aCommand.expiredAt(),
+                    aCommand.supplierCode(),
+                    aCommand.supplierDescription(),
+                    aCommand.supplierCNPJ(),
+                    aCommand.isActive()
+            ).validate(notification));
+
+            if (notification.hasError()) {
+                results.add(Left(notification));
+            } else {
+                results.add(null);
+                pending.put(code, results.size() - 1);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        final var changed = pending.keySet().stream().map(products::get).toList();
+        Try(() -> this.productGateway.updateAll(changed))
+                .toEither()
+                .peek(updated -> {
+                    final var updatedByCode = updated.stream()
+                            .collect(Collectors.toMap(Product::getCode, Function.identity()));
+                    updatedByCode.forEach((code, aProduct) -> results.set(pending.remove(code), Right(UpdateProductOutput.from(aProduct))));
+                    if (!pending.isEmpty()) {
+                        reportUnmatched(pending, results);
+                    }
+                })
+                .peekLeft(t -> pending.values().forEach(position -> results.set(position, Left(Notification.create(t)))));
+
+        return results;
+    }
+
+    //rows that missed the version check were changed or deleted between the read and the write
+    private void reportUnmatched(
+            final HashMap<Long, Integer> unmatched,
+            final List<Either<Notification, UpdateProductOutput>> results
+    ) {
+        final var remaining = this.productGateway.findAllByCodes(List.copyOf(unmatched.keySet())).stream()
+                .map(Product::getCode)
+                .collect(Collectors.toSet());
+        unmatched.forEach((code, position) -> results.set(
+                position,
+                Left(remaining.contains(code) ? conflict(code) : notFound(code))
+        ));
+    }
+
+    private static Notification conflict(final Long aCode) {
+        return Notification.create(ConflictException.with(Product.class, aCode));
+    }
+
+    private static Notification notFound(final Long aCode) {
+        return Notification.create(NotFoundException.with(Product.class, aCode));
+    }
+}
@@ -10,7 +10,8 @@ public record UpdateProductCommand(
         String supplierCode,
         String supplierDescription,
         String supplierCNPJ,
-        boolean isActive
+        boolean isActive,
+        Long expectedVersion
 ) {
     public static UpdateProductCommand with(
             final Long aCode,
@@ -21,6 +22,30 @@ public record UpdateProductCommand(
             final String aSupplierDescription,
             final String aSupplierCNPJ,
             final boolean isActive
+    ) {
+        return with(
+                aCode,
+                aDescription,
+                aFabricatedAt,
+                anExpiredAt,
+                anSupplierCode,
+                aSupplierDescription,
+                aSupplierCNPJ,
+                isActive,
+                null
+        );
+    }
+
+    public static UpdateProductCommand with(
+            final Long aCode,
+            final String aDescription,
+            final Instant aFabricatedAt,
+            final Instant anExpiredAt,
+            final String anSupplierCode,
+            final String aSupplierDescription,
+            final String aSupplierCNPJ,
+            final boolean isActive,
+            final Long anExpectedVersion
     ) {
         return new UpdateProductCommand(
                 aCode,
@@ -30,7 +55,12 @@ public record UpdateProductCommand(
                 anSupplierCode,
                 aSupplierDescription,
                 aSupplierCNPJ,
-                isActive
+                isActive,
+                anExpectedVersion
         );
     }
+
+    public boolean isStale(final long aVersion) {
+        return expectedVersion != null && expectedVersion != aVersion;
+    }
 }
@@ -1,16 +1,16 @@
 package com.company.admin.product_management.application.product.update;
 
 import com.company.admin.product_management.domain.product.Product;
-import com.company.admin.product_management.domain.product.ProductID;
 
 public record UpdateProductOutput(
-        Long code
+        Long code,
+        long version
 ) {
     public static UpdateProductOutput from(final Product aProduct) {
-        return new UpdateProductOutput(aProduct.getCode());
+        return new UpdateProductOutput(aProduct.getCode(), aProduct.getVersion());
     }
 
     public static UpdateProductOutput from(final Long aCode) {
-        return new UpdateProductOutput(aCode);
+        return new UpdateProductOutput(aCode, 0);
     }
 }
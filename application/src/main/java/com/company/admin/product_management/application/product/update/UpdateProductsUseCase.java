@@ -0,0 +1,11 @@
+package com.company.admin.product_management.application.product.update;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import io.vavr.control.Either;
+
+import java.util.List;
+
+public abstract class UpdateProductsUseCase
+        extends UseCase<List<UpdateProductCommand>, List<Either<Notification, UpdateProductOutput>>> {
+}
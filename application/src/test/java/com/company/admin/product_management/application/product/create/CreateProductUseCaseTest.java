@@ -1,5 +1,6 @@
 package com.company.admin.product_management.application.product.create;
 
+import com.company.admin.product_management.domain.product.Product;
 import com.company.admin.product_management.domain.product.ProductGateway;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +15,6 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
-import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
@@ -54,11 +54,30 @@ public class CreateProductUseCaseTest {
                 expectedIsActive
         );
 
-        when(productGateway.create(any())).thenAnswer(returnsFirstArg());
+        final var expectedCode = 123L;
+
+        //the code is assigned by the gateway when the product is stored
+        when(productGateway.create(any())).thenAnswer(invocation -> {
+            final Product aProduct = invocation.getArgument(0);
+            return Product.with(
+                    aProduct.getId(),
+                    expectedCode,
+                    aProduct.getDescription(),
+                    aProduct.getFabricatedAt(),
+                    aProduct.getExpiredAt(),
+                    aProduct.getSupplierCode(),
+                    aProduct.getSupplierDescription(),
+                    aProduct.getSupplierCNPJ(),
+                    aProduct.isActive(),
+                    aProduct.getCreatedAt(),
+                    aProduct.getUpdatedAt(),
+                    aProduct.getDeletedAt()
+            );
+        });
         final var actualOutput = useCase.execute(aCommand).get();
 
         Assertions.assertNotNull(actualOutput);
-        Assertions.assertNotNull(actualOutput.productCode());
+        Assertions.assertEquals(expectedCode, actualOutput.productCode());
 
         Mockito.verify(productGateway, times(1)).create(argThat(aProduct ->
                 Objects.equals(expectedDescription, aProduct.getDescription())
@@ -69,6 +88,7 @@ public class CreateProductUseCaseTest {
                         && Objects.equals(expectedSupplierCNPJ, aProduct.getSupplierCNPJ())
                         && Objects.equals(expectedIsActive, aProduct.isActive())
                         && Objects.nonNull(aProduct.getId())
+                        && Objects.isNull(aProduct.getCode())
                         && Objects.nonNull(aProduct.getCreatedAt())
                         && Objects.nonNull(aProduct.getUpdatedAt())
                         && Objects.isNull(aProduct.getDeletedAt())
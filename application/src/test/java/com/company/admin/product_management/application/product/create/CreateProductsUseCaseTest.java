@@ -0,0 +1,129 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CreateProductsUseCaseTest {
+
+    @Mock
+    private ProductGateway productGateway;
+
+    private DefaultCreateProductsUseCase useCase;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+        useCase = new DefaultCreateProductsUseCase(productGateway);
+    }
+
+    @Test
+    public void givenValidAndInvalidCommands_whenCallsCreateProducts_shouldCreateValidOnesAndReportTheOthers() {
+        final var expectedErrorMessage = "'description' should not be null";
+
+        final var aCommands = List.of(
+                aValidCommand("first product."),
+                CreateProductCommand.with(null, Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS), "code", "supplier", "11111111111111", true),
+                aValidCommand("third product."),
+                CreateProductCommand.with("missing dates.", null, null, "code", "supplier", "11111111111111", true)
+        );
+
+        when(productGateway.createAll(anyList())).thenAnswer(withCodes(new AtomicLong(1)));
+
+        final var actualResults = useCase.execute(aCommands);
+
+        Assertions.assertEquals(4, actualResults.size());
+        Assertions.assertEquals(1L, actualResults.get(0).get().productCode());
+        Assertions.assertEquals(expectedErrorMessage, actualResults.get(1).getLeft().firstError().message());
+        Assertions.assertEquals(2L, actualResults.get(2).get().productCode());
+        Assertions.assertTrue(actualResults.get(3).isLeft());
+
+        Mockito.verify(productGateway, times(1)).createAll(argThat(products ->
+                products.size() == 2
+                        && "first product.".equals(products.get(0).getDescription())
+                        && "third product.".equals(products.get(1).getDescription())
+        ));
+    }
+
+    @Test
+    public void givenMoreCommandsThanAChunk_whenAChunkFails_shouldOnlyReportThatChunk() {
+        final var expectedErrorMessage = "Gateway error";
+        final var aUseCase = new DefaultCreateProductsUseCase(productGateway, 2);
+        final var codes = new AtomicLong(1);
+
+        final var aCommands = List.of(
+                aValidCommand("first product."),
+                aValidCommand("second product."),
+                aValidCommand("third product."),
+                aValidCommand("fourth product."),
+                aValidCommand("fifth product.")
+        );
+
+        when(productGateway.createAll(anyList()))
+                .thenAnswer(withCodes(codes))
+                .thenThrow(new IllegalStateException(expectedErrorMessage))
+                .thenAnswer(withCodes(codes));
+
+        final var actualResults = aUseCase.execute(aCommands);
+
+        Assertions.assertEquals(1L, actualResults.get(0).get().productCode());
+        Assertions.assertEquals(2L, actualResults.get(1).get().productCode());
+        Assertions.assertEquals(expectedErrorMessage, actualResults.get(2).getLeft().firstError().message());
+        Assertions.assertEquals(expectedErrorMessage, actualResults.get(3).getLeft().firstError().message());
+        Assertions.assertEquals(3L, actualResults.get(4).get().productCode());
+
+        Mockito.verify(productGateway, times(3)).createAll(any());
+    }
+
+    private static CreateProductCommand aValidCommand(final String aDescription) {
+        return CreateProductCommand.with(
+                aDescription,
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+    }
+
+    private static org.mockito.stubbing.Answer<List<Product>> withCodes(final AtomicLong codes) {
+        return invocation -> {
+            final List<Product> products = invocation.getArgument(0);
+            return products.stream()
+                    .map(aProduct -> Product.with(
+                            aProduct.getId(),
+                            codes.getAndIncrement(),
+                            aProduct.getDescription(),
+                            aProduct.getFabricatedAt(),
+                            aProduct.getExpiredAt(),
+                            aProduct.getSupplierCode(),
+                            aProduct.getSupplierDescription(),
+                            aProduct.getSupplierCNPJ(),
+                            aProduct.isActive(),
+                            aProduct.getCreatedAt(),
+                            aProduct.getUpdatedAt(),
+                            aProduct.getDeletedAt()
+                    ))
+                    .toList();
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.admin.product_management.application.product.create;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportProductsUseCaseTest {
+
+    @Mock
+    private ProductGateway productGateway;
+
+    private DefaultImportProductsUseCase useCase;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+        useCase = new DefaultImportProductsUseCase(productGateway, 2, 2, 1, 10, 2);
+    }
+
+    @AfterEach
+    void shutdown() {
+        useCase.shutdown();
+    }
+
+    @Test
+    public void givenValidAndInvalidLines_whenCallsImportProducts_thenShouldInsertValidOnesAndReportTheOthersByLine() {
+        final var created = new AtomicLong();
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> {
+            final List<Product> products = invocation.getArgument(0);
+            created.addAndGet(products.size());
+            return products;
+        });
+
+        final var lines = List.of(
+                ImportProductCommand.with(1, aCommand("first product.")),
+                ImportProductCommand.with(2, Notification.create(new Error("could not parse the line"))),
+                ImportProductCommand.with(3, aCommand("third product.")),
+                ImportProductCommand.with(4, aCommand(null)),
+                ImportProductCommand.with(5, aCommand("fifth product."))
+        );
+
+        final var actualOutput = useCase.execute(lines.iterator());
+
+        Assertions.assertEquals(5, actualOutput.lines());
+        Assertions.assertEquals(3, actualOutput.imported());
+        Assertions.assertEquals(2, actualOutput.failed());
+        Assertions.assertEquals(3, created.get());
+        Assertions.assertEquals(List.of(2L, 4L), actualOutput.errors().stream().map(ImportProductsOutput.LineErrors::line).toList());
+        Assertions.assertEquals("could not parse the line", actualOutput.errors().get(0).errors().get(0).message());
+        Assertions.assertEquals("'description' should not be null", actualOutput.errors().get(1).errors().get(0).message());
+    }
+
+    @Test
+    public void givenAFailingBatch_whenCallsImportProducts_thenShouldFailItsLinesKeepGoingAndCapTheMessages() {
+        useCase.shutdown();
+        useCase = new DefaultImportProductsUseCase(productGateway, 2, 3, 2, 1, 2);
+
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> {
+            final List<Product> products = invocation.getArgument(0);
+            if (products.stream().anyMatch(aProduct -> "broken product.".equals(aProduct.getDescription()))) {
+                throw new IllegalStateException("Gateway Error");
+            }
+            return products;
+        });
+
+        final var lines = LongStream.rangeClosed(1, 100)
+                .mapToObj(line -> ImportProductCommand.with(line, aCommand(line == 51 ? "broken product." : "product " + line + ".")))
+                .iterator();
+
+        final var actualOutput = useCase.execute(lines);
+
+        Assertions.assertEquals(100, actualOutput.lines());
+        Assertions.assertEquals(98, actualOutput.imported());
+        Assertions.assertEquals(2, actualOutput.failed());
+        Assertions.assertEquals(1, actualOutput.errors().size());
+        Assertions.assertEquals(51, actualOutput.errors().get(0).line());
+        Assertions.assertEquals("Gateway Error", actualOutput.errors().get(0).errors().get(0).message());
+    }
+
+    @Test
+    public void givenAnInputFailingMidway_whenCallsImportProducts_thenShouldGiveBackItsSlotToTheNextImport() {
+        useCase.shutdown();
+        useCase = new DefaultImportProductsUseCase(productGateway, 2, 2, 1, 10, 1);
+
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final var broken = new Iterator<ImportProductCommand>() {
+            private long line;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ImportProductCommand next() {
+                if (++line > 5) {
+                    throw new UncheckedIOException(new IOException("connection reset"));
+                }
+                return ImportProductCommand.with(line, aCommand("product " + line + "."));
+            }
+        };
+
+        Assertions.assertThrows(UncheckedIOException.class, () -> useCase.execute(broken));
+
+        final var actualOutput = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> useCase.execute(
+                List.of(ImportProductCommand.with(1, aCommand("first product."))).iterator()
+        ));
+
+        Assertions.assertEquals(1, actualOutput.imported());
+    }
+
+    private static CreateProductCommand aCommand(final String aDescription) {
+        return CreateProductCommand.with(
+                aDescription,
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+    }
+}
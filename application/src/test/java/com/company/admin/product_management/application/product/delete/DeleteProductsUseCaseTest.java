@@ -0,0 +1,64 @@
+package com.company.admin.product_management.application.product.delete;
+
+import com.company.admin.product_management.domain.product.ProductGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DeleteProductsUseCaseTest {
+
+    @InjectMocks
+    private DefaultDeleteProductsUseCase useCase;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenSomeCodes_whenCallsDeleteProducts_shouldReturnTheDeletedCount() {
+        final var expectedCount = 2L;
+
+        when(productGateway.deleteAllByCodes(eq(List.of(1L, 2L, 3L)))).thenReturn(expectedCount);
+
+        final var actualCount = useCase.execute(Arrays.asList(1L, 2L, null, 2L, 3L));
+
+        Assertions.assertEquals(expectedCount, actualCount);
+        Mockito.verify(productGateway, times(1)).deleteAllByCodes(eq(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    public void givenNoCodes_whenCallsDeleteProducts_shouldNotCallTheGateway() {
+        Assertions.assertEquals(0L, useCase.execute(List.of()));
+        Mockito.verify(productGateway, times(0)).deleteAllByCodes(any());
+    }
+
+    @Test
+    public void givenSomeCodes_whenGatewayThrowsException_shouldReturnException() {
+        final var expectedErrorMessage = "Gateway Error";
+
+        doThrow(new IllegalStateException(expectedErrorMessage)).when(productGateway).deleteAllByCodes(any());
+
+        final var actualException = Assertions.assertThrows(IllegalStateException.class, () -> useCase.execute(List.of(1L)));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.admin.product_management.application.product.retrieve.count;
+
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CountProductsUseCaseTest {
+
+    @InjectMocks
+    private DefaultCountProductsUseCase useCase;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenAValidQuery_whenCallsCountProducts_thenShouldReturnTotal() {
+        final var expectedTotal = 42L;
+        final var aQuery = new ProductSearchQuery(0, 10, "product", "code", "asc", null, CountMode.ESTIMATE);
+
+        when(productGateway.count(eq(aQuery))).thenReturn(expectedTotal);
+
+        final var actualTotal = useCase.execute(aQuery);
+
+        Assertions.assertEquals(expectedTotal, actualTotal);
+        Mockito.verify(productGateway, times(1)).count(eq(aQuery));
+    }
+
+    @Test
+    public void givenAValidQuery_whenGatewayThrowsException_thenShouldReturnException() {
+        final var expectedErrorMessage = "Gateway Error";
+        final var aQuery = new ProductSearchQuery(0, 10, "", "code", "asc");
+
+        when(productGateway.count(eq(aQuery)))
+                .thenThrow(new IllegalStateException(expectedErrorMessage));
+
+        final var actualException = Assertions.assertThrows(IllegalStateException.class, () -> useCase.execute(aQuery));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.admin.product_management.application.product.retrieve.export;
+
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportProductsUseCaseTest {
+
+    @InjectMocks
+    private DefaultExportProductsUseCase useCase;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenStoredProducts_whenCallsExportProducts_thenShouldHandOverEveryProductInOrder() {
+        final var products = List.of(aProduct(1L), aProduct(2L), aProduct(3L));
+
+        when(productGateway.streamAll(any())).thenAnswer(invocation -> {
+            final Consumer<Product> aConsumer = invocation.getArgument(0);
+            products.forEach(aConsumer);
+            return (long) products.size();
+        });
+
+        final var actualOutputs = new ArrayList<ProductOutput>();
+        final var actualTotal = useCase.execute(actualOutputs::add);
+
+        Assertions.assertEquals(3L, actualTotal);
+        Assertions.assertEquals(List.of(1L, 2L, 3L), actualOutputs.stream().map(ProductOutput::code).toList());
+        Assertions.assertEquals(products.get(0).getDescription(), actualOutputs.get(0).description());
+    }
+
+    @Test
+    public void givenAFailingGateway_whenCallsExportProducts_thenShouldReturnException() {
+        final var expectedErrorMessage = "Gateway Error";
+
+        when(productGateway.streamAll(any()))
+                .thenThrow(new IllegalStateException(expectedErrorMessage));
+
+        final var actualException = Assertions.assertThrows(IllegalStateException.class, () -> useCase.execute(output -> {}));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+
+    private static Product aProduct(final Long aCode) {
+        return Product.newProduct(
+                aCode,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+    }
+}
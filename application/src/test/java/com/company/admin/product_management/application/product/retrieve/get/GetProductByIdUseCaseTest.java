@@ -0,0 +1,91 @@
+package com.company.admin.product_management.application.product.retrieve.get;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GetProductByIdUseCaseTest {
+
+    @InjectMocks
+    private DefaultGetProductByIdUseCase useCase;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenAValidId_whenCallsGetProduct_thenShouldReturnProduct() {
+        final var aProduct = Product.newProduct(
+                4321L,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+        final var expectedId = aProduct.getId();
+
+        when(productGateway.findById(eq(expectedId)))
+                .thenReturn(Optional.of(Product.with(aProduct)));
+
+        final var actualProduct = useCase.execute(expectedId.getValue().toUpperCase());
+
+        Assertions.assertEquals(expectedId, actualProduct.id());
+        Assertions.assertEquals(aProduct.getCode(), actualProduct.code());
+        Assertions.assertEquals(aProduct.getDescription(), actualProduct.description());
+        Assertions.assertEquals(aProduct.getVersion(), actualProduct.version());
+    }
+
+    @Test
+    public void givenAnUnknownId_whenCallsGetProduct_thenShouldReturnNotFound() {
+        final var expectedId = "0e3b1c52-7f0c-4a1c-9a55-6f0e9a1d2b11";
+        final var expectedErrorMessage = "Product with id %s was not found".formatted(expectedId);
+
+        when(productGateway.findById(eq(ProductID.from(expectedId)))).thenReturn(Optional.empty());
+
+        final var actualException = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> useCase.execute(expectedId)
+        );
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+
+    @Test
+    public void givenAMalformedId_whenCallsGetProduct_thenShouldReturnDomainException() {
+        final var expectedErrorMessage = "'id' should be a valid UUID";
+
+        final var actualException = Assertions.assertThrows(
+                DomainException.class,
+                () -> useCase.execute("not-an-uuid")
+        );
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getErrors().get(0).message());
+        verify(productGateway, never()).findById(any());
+    }
+}
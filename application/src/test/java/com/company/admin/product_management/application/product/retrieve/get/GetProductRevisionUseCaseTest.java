@@ -0,0 +1,66 @@
+package com.company.admin.product_management.application.product.retrieve.get;
+
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductRevision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GetProductRevisionUseCaseTest {
+
+    @InjectMocks
+    private DefaultGetProductRevisionUseCase useCase;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenAValidCode_whenCallsGetProductRevision_thenShouldReturnOnlyTheRevision() {
+        final var expectedCode = 4321L;
+        final var expectedVersion = 7L;
+        final var expectedUpdatedAt = Instant.now();
+
+        when(productGateway.findRevisionByCode(eq(expectedCode)))
+                .thenReturn(Optional.of(new ProductRevision(expectedCode, expectedVersion, expectedUpdatedAt)));
+
+        final var actualRevision = useCase.execute(expectedCode);
+
+        Assertions.assertEquals(expectedCode, actualRevision.code());
+        Assertions.assertEquals(expectedVersion, actualRevision.version());
+        Assertions.assertEquals(expectedUpdatedAt, actualRevision.updatedAt());
+
+        verify(productGateway, times(0)).findByCode(any());
+    }
+
+    @Test
+    public void givenAnInvalidCode_whenCallsGetProductRevision_thenShouldReturnNotFound() {
+        final var expectedCode = 123L;
+        final var expectedErrorMessage = "Product with code 123 was not found";
+
+        when(productGateway.findRevisionByCode(eq(expectedCode)))
+                .thenReturn(Optional.empty());
+
+        final var actualException = Assertions.assertThrows(NotFoundException.class, () -> useCase.execute(expectedCode));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+}
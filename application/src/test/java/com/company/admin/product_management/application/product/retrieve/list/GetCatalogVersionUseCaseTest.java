@@ -0,0 +1,41 @@
+package com.company.admin.product_management.application.product.retrieve.list;
+
+import com.company.admin.product_management.domain.product.ProductGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class GetCatalogVersionUseCaseTest {
+
+    @InjectMocks
+    private DefaultGetCatalogVersionUseCase useCase;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenAGateway_whenCallsGetCatalogVersion_thenShouldReturnItsVersionWithoutQuerying() {
+        final var expectedVersion = 42L;
+
+        when(productGateway.catalogVersion()).thenReturn(expectedVersion);
+
+        Assertions.assertEquals(expectedVersion, useCase.execute());
+
+        Mockito.verify(productGateway, times(1)).catalogVersion();
+        Mockito.verifyNoMoreInteractions(productGateway);
+    }
+}
@@ -1,9 +1,11 @@
 package com.company.admin.product_management.application.product.update;
 
+import com.company.admin.product_management.domain.exceptions.ConflictException;
 import com.company.admin.product_management.domain.exceptions.DomainException;
 import com.company.admin.product_management.domain.exceptions.NotFoundException;
 import com.company.admin.product_management.domain.product.Product;
 import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -143,4 +145,77 @@ public class UpdateProductUseCaseTest {
 
     }
 
+    @Test
+    public void givenAStaleExpectedVersion_whenCallsUpdateProduct_shouldThrowConflictWithoutWriting() {
+        final var aProduct = Product.with(
+                3L,
+                ProductID.unique(),
+                1234L,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true,
+                Instant.now(),
+                Instant.now(),
+                null
+        );
+        final var expectedErrorMessage = "Product with code 1234 was changed by another request";
+
+        final var aCommand = UpdateProductCommand.with(
+                1234L,
+                "A updated normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "updated-code",
+                "A updated normal supplier description.",
+                "59456277000100",
+                true,
+                2L
+        );
+
+        when(productGateway.findByCode(eq(1234L)))
+                .thenReturn(Optional.of(aProduct));
+
+        final var actualException = Assertions.assertThrows(ConflictException.class, () -> useCase.execute(aCommand));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getMessage());
+
+        Mockito.verify(productGateway, times(0)).update(any());
+    }
+
+    @Test
+    public void givenAConcurrentChange_whenCallsUpdateProduct_shouldPropagateTheGatewayConflict() {
+        final var aProduct = Product.newProduct(
+                1234L,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+
+        final var aCommand = UpdateProductCommand.with(
+                1234L,
+                "A updated normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "updated-code",
+                "A updated normal supplier description.",
+                "59456277000100",
+                true
+        );
+
+        when(productGateway.findByCode(eq(1234L)))
+                .thenReturn(Optional.of(aProduct));
+        when(productGateway.update(any()))
+                .thenThrow(ConflictException.with(Product.class, 1234L));
+
+        Assertions.assertThrows(ConflictException.class, () -> useCase.execute(aCommand));
+    }
+
 }
@@ -0,0 +1,156 @@
+package com.company.admin.product_management.application.product.update;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UpdateProductsUseCaseTest {
+
+    @Mock
+    private ProductGateway productGateway;
+
+    private DefaultUpdateProductsUseCase useCase;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+        useCase = new DefaultUpdateProductsUseCase(productGateway);
+    }
+
+    @Test
+    public void givenValidInvalidAndMissingCommands_whenCallsUpdateProducts_shouldUpdateValidOnesAndReportTheOthers() {
+        final var aProduct1 = aProduct(1L);
+        final var aProduct2 = aProduct(2L);
+        final var aProduct3 = aProduct(3L);
+
+        final var aCommands = List.of(
+                aCommand(1L, "first updated."),
+                aCommand(2L, null),
+                aCommand(99L, "missing."),
+                aCommand(3L, "third updated."),
+                aCommand(1L, "first again."),
+                aCommand(null, "no code.")
+        );
+
+        when(productGateway.findAllByCodes(anyList())).thenReturn(List.of(aProduct1, aProduct2, aProduct3));
+        when(productGateway.updateAll(anyList())).thenAnswer(returnsFirstArg());
+
+        final var actualResults = useCase.execute(aCommands);
+
+        Assertions.assertEquals(6, actualResults.size());
+        Assertions.assertEquals(1L, actualResults.get(0).get().code());
+        Assertions.assertEquals("'description' should not be null", actualResults.get(1).getLeft().firstError().message());
+        Assertions.assertEquals("Product with code 99 was not found", actualResults.get(2).getLeft().firstError().message());
+        Assertions.assertEquals(3L, actualResults.get(3).get().code());
+        Assertions.assertEquals("'code' 1 is repeated in the batch", actualResults.get(4).getLeft().firstError().message());
+        Assertions.assertEquals("'code' should not be null", actualResults.get(5).getLeft().firstError().message());
+
+        Mockito.verify(productGateway, times(1)).findAllByCodes(argThat(codes -> codes.size() == 4));
+        Mockito.verify(productGateway, times(1)).updateAll(argThat(products ->
+                products.size() == 2
+                        && products.stream().anyMatch(p -> "first updated.".equals(p.getDescription()))
+                        && products.stream().anyMatch(p -> "third updated.".equals(p.getDescription()))
+        ));
+    }
+
+    @Test
+    public void givenAProductDeletedBeforeTheWrite_whenCallsUpdateProducts_shouldReportItAsNotFound() {
+        final var aProduct1 = aProduct(1L);
+        final var aProduct2 = aProduct(2L);
+
+        when(productGateway.findAllByCodes(anyList())).thenReturn(List.of(aProduct1, aProduct2), List.of());
+        when(productGateway.updateAll(anyList())).thenReturn(List.of(aProduct1));
+
+        final var actualResults = useCase.execute(List.of(aCommand(1L, "first updated."), aCommand(2L, "second updated.")));
+
+        Assertions.assertEquals(1L, actualResults.get(0).get().code());
+        Assertions.assertEquals("Product with code 2 was not found", actualResults.get(1).getLeft().firstError().message());
+    }
+
+    @Test
+    public void givenStaleVersions_whenCallsUpdateProducts_shouldReportThemAsConflicts() {
+        final var aProduct1 = aProduct(1L);
+        final var aProduct2 = aProduct(2L);
+        final var aProduct3 = aProduct(3L);
+
+        final var aCommands = List.of(
+                aCommand(1L, "first updated."),
+                aCommand(2L, "second updated.", 7L),
+                aCommand(3L, "third updated.")
+        );
+
+        when(productGateway.findAllByCodes(anyList())).thenReturn(List.of(aProduct1, aProduct2, aProduct3), List.of(aProduct3));
+        when(productGateway.updateAll(anyList())).thenReturn(List.of(aProduct1));
+
+        final var actualResults = useCase.execute(aCommands);
+
+        Assertions.assertEquals(1L, actualResults.get(0).get().code());
+        Assertions.assertEquals("Product with code 2 was changed by another request", actualResults.get(1).getLeft().firstError().message());
+        Assertions.assertEquals("Product with code 3 was changed by another request", actualResults.get(2).getLeft().firstError().message());
+
+        Mockito.verify(productGateway, times(1)).updateAll(argThat(products -> products.size() == 2));
+        Mockito.verify(productGateway, times(1)).findAllByCodes(argThat(codes -> codes.equals(List.of(3L))));
+    }
+
+    @Test
+    public void givenAGatewayError_whenCallsUpdateProducts_shouldReportEveryPendingItem() {
+        final var expectedErrorMessage = "Gateway error";
+
+        when(productGateway.findAllByCodes(anyList())).thenReturn(List.of(aProduct(1L), aProduct(2L)));
+        when(productGateway.updateAll(any())).thenThrow(new IllegalStateException(expectedErrorMessage));
+
+        final var actualResults = useCase.execute(List.of(aCommand(1L, "first updated."), aCommand(2L, "second updated.")));
+
+        Assertions.assertEquals(expectedErrorMessage, actualResults.get(0).getLeft().firstError().message());
+        Assertions.assertEquals(expectedErrorMessage, actualResults.get(1).getLeft().firstError().message());
+    }
+
+    private static Product aProduct(final Long aCode) {
+        return Product.newProduct(
+                aCode,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+    }
+
+    private static UpdateProductCommand aCommand(final Long aCode, final String aDescription) {
+        return aCommand(aCode, aDescription, null);
+    }
+
+    private static UpdateProductCommand aCommand(final Long aCode, final String aDescription, final Long anExpectedVersion) {
+        return UpdateProductCommand.with(
+                aCode,
+                aDescription,
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "updated-code",
+                "An updated supplier description.",
+                "59456277000176",
+                true,
+                anExpectedVersion
+        );
+    }
+}
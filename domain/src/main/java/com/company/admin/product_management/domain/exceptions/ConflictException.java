@@ -0,0 +1,25 @@
+package com.company.admin.product_management.domain.exceptions;
+
+import com.company.admin.product_management.domain.AggregateRoot;
+import com.company.admin.product_management.domain.validation.Error;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ConflictException extends DomainException{
+
+    protected ConflictException(final String aMessage, final List<Error> anErrors) {
+        super(aMessage, anErrors);
+    }
+
+    public static ConflictException with(
+            final Class<? extends AggregateRoot<?>> anAggregate,
+            final Long code
+    ){
+        final var errorMessage = "%s with code %s was changed by another request".formatted(
+                anAggregate.getSimpleName(),
+                code.toString()
+        );
+        return new ConflictException(errorMessage, Collections.emptyList());
+    }
+}
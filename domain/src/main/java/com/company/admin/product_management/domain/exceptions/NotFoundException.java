@@ -1,6 +1,7 @@
 package com.company.admin.product_management.domain.exceptions;
 
 import com.company.admin.product_management.domain.AggregateRoot;
+import com.company.admin.product_management.domain.Identifier;
 import com.company.admin.product_management.domain.validation.Error;
 
 import java.util.Collections;
@@ -22,4 +23,15 @@ public class NotFoundException extends DomainException{
         );
         return new NotFoundException(errorMessage, Collections.emptyList());
     }
+
+    public static NotFoundException with(
+            final Class<? extends AggregateRoot<?>> anAggregate,
+            final Identifier anId
+    ){
+        final var errorMessage = "%s with id %s was not found".formatted(
+                anAggregate.getSimpleName(),
+                anId.toString()
+        );
+        return new NotFoundException(errorMessage, Collections.emptyList());
+    }
 }
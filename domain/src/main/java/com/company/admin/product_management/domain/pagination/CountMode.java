@@ -0,0 +1,21 @@
+package com.company.admin.product_management.domain.pagination;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.validation.Error;
+
+import java.util.Arrays;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    public static CountMode from(final String aValue) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(aValue))
+                .findFirst()
+                .orElseThrow(() -> DomainException.with(
+                        new Error("'count' should be one of exact, estimate or none")
+                ));
+    }
+}
@@ -19,6 +19,7 @@ public class Product extends AggregateRoot<ProductID> {
     private Instant createdAt;
     private Instant updatedAt;
     private Instant deletedAt;
+    private long version;
 
     private Product(
             final ProductID anID,
@@ -132,6 +133,7 @@ public class Product extends AggregateRoot<ProductID> {
 
     public static Product with(final Product aProduct) {
         return with(
+                aProduct.version,
                 aProduct.getId(),
                 aProduct.code,
                 aProduct.description,
@@ -147,6 +149,39 @@ public class Product extends AggregateRoot<ProductID> {
         );
     }
 
+    public static Product with(
+            final long aVersion,
+            final ProductID anID,
+            final Long aCode,
+            final String aDescription,
+            final Instant aFabricatedAt,
+            final Instant anExpiredAt,
+            final String anSupplierCode,
+            final String aSupplierDescription,
+            final String aSupplierCNPJ,
+            final boolean isActive,
+            final Instant aCreatedAt,
+            final Instant anUpdatedAt,
+            final Instant aDeletedAt
+    ) {
+        final var aProduct = with(
+                anID,
+                aCode,
+                aDescription,
+                aFabricatedAt,
+                anExpiredAt,
+                anSupplierCode,
+                aSupplierDescription,
+                aSupplierCNPJ,
+                isActive,
+                aCreatedAt,
+                anUpdatedAt,
+                aDeletedAt
+        );
+        aProduct.version = aVersion;
+        return aProduct;
+    }
+
     public static Product with(
             final ProductID anID,
             final Long aCode,
@@ -269,4 +304,8 @@ public class Product extends AggregateRoot<ProductID> {
     public Instant getDeletedAt() {
         return deletedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
@@ -2,17 +2,37 @@ package com.company.admin.product_management.domain.product;
 
 import com.company.admin.product_management.domain.pagination.Pagination;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductGateway {
 
     Product create(Product aProduct);
 
+    List<Product> createAll(List<Product> aProducts);
+
     void deleteByCode(Long code);
 
+    long deleteAllByCodes(List<Long> codes);
+
     Optional<Product> findByCode(Long anCode);
 
+    Optional<Product> findById(ProductID anId);
+
+    Optional<ProductRevision> findRevisionByCode(Long aCode);
+
+    List<Product> findAllByCodes(List<Long> codes);
+
     Product update(Product aProduct);
 
+    List<Product> updateAll(List<Product> aProducts);
+
     Pagination<Product> findAll(ProductSearchQuery aQuery);
+
+    long count(ProductSearchQuery aQuery);
+
+    long streamAll(Consumer<Product> aConsumer);
+
+    long catalogVersion();
 }
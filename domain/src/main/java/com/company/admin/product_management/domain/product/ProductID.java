@@ -5,13 +5,16 @@ import com.company.admin.product_management.domain.Identifier;
 import java.util.Objects;
 import java.util.UUID;
 
-public class ProductID extends Identifier {
+//the 128 bits of the uuid, the text form is only built when something asks for it
+public class ProductID extends Identifier implements Comparable<ProductID> {
 
-    private final String value;
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    private String value;
 
-    public ProductID(String value) {
-        Objects.requireNonNull(value);
-        this.value = value;
+    private ProductID(final long mostSignificantBits, final long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
     }
 
     public static ProductID unique() {
@@ -19,15 +22,43 @@ public class ProductID extends Identifier {
     }
 
     public static ProductID from(final String anId) {
-        return new ProductID(anId);
+        return ProductID.from(UUID.fromString(Objects.requireNonNull(anId)));
     }
 
     public static ProductID from(final UUID anId) {
-        return new ProductID(anId.toString().toLowerCase());
+        return new ProductID(anId.getMostSignificantBits(), anId.getLeastSignificantBits());
+    }
+
+    public static ProductID from(final long mostSignificantBits, final long leastSignificantBits) {
+        return new ProductID(mostSignificantBits, leastSignificantBits);
     }
 
     public String getValue() {
-        return value;
+        var aValue = this.value;
+        if (aValue == null) {
+            aValue = toUUID().toString();
+            this.value = aValue;
+        }
+        return aValue;
+    }
+
+    public UUID toUUID() {
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    //unsigned, the same order as the text form and as the BINARY(16) column
+    @Override
+    public int compareTo(final ProductID o) {
+        final var most = Long.compareUnsigned(mostSignificantBits, o.mostSignificantBits);
+        return most != 0 ? most : Long.compareUnsigned(leastSignificantBits, o.leastSignificantBits);
     }
 
     @Override
@@ -35,11 +66,16 @@ public class ProductID extends Identifier {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ProductID that = (ProductID) o;
-        return Objects.equals(value, that.value);
+        return mostSignificantBits == that.mostSignificantBits && leastSignificantBits == that.leastSignificantBits;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(value);
+        return Objects.hash(mostSignificantBits, leastSignificantBits);
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
     }
 }
@@ -0,0 +1,11 @@
+package com.company.admin.product_management.domain.product;
+
+import java.time.Instant;
+
+//what a client needs to revalidate a cached product, without loading the whole aggregate
+public record ProductRevision(
+        Long code,
+        long version,
+        Instant updatedAt
+) {
+}
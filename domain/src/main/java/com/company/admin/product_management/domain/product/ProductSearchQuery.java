@@ -1,10 +1,53 @@
 package com.company.admin.product_management.domain.product;
 
+import com.company.admin.product_management.domain.pagination.CountMode;
+
+import java.util.Locale;
+
 public record ProductSearchQuery(
         int page,
         int perPage,
         String terms,
         String sort,
-        String direction
+        String direction,
+        String after,
+        CountMode count
 ) {
+    public ProductSearchQuery(
+            final int page,
+            final int perPage,
+            final String terms,
+            final String sort,
+            final String direction
+    ) {
+        this(page, perPage, terms, sort, direction, null);
+    }
+
+    public ProductSearchQuery(
+            final int page,
+            final int perPage,
+            final String terms,
+            final String sort,
+            final String direction,
+            final String after
+    ) {
+        this(page, perPage, terms, sort, direction, after, CountMode.EXACT);
+    }
+
+    public boolean isKeyset() {
+        return after != null && !after.isBlank();
+    }
+
+    //same key for requests that always select the same rows, searches are case insensitive so the terms are case folded
+    public String key() {
+        return String.join("|",
+                String.valueOf(page),
+                String.valueOf(perPage),
+                terms == null ? "" : terms.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT),
+                String.valueOf(sort),
+                String.valueOf(direction).toLowerCase(Locale.ROOT),
+                isKeyset() ? after : "",
+                String.valueOf(count)
+        );
+    }
 }
@@ -0,0 +1,39 @@
+package com.company.admin.product_management.infrastructure.api;
+
+import com.company.admin.product_management.infrastructure.importjob.models.ImportJobResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RequestMapping(value = "products/import-jobs")
+@Tag(name = "Product import jobs")
+public interface ImportJobAPI {
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Queue the import of a NDJSON or CSV body, optionally gzipped, and return the job to poll")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Accepted, the body was stored and the job queued"),
+            @ApiResponse(responseCode = "422", description = "Validation error"),
+            @ApiResponse(responseCode = "503", description = "Too many jobs queued, try again later"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    ResponseEntity<ImportJobResponse> createImportJob(
+            @RequestParam(name = "format", required = false, defaultValue = "ndjson") final String format,
+            final InputStream body
+    );
+
+    @GetMapping(value = "{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the progress of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    ResponseEntity<ImportJobResponse> getImportJob(@PathVariable String id);
+}
@@ -2,6 +2,9 @@ package com.company.admin.product_management.infrastructure.api;
 
 import com.company.admin.product_management.domain.pagination.Pagination;
 import com.company.admin.product_management.infrastructure.product.models.CreateProductRequest;
+import com.company.admin.product_management.infrastructure.product.models.DeleteProductsResponse;
+import com.company.admin.product_management.infrastructure.product.models.BatchItemResponse;
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
 import com.company.admin.product_management.infrastructure.product.models.ProductListResponse;
 import com.company.admin.product_management.infrastructure.product.models.ProductResponse;
 import com.company.admin.product_management.infrastructure.product.models.UpdateProductRequest;
@@ -9,10 +12,15 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 @RequestMapping(value = "products")
 @Tag(name = "Products")
@@ -30,19 +38,73 @@ public interface ProductAPI {
     })
     ResponseEntity<?> createProduct(@RequestBody CreateProductRequest input);
 
+    @PostMapping(
+            value = "/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Create many products at once, with one result per item in the request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Processed, each item carries its code or its errors"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    List<BatchItemResponse> createProducts(@RequestBody List<CreateProductRequest> input);
+
+    @PostMapping(
+            value = "/import",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Create every product of a NDJSON or CSV body, optionally gzipped, reporting the lines that failed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Processed, with the imported count and the errors by line"),
+            @ApiResponse(responseCode = "422", description = "Validation error"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    ImportProductsResponse importProducts(
+            @RequestParam(name = "format", required = false, defaultValue = "ndjson") final String format,
+            final InputStream body
+    );
+
     @GetMapping
-    @Operation(summary = "List paginated products")
+    @Operation(summary = "List paginated products, by page or by the 'after' cursor of a previous page")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "304", description = "Catalog did not change since the If-None-Match sent"),
             @ApiResponse(responseCode = "422", description = "Validation error"),
             @ApiResponse(responseCode = "500", description = "Internal server error"),
     })
-    Pagination<ProductListResponse> listProduct(
+    ResponseEntity<Pagination<ProductListResponse>> listProduct(
             @RequestParam(name = "search", required = false, defaultValue = "") final String search,
             @RequestParam(name = "page", required = false, defaultValue = "0") final int page,
             @RequestParam(name = "perPage", required = false, defaultValue = "10") final int perPage,
             @RequestParam(name = "sort", required = false, defaultValue = "code") final String sort,
-            @RequestParam(name = "dir", required = false, defaultValue = "asc") final String direction
+            @RequestParam(name = "dir", required = false, defaultValue = "asc") final String direction,
+            @RequestParam(name = "after", required = false) final String after,
+            @RequestParam(name = "count", required = false, defaultValue = "exact") final String count,
+            @RequestHeader HttpHeaders headers
+    );
+
+    @GetMapping(value = "/export")
+    @Operation(summary = "Stream every product as NDJSON or CSV, in code order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "422", description = "Validation error"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(name = "format", required = false, defaultValue = "ndjson") final String format
+    );
+
+    @RequestMapping(method = RequestMethod.HEAD)
+    @Operation(summary = "Count products matching a search, returned in the X-Total-Count header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "422", description = "Validation error"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    ResponseEntity<Void> countProducts(
+            @RequestParam(name = "search", required = false, defaultValue = "") final String search,
+            @RequestParam(name = "count", required = false, defaultValue = "exact") final String count
     );
 
     @RequestMapping(value = "/code/{code}", method = RequestMethod.GET)
@@ -52,12 +114,26 @@ public interface ProductAPI {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @Operation(summary = "Get product by it's code")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "304", description = "Item did not change since the If-None-Match or If-Modified-Since sent"),
+            @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    ResponseEntity<ProductResponse> getByCode(@PathVariable String code, @RequestHeader HttpHeaders headers);
+
+    @GetMapping(
+            value = "/id/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Get product by it's id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
             @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "422", description = "The id is not a valid UUID"),
             @ApiResponse(responseCode = "500", description = "Internal server error"),
     })
-    ProductResponse getByCode(@PathVariable String code);
+    ResponseEntity<ProductResponse> getById(@PathVariable String id);
 
     @PutMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -67,9 +143,25 @@ public interface ProductAPI {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
             @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "412", description = "Item was changed since the version sent in If-Match"),
             @ApiResponse(responseCode = "500", description = "Internal server error"),
     })
-    ResponseEntity<?> updateByCode(@RequestBody UpdateProductRequest input);
+    ResponseEntity<?> updateByCode(
+            @RequestBody UpdateProductRequest input,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    );
+
+    @PutMapping(
+            value = "/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Update many products at once, with one result per item in the request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Processed, each item carries its code or its errors"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    List<BatchItemResponse> updateProducts(@RequestBody List<UpdateProductRequest> input);
 
     @RequestMapping(value = "/code/{code}", method = RequestMethod.DELETE)
     @DeleteMapping(
@@ -84,4 +176,12 @@ public interface ProductAPI {
             @ApiResponse(responseCode = "500", description = "Internal server error"),
     })
     void deleteByCode(@PathVariable String code);
+
+    @DeleteMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Delete every product of the given codes, returning how many were deleted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+    })
+    DeleteProductsResponse deleteByCodes(@RequestParam(name = "codes") List<Long> codes);
 }
@@ -0,0 +1,32 @@
+package com.company.admin.product_management.infrastructure.api;
+
+import com.company.admin.product_management.infrastructure.api.controllers.ProductHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+//routes of the reactive profile, the create, get, update, delete and list requests of ProductAPI
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ProductRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> productRoutes(final ProductHandler handler) {
+        return RouterFunctions.route()
+                .path("/products", builder -> builder
+                        .POST("", contentType(MediaType.APPLICATION_JSON), handler::createProduct)
+                        .PUT("", contentType(MediaType.APPLICATION_JSON), handler::updateByCode)
+                        .GET("", handler::listProducts)
+                        .GET("/{code}", handler::getByCode)
+                        .GET("/code/{code}", handler::getByCode)
+                        .DELETE("/{code}", handler::deleteByCode)
+                        .DELETE("/code/{code}", handler::deleteByCode))
+                .build();
+    }
+}
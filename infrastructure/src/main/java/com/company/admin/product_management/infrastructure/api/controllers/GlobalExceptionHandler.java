@@ -1,5 +1,6 @@
 package com.company.admin.product_management.infrastructure.api.controllers;
 
+import com.company.admin.product_management.domain.exceptions.ConflictException;
 import com.company.admin.product_management.domain.exceptions.DomainException;
 import com.company.admin.product_management.domain.exceptions.NotFoundException;
 import com.company.admin.product_management.domain.validation.Error;
@@ -23,6 +24,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError(ex.getMessage(), ex.getErrors()));
     }
 
+    @ExceptionHandler(value = ConflictException.class)
+    public ResponseEntity<?> handleConflictException(final ConflictException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiError(ex.getMessage(), ex.getErrors()));
+    }
+
     record ApiError(String message, List<Error> errors) {
         public static ApiError from(final DomainException ex) {
             return new ApiError("Errors were found", ex.getErrors());
@@ -0,0 +1,50 @@
+package com.company.admin.product_management.infrastructure.api.controllers;
+
+import com.company.admin.product_management.infrastructure.api.ImportJobAPI;
+import com.company.admin.product_management.infrastructure.importjob.ImportJobService;
+import com.company.admin.product_management.infrastructure.importjob.models.ImportJobResponse;
+import com.company.admin.product_management.infrastructure.importjob.presenters.ImportJobApiPresenter;
+import com.company.admin.product_management.infrastructure.product.imports.ProductImportFormat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Objects;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ImportJobController implements ImportJobAPI {
+
+    private static final String RETRY_AFTER_SECONDS = "60";
+
+    private final ImportJobService importJobService;
+
+    public ImportJobController(final ImportJobService importJobService) {
+        this.importJobService = Objects.requireNonNull(importJobService);
+    }
+
+    @Override
+    public ResponseEntity<ImportJobResponse> createImportJob(final String format, final InputStream body) {
+        final var aFormat = ProductImportFormat.from(format);
+
+        return this.importJobService.submit(aFormat, body)
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create("/products/import-jobs/" + job.getId()))
+                        .body(ImportJobApiPresenter.present(job, Instant.now())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                        .build());
+    }
+
+    @Override
+    public ResponseEntity<ImportJobResponse> getImportJob(final String id) {
+        return this.importJobService.findById(id)
+                .map(job -> ResponseEntity.ok(ImportJobApiPresenter.present(job, Instant.now())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
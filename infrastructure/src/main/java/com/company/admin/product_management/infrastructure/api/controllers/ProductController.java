@@ -3,50 +3,105 @@ package com.company.admin.product_management.infrastructure.api.controllers;
 import com.company.admin.product_management.application.product.create.CreateProductCommand;
 import com.company.admin.product_management.application.product.create.CreateProductOutput;
 import com.company.admin.product_management.application.product.create.CreateProductUseCase;
+import com.company.admin.product_management.application.product.create.CreateProductsUseCase;
+import com.company.admin.product_management.application.product.create.ImportProductsUseCase;
 import com.company.admin.product_management.application.product.delete.DeleteProductUseCase;
+import com.company.admin.product_management.application.product.delete.DeleteProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.count.CountProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.export.ExportProductsUseCase;
 import com.company.admin.product_management.application.product.retrieve.get.GetProductByCodeUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.GetProductByIdUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.GetProductRevisionUseCase;
+import com.company.admin.product_management.application.product.retrieve.list.GetCatalogVersionUseCase;
 import com.company.admin.product_management.application.product.retrieve.list.ListProductsUseCase;
 import com.company.admin.product_management.application.product.update.UpdateProductCommand;
 import com.company.admin.product_management.application.product.update.UpdateProductOutput;
 import com.company.admin.product_management.application.product.update.UpdateProductUseCase;
+import com.company.admin.product_management.application.product.update.UpdateProductsUseCase;
+import com.company.admin.product_management.domain.pagination.CountMode;
 import com.company.admin.product_management.domain.pagination.Pagination;
 import com.company.admin.product_management.domain.product.ProductSearchQuery;
 import com.company.admin.product_management.domain.validation.handler.Notification;
 import com.company.admin.product_management.infrastructure.api.ProductAPI;
+import com.company.admin.product_management.infrastructure.product.export.ProductExportFormat;
+import com.company.admin.product_management.infrastructure.product.imports.ProductImportFormat;
 import com.company.admin.product_management.infrastructure.product.models.CreateProductRequest;
+import com.company.admin.product_management.infrastructure.product.models.DeleteProductsResponse;
+import com.company.admin.product_management.infrastructure.product.models.BatchItemResponse;
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
 import com.company.admin.product_management.infrastructure.product.models.ProductListResponse;
 import com.company.admin.product_management.infrastructure.product.models.ProductResponse;
 import com.company.admin.product_management.infrastructure.product.models.UpdateProductRequest;
 import com.company.admin.product_management.infrastructure.product.presenters.ProductApiPresenter;
+import com.company.admin.product_management.infrastructure.utils.ETagUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProductController implements ProductAPI {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final CreateProductUseCase createProductUseCase;
+    private final CreateProductsUseCase createProductsUseCase;
     private final GetProductByCodeUseCase getProductByCodeUseCase;
+    private final GetProductByIdUseCase getProductByIdUseCase;
+    private final GetProductRevisionUseCase getProductRevisionUseCase;
     private final UpdateProductUseCase updateProductUseCase;
+    private final UpdateProductsUseCase updateProductsUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
+    private final DeleteProductsUseCase deleteProductsUseCase;
     private final ListProductsUseCase listProductsUseCase;
+    private final GetCatalogVersionUseCase getCatalogVersionUseCase;
+    private final CountProductsUseCase countProductsUseCase;
+    private final ExportProductsUseCase exportProductsUseCase;
+    private final ImportProductsUseCase importProductsUseCase;
 
 
     public ProductController(
             final CreateProductUseCase createProductUseCase,
+            final CreateProductsUseCase createProductsUseCase,
             final GetProductByCodeUseCase getProductByCodeUseCase,
+            final GetProductByIdUseCase getProductByIdUseCase,
+            final GetProductRevisionUseCase getProductRevisionUseCase,
             final UpdateProductUseCase updateProductUseCase,
+            final UpdateProductsUseCase updateProductsUseCase,
             final DeleteProductUseCase deleteProductUseCase,
-            final ListProductsUseCase listProductsUseCase
+            final DeleteProductsUseCase deleteProductsUseCase,
+            final ListProductsUseCase listProductsUseCase,
+            final GetCatalogVersionUseCase getCatalogVersionUseCase,
+            final CountProductsUseCase countProductsUseCase,
+            final ExportProductsUseCase exportProductsUseCase,
+            final ImportProductsUseCase importProductsUseCase
     ) {
         this.createProductUseCase = Objects.requireNonNull(createProductUseCase);
+        this.createProductsUseCase = Objects.requireNonNull(createProductsUseCase);
         this.getProductByCodeUseCase = Objects.requireNonNull(getProductByCodeUseCase);
+        this.getProductByIdUseCase = Objects.requireNonNull(getProductByIdUseCase);
+        this.getProductRevisionUseCase = Objects.requireNonNull(getProductRevisionUseCase);
         this.updateProductUseCase = Objects.requireNonNull(updateProductUseCase);
+        this.updateProductsUseCase = Objects.requireNonNull(updateProductsUseCase);
         this.deleteProductUseCase = Objects.requireNonNull(deleteProductUseCase);
+        this.deleteProductsUseCase = Objects.requireNonNull(deleteProductsUseCase);
         this.listProductsUseCase = Objects.requireNonNull(listProductsUseCase);
+        this.getCatalogVersionUseCase = Objects.requireNonNull(getCatalogVersionUseCase);
+        this.countProductsUseCase = Objects.requireNonNull(countProductsUseCase);
+        this.exportProductsUseCase = Objects.requireNonNull(exportProductsUseCase);
+        this.importProductsUseCase = Objects.requireNonNull(importProductsUseCase);
     }
 
 
@@ -71,12 +126,67 @@ public class ProductController implements ProductAPI {
     }
 
     @Override
-    public ProductResponse getByCode(final String code) {
-        return ProductApiPresenter.present(this.getProductByCodeUseCase.execute(Long.parseLong(code)));
+    public List<BatchItemResponse> createProducts(final List<CreateProductRequest> input) {
+        final var aCommands = input.stream()
+                .map(item -> CreateProductCommand.with(
+                        item.aDescription(),
+                        item.aFabricatedAt(),
+                        item.anExpiredAt(),
+                        item.anSupplierCode(),
+                        item.aSupplierDescription(),
+                        item.aSupplierCNPJ(),
+                        item.isActive() != null ? item.isActive() : true
+                ))
+                .toList();
+
+        return ProductApiPresenter.present(this.createProductsUseCase.execute(aCommands), CreateProductOutput::productCode);
     }
 
+    //the body is parsed while it is received, the use case pulls one line at a time
     @Override
-    public ResponseEntity<?> updateByCode(UpdateProductRequest input) {
+    public ImportProductsResponse importProducts(final String format, final InputStream body) {
+        final var aFormat = ProductImportFormat.from(format);
+
+        try (final var reader = aFormat.open(body)) {
+            return ProductApiPresenter.present(this.importProductsUseCase.execute(reader));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public ResponseEntity<ProductResponse> getByCode(final String code, final HttpHeaders headers) {
+        final var aCode = Long.parseLong(code);
+
+        //revalidation reads only the version and updated_at, the full product is loaded only when it changed
+        if (!headers.getIfNoneMatch().isEmpty() || headers.getIfModifiedSince() != -1) {
+            final var revision = this.getProductRevisionUseCase.execute(aCode);
+            if (ETagUtils.isNotModified(headers, revision.version(), revision.updatedAt())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(String.valueOf(revision.version()))
+                        .lastModified(revision.updatedAt())
+                        .build();
+            }
+        }
+
+        final var output = this.getProductByCodeUseCase.execute(aCode);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(output.version()))
+                .lastModified(output.updatedAt())
+                .body(ProductApiPresenter.present(output));
+    }
+
+    @Override
+    public ResponseEntity<ProductResponse> getById(final String id) {
+        final var output = this.getProductByIdUseCase.execute(id);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(output.version()))
+                .lastModified(output.updatedAt())
+                .body(ProductApiPresenter.present(output));
+    }
+
+    @Override
+    public ResponseEntity<?> updateByCode(final UpdateProductRequest input, final String ifMatch) {
         final var aCommand = UpdateProductCommand.with(
                 input.aCode(),
                 input.aDescription(),
@@ -85,30 +195,103 @@ public class ProductController implements ProductAPI {
                 input.anSupplierCode(),
                 input.aSupplierDescription(),
                 input.aSupplierCNPJ(),
-                input.isActive() != null ? input.isActive() : true
+                input.isActive() != null ? input.isActive() : true,
+                ifMatch != null ? ETagUtils.versionOf(ifMatch) : input.aVersion()
         );
 
         final Function<Notification, ResponseEntity<?>> onError = ResponseEntity.unprocessableEntity()::body;
-        final Function<UpdateProductOutput, ResponseEntity<?>> onSuccess = ResponseEntity::ok;
+        final Function<UpdateProductOutput, ResponseEntity<?>> onSuccess = output ->
+                ResponseEntity.ok().eTag(String.valueOf(output.version())).body(output);
 
         return this.updateProductUseCase.execute(aCommand)
                 .fold(onError, onSuccess);
     }
 
+    @Override
+    public List<BatchItemResponse> updateProducts(final List<UpdateProductRequest> input) {
+        final var aCommands = input.stream()
+                .map(item -> UpdateProductCommand.with(
+                        item.aCode(),
+                        item.aDescription(),
+                        item.aFabricatedAt(),
+                        item.anExpiredAt(),
+                        item.anSupplierCode(),
+                        item.aSupplierDescription(),
+                        item.aSupplierCNPJ(),
+                        item.isActive() != null ? item.isActive() : true,
+                        item.aVersion()
+                ))
+                .toList();
+
+        return ProductApiPresenter.present(this.updateProductsUseCase.execute(aCommands), UpdateProductOutput::code);
+    }
+
     @Override
     public void deleteByCode(String code) {
         this.deleteProductUseCase.execute(Long.parseLong(code));
     }
 
     @Override
-    public Pagination<ProductListResponse> listProduct(
+    public DeleteProductsResponse deleteByCodes(final List<Long> codes) {
+        return new DeleteProductsResponse(this.deleteProductsUseCase.execute(codes));
+    }
+
+    @Override
+    public ResponseEntity<Pagination<ProductListResponse>> listProduct(
             String search,
             int page,
             int perPage,
             String sort,
-            String direction
+            String direction,
+            String after,
+            String count,
+            HttpHeaders headers
     ) {
-        return listProductsUseCase.execute(new ProductSearchQuery(page, perPage, search, sort, direction))
+        final var aQuery = new ProductSearchQuery(page, perPage, search, sort, direction, after, CountMode.from(count));
+
+        //the catalog version is read before the query, a write racing with it only costs the client one more full response;
+        //there is none when the rows come from a replica that may lag it, such a page is sent without an ETag
+        final var catalogVersion = this.getCatalogVersionUseCase.execute();
+        if (catalogVersion == null) {
+            return ResponseEntity.ok(listProductsUseCase.execute(aQuery).map(ProductApiPresenter::present));
+        }
+
+        final var eTag = "W/\"%d-%08x\"".formatted(catalogVersion, aQuery.key().hashCode());
+        if (ETagUtils.matches(headers.getIfNoneMatch(), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        final var products = listProductsUseCase.execute(aQuery)
                 .map(ProductApiPresenter::present);
+        return ResponseEntity.ok().eTag(eTag).body(products);
+    }
+
+    //rows are written as the cursor reads them, so memory does not grow with the catalog and nothing is counted upfront
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportProducts(final String format) {
+        final var aFormat = ProductExportFormat.from(format);
+
+        final StreamingResponseBody body = out -> {
+            try (final var writer = aFormat.open(out)) {
+                this.exportProductsUseCase.execute(output -> writer.write(ProductApiPresenter.present(output)));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(aFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(aFormat.fileName()).build().toString())
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<Void> countProducts(final String search, final String count) {
+        final var aQuery = new ProductSearchQuery(0, 1, search, "code", "asc", null, CountMode.from(count));
+        final var total = this.countProductsUseCase.execute(aQuery);
+
+        final var response = ResponseEntity.ok();
+        if (total != Pagination.UNKNOWN_TOTAL) {
+            response.header(TOTAL_COUNT_HEADER, total.toString());
+        }
+        return response.build();
     }
 }
@@ -0,0 +1,156 @@
+package com.company.admin.product_management.infrastructure.api.controllers;
+
+import com.company.admin.product_management.application.product.create.CreateProductCommand;
+import com.company.admin.product_management.application.product.update.UpdateProductCommand;
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.infrastructure.product.models.CreateProductRequest;
+import com.company.admin.product_management.infrastructure.product.models.UpdateProductRequest;
+import com.company.admin.product_management.infrastructure.product.presenters.ProductApiPresenter;
+import com.company.admin.product_management.infrastructure.utils.ETagUtils;
+import com.company.admin.product_management.reactive.product.create.ReactiveCreateProductUseCase;
+import com.company.admin.product_management.reactive.product.delete.ReactiveDeleteProductUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.get.ReactiveGetProductByCodeUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.list.ReactiveListProductsUseCase;
+import com.company.admin.product_management.reactive.product.update.ReactiveUpdateProductUseCase;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+//WebFlux counterpart of ProductController for the reactive profile, same requests, bodies and status codes
+@Component
+@Profile("reactive")
+public class ProductHandler {
+
+    private final ReactiveCreateProductUseCase createProductUseCase;
+    private final ReactiveGetProductByCodeUseCase getProductByCodeUseCase;
+    private final ReactiveUpdateProductUseCase updateProductUseCase;
+    private final ReactiveDeleteProductUseCase deleteProductUseCase;
+    private final ReactiveListProductsUseCase listProductsUseCase;
+
+    public ProductHandler(
+            final ReactiveCreateProductUseCase createProductUseCase,
+            final ReactiveGetProductByCodeUseCase getProductByCodeUseCase,
+            final ReactiveUpdateProductUseCase updateProductUseCase,
+            final ReactiveDeleteProductUseCase deleteProductUseCase,
+            final ReactiveListProductsUseCase listProductsUseCase
+    ) {
+        this.createProductUseCase = Objects.requireNonNull(createProductUseCase);
+        this.getProductByCodeUseCase = Objects.requireNonNull(getProductByCodeUseCase);
+        this.updateProductUseCase = Objects.requireNonNull(updateProductUseCase);
+        this.deleteProductUseCase = Objects.requireNonNull(deleteProductUseCase);
+        this.listProductsUseCase = Objects.requireNonNull(listProductsUseCase);
+    }
+
+    public Mono<ServerResponse> createProduct(final ServerRequest request) {
+        return handle(() -> request.bodyToMono(CreateProductRequest.class)
+                .map(input -> CreateProductCommand.with(
+                        input.aDescription(),
+                        input.aFabricatedAt(),
+                        input.anExpiredAt(),
+                        input.anSupplierCode(),
+                        input.aSupplierDescription(),
+                        input.aSupplierCNPJ(),
+                        input.isActive() != null ? input.isActive() : true
+                ))
+                .flatMap(this.createProductUseCase::execute)
+                .flatMap(result -> result.fold(
+                        notification -> ServerResponse.unprocessableEntity().bodyValue(notification),
+                        output -> ServerResponse.created(URI.create("/products/" + output.productCode())).build()
+                )));
+    }
+
+    public Mono<ServerResponse> getByCode(final ServerRequest request) {
+        return handle(() -> {
+            final var headers = request.headers().asHttpHeaders();
+
+            return this.getProductByCodeUseCase.execute(Long.parseLong(request.pathVariable("code")))
+                    .flatMap(output -> {
+                        final var revalidating = !headers.getIfNoneMatch().isEmpty() || headers.getIfModifiedSince() != -1;
+                        if (revalidating && ETagUtils.isNotModified(headers, output.version(), output.updatedAt())) {
+                            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(String.valueOf(output.version()))
+                                    .lastModified(output.updatedAt())
+                                    .build();
+                        }
+                        return ServerResponse.ok()
+                                .eTag(String.valueOf(output.version()))
+                                .lastModified(output.updatedAt())
+                                .bodyValue(ProductApiPresenter.present(output));
+                    });
+        });
+    }
+
+    public Mono<ServerResponse> updateByCode(final ServerRequest request) {
+        final var ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+
+        return handle(() -> request.bodyToMono(UpdateProductRequest.class)
+                .map(input -> UpdateProductCommand.with(
+                        input.aCode(),
+                        input.aDescription(),
+                        input.aFabricatedAt(),
+                        input.anExpiredAt(),
+                        input.anSupplierCode(),
+                        input.aSupplierDescription(),
+                        input.aSupplierCNPJ(),
+                        input.isActive() != null ? input.isActive() : true,
+                        ifMatch != null ? ETagUtils.versionOf(ifMatch) : input.aVersion()
+                ))
+                .flatMap(this.updateProductUseCase::execute)
+                .flatMap(result -> result.fold(
+                        notification -> ServerResponse.unprocessableEntity().bodyValue(notification),
+                        output -> ServerResponse.ok().eTag(String.valueOf(output.version())).bodyValue(output)
+                )));
+    }
+
+    public Mono<ServerResponse> deleteByCode(final ServerRequest request) {
+        return handle(() -> this.deleteProductUseCase.execute(Long.parseLong(request.pathVariable("code")))
+                .then(ServerResponse.noContent().build()));
+    }
+
+    public Mono<ServerResponse> listProducts(final ServerRequest request) {
+        return handle(() -> {
+            final var aQuery = new ProductSearchQuery(
+                    request.queryParam("page").map(Integer::parseInt).orElse(0),
+                    request.queryParam("perPage").map(Integer::parseInt).orElse(10),
+                    request.queryParam("search").orElse(""),
+                    request.queryParam("sort").orElse("code"),
+                    request.queryParam("dir").orElse("asc"),
+                    request.queryParam("after").orElse(null),
+                    CountMode.from(request.queryParam("count").orElse("exact"))
+            );
+
+            return this.listProductsUseCase.execute(aQuery)
+                    .flatMap(page -> ServerResponse.ok().bodyValue(page.map(ProductApiPresenter::present)));
+        });
+    }
+
+    //deferred so a query or path that fails while being parsed gets the same error answer as the ones failing later
+    private static Mono<ServerResponse> handle(final Supplier<Mono<ServerResponse>> aHandler) {
+        return Mono.defer(aHandler).onErrorResume(DomainException.class, ProductHandler::onError);
+    }
+
+    //same answers as GlobalExceptionHandler gives to the annotated controllers
+    private static Mono<ServerResponse> onError(final DomainException ex) {
+        if (ex instanceof NotFoundException) {
+            return ServerResponse.status(HttpStatus.NOT_FOUND)
+                    .bodyValue(new GlobalExceptionHandler.ApiError(ex.getMessage(), ex.getErrors()));
+        }
+        if (ex instanceof ConflictException) {
+            return ServerResponse.status(HttpStatus.PRECONDITION_FAILED)
+                    .bodyValue(new GlobalExceptionHandler.ApiError(ex.getMessage(), ex.getErrors()));
+        }
+        return ServerResponse.unprocessableEntity().bodyValue(GlobalExceptionHandler.ApiError.from(ex));
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.admin.product_management.infrastructure.configuration;
+
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//requests leave the undertow worker pool and run on one virtual thread each, so a blocked jdbc call only parks its own thread
+@Configuration(proxyBeanMethods = false)
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    //a bean so the context closes it with the server, new requests are refused and those running finish
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadExecutor();
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadDispatcher(final ExecutorService virtualThreadExecutor) {
+        return factory -> factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo
+                .setExecutor(virtualThreadExecutor)
+                .setAsyncExecutor(virtualThreadExecutor));
+    }
+
+    //streamed exports and other async bodies are written from the same kind of thread
+    @Bean
+    public WebMvcConfigurer virtualThreadAsyncSupport(final ExecutorService virtualThreadExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadExecutor));
+            }
+        };
+    }
+
+    //the build still targets java 17, the executor is looked up so the profile fails at startup on an older runtime
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final NoSuchMethodException ex) {
+            throw new IllegalStateException("the virtual-threads profile needs Java 21 or newer, running on " + Runtime.version());
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (final NoSuchMethodException ex) {
+            return false;
+        }
+    }
+}
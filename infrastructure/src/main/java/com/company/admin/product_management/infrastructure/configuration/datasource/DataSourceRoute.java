@@ -0,0 +1,53 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import java.util.function.Supplier;
+
+//where the connections of the current thread go, read by ReplicaRoutingDataSource when a connection is taken
+public final class DataSourceRoute {
+
+    enum Route {
+        PRIMARY,
+        REPLICA,
+        PINNED_TO_PRIMARY
+    }
+
+    private static final ThreadLocal<Route> CURRENT = ThreadLocal.withInitial(() -> Route.PRIMARY);
+
+    private DataSourceRoute() {
+    }
+
+    //runs a read on a replica, unless the request was pinned to the primary to read its own writes
+    public static <T> T onReplica(final Supplier<T> aRead) {
+        final var previous = CURRENT.get();
+        if (previous == Route.PINNED_TO_PRIMARY) {
+            return aRead.get();
+        }
+
+        CURRENT.set(Route.REPLICA);
+        try {
+            return aRead.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    //what a replica answers may lag the primary, caches in front of the gateway can serve such a read but must not keep it
+    public static boolean isReplica() {
+        return CURRENT.get() == Route.REPLICA;
+    }
+
+    //a client that has just written reads its own writes from the primary, past any cache
+    public static boolean isPinnedToPrimary() {
+        return CURRENT.get() == Route.PINNED_TO_PRIMARY;
+    }
+
+    static Route pinToPrimary() {
+        final var previous = CURRENT.get();
+        CURRENT.set(Route.PINNED_TO_PRIMARY);
+        return previous;
+    }
+
+    static void restore(final Route aRoute) {
+        CURRENT.set(aRoute);
+    }
+}
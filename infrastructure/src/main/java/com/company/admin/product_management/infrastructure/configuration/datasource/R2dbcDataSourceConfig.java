@@ -0,0 +1,58 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+//connections of the reactive profile, spring boot's own r2dbc auto-configuration is excluded so the servlet profiles never open this pool
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class R2dbcDataSourceConfig {
+
+    //spring boot skips the jdbc pool once a ConnectionFactory exists, flyway and the jpa beans still need it
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionPool(
+            @Value("${product.r2dbc.url}") final String url,
+            @Value("${product.r2dbc.username:${spring.datasource.username}}") final String username,
+            @Value("${product.r2dbc.password:${spring.datasource.password}}") final String password,
+            @Value("${product.r2dbc.pool.initial-size:10}") final int initialSize,
+            @Value("${product.r2dbc.pool.max-size:20}") final int maxSize,
+            @Value("${product.r2dbc.pool.max-acquire-time:5s}") final Duration maxAcquireTime
+    ) {
+        final var options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(final ConnectionPool connectionPool) {
+        return DatabaseClient.create(connectionPool);
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+//after a client writes, its reads stay on the primary for a while so they do not miss the write on a lagging replica
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private static final Set<String> READS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(final Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain
+    ) throws ServletException, IOException {
+        final var client = clientOf(request);
+        final var isWrite = !READS.contains(request.getMethod());
+        if (client == null || !isWrite && this.recentWriters.getIfPresent(client) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var previous = DataSourceRoute.pinToPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceRoute.restore(previous);
+            if (isWrite) {
+                this.recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+
+    //the remote address is not a client behind a load balancer, a request with neither key is never pinned;
+    //its writes still go to the primary, only its later reads may miss them
+    private static String clientOf(final HttpServletRequest request) {
+        final var client = request.getHeader(CLIENT_HEADER);
+        if (client != null && !client.isBlank()) {
+            return client;
+        }
+        final var session = request.getSession(false);
+        return session != null ? "session:" + session.getId() : null;
+    }
+}
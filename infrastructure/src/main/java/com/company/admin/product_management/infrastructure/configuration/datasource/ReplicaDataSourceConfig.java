@@ -0,0 +1,65 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "product.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            final HikariDataSource primaryDataSource,
+            final ReplicaDataSourceProperties properties
+    ) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas(primaryDataSource, properties.replicas()));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(final ReplicaDataSourceProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow());
+    }
+
+    //replicas share the pool settings of the primary, only the address, the credentials and the name change
+    private static List<HikariDataSource> replicas(
+            final HikariDataSource primary,
+            final List<ReplicaDataSourceProperties.Replica> replicas
+    ) {
+        final var dataSources = new ArrayList<HikariDataSource>(replicas.size());
+        for (var i = 0; i < replicas.size(); i++) {
+            final var replica = replicas.get(i);
+            final var config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replica.url());
+            config.setUsername(replica.username() != null ? replica.username() : primary.getUsername());
+            config.setPassword(replica.password() != null ? replica.password() : primary.getPassword());
+            config.setPoolName("replica-" + i);
+            config.setReadOnly(true);
+
+            //started on its first connection like the primary, a replica that is down does not stop the boot
+            final var dataSource = new HikariDataSource();
+            config.copyStateTo(dataSource);
+            dataSources.add(dataSource);
+        }
+        return dataSources;
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConstructorBinding
+@ConfigurationProperties("product.datasource")
+public record ReplicaDataSourceProperties(
+        List<Replica> replicas,
+        @DefaultValue("5s") Duration readYourWritesWindow
+) {
+
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.company.admin.product_management.application.product.retrieve.export.ExportProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class ReplicaExportProductsUseCase extends ExportProductsUseCase {
+
+    private final ExportProductsUseCase delegate;
+
+    public ReplicaExportProductsUseCase(final ExportProductsUseCase delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public Long execute(final Consumer<ProductOutput> aConsumer) {
+        return DataSourceRoute.onReplica(() -> this.delegate.execute(aConsumer));
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.company.admin.product_management.application.product.retrieve.list.GetCatalogVersionUseCase;
+
+import java.util.Objects;
+
+//lists are read from replicas taken in turn per connection, no version read anywhere is known to match their rows,
+//so a version is only handed out when the request is pinned to the primary and the rows come from there too
+public class ReplicaGetCatalogVersionUseCase extends GetCatalogVersionUseCase {
+
+    private final GetCatalogVersionUseCase delegate;
+
+    public ReplicaGetCatalogVersionUseCase(final GetCatalogVersionUseCase delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public Long execute() {
+        return DataSourceRoute.isPinnedToPrimary() ? this.delegate.execute() : null;
+    }
+}
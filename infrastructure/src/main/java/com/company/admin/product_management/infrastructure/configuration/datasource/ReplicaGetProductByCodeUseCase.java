@@ -0,0 +1,20 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.company.admin.product_management.application.product.retrieve.get.GetProductByCodeUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+
+import java.util.Objects;
+
+public class ReplicaGetProductByCodeUseCase extends GetProductByCodeUseCase {
+
+    private final GetProductByCodeUseCase delegate;
+
+    public ReplicaGetProductByCodeUseCase(final GetProductByCodeUseCase delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public ProductOutput execute(final Long aCode) {
+        return DataSourceRoute.onReplica(() -> this.delegate.execute(aCode));
+    }
+}
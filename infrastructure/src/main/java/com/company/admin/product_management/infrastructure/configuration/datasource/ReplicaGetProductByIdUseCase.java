@@ -0,0 +1,20 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.company.admin.product_management.application.product.retrieve.get.GetProductByIdUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+
+import java.util.Objects;
+
+public class ReplicaGetProductByIdUseCase extends GetProductByIdUseCase {
+
+    private final GetProductByIdUseCase delegate;
+
+    public ReplicaGetProductByIdUseCase(final GetProductByIdUseCase delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public ProductOutput execute(final String anId) {
+        return DataSourceRoute.onReplica(() -> this.delegate.execute(anId));
+    }
+}
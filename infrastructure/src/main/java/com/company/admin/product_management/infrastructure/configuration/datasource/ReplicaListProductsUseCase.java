@@ -0,0 +1,22 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.company.admin.product_management.application.product.retrieve.list.ListProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+
+import java.util.Objects;
+
+public class ReplicaListProductsUseCase extends ListProductsUseCase {
+
+    private final ListProductsUseCase delegate;
+
+    public ReplicaListProductsUseCase(final ListProductsUseCase delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public Pagination<ProductListOutput> execute(final ProductSearchQuery aQuery) {
+        return DataSourceRoute.onReplica(() -> this.delegate.execute(aQuery));
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(final DataSource primary, final List<HikariDataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+
+        final Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, Objects.requireNonNull(primary));
+        for (var i = 0; i < this.replicas.size(); i++) {
+            targets.put(REPLICA + i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    //replicas are taken in turn, anything outside DataSourceRoute.onReplica stays on the primary
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (this.replicas.isEmpty() || !DataSourceRoute.isReplica()) {
+            return PRIMARY;
+        }
+        return REPLICA + Math.floorMod(this.next.getAndIncrement(), this.replicas.size());
+    }
+
+    @Override
+    public void close() {
+        this.replicas.forEach(HikariDataSource::close);
+    }
+}
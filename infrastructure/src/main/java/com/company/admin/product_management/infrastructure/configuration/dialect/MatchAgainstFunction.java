@@ -0,0 +1,45 @@
+package com.company.admin.product_management.infrastructure.configuration.dialect;
+
+import org.hibernate.QueryException;
+import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+
+import java.util.List;
+
+public class MatchAgainstFunction implements SQLFunction {
+
+    @Override
+    public boolean hasArguments() {
+        return true;
+    }
+
+    @Override
+    public boolean hasParenthesesIfNoArguments() {
+        return false;
+    }
+
+    @Override
+    public Type getReturnType(final Type firstArgumentType, final Mapping mapping) throws QueryException {
+        return StandardBasicTypes.DOUBLE;
+    }
+
+    //match_against(column, ..., term) -> MATCH (column, ...) AGAINST (term IN BOOLEAN MODE)
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public String render(
+            final Type firstArgumentType,
+            final List arguments,
+            final SessionFactoryImplementor factory
+    ) throws QueryException {
+        if (arguments.size() < 2) {
+            throw new QueryException("match_against requires at least one column and the search term");
+        }
+
+        final var columns = String.join(", ", arguments.subList(0, arguments.size() - 1));
+        final var term = arguments.get(arguments.size() - 1);
+        return "MATCH (" + columns + ") AGAINST (" + term + " IN BOOLEAN MODE)";
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.admin.product_management.infrastructure.configuration.dialect;
+
+import org.hibernate.dialect.MySQL57Dialect;
+
+public class MySQLFullTextDialect extends MySQL57Dialect {
+
+    public static final String MATCH_AGAINST = "match_against";
+
+    public MySQLFullTextDialect() {
+        super();
+        registerFunction(MATCH_AGAINST, new MatchAgainstFunction());
+    }
+}
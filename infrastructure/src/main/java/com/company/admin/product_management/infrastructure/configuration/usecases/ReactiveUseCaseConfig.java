@@ -0,0 +1,58 @@
+package com.company.admin.product_management.infrastructure.configuration.usecases;
+
+import com.company.admin.product_management.infrastructure.product.ProductR2dbcGateway;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import com.company.admin.product_management.reactive.product.create.DefaultReactiveCreateProductUseCase;
+import com.company.admin.product_management.reactive.product.create.ReactiveCreateProductUseCase;
+import com.company.admin.product_management.reactive.product.delete.DefaultReactiveDeleteProductUseCase;
+import com.company.admin.product_management.reactive.product.delete.ReactiveDeleteProductUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.get.DefaultReactiveGetProductByCodeUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.get.ReactiveGetProductByCodeUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.list.DefaultReactiveListProductsUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.list.ReactiveListProductsUseCase;
+import com.company.admin.product_management.reactive.product.update.DefaultReactiveUpdateProductUseCase;
+import com.company.admin.product_management.reactive.product.update.ReactiveUpdateProductUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveUseCaseConfig {
+
+    private final ReactiveProductGateway productGateway;
+
+    public ReactiveUseCaseConfig(
+            final DatabaseClient databaseClient,
+            @Value("${product.search.estimate-cap:1000}") final int estimateCap
+    ) {
+        this.productGateway = new ProductR2dbcGateway(databaseClient, estimateCap);
+    }
+
+    @Bean
+    public ReactiveCreateProductUseCase reactiveCreateProductUseCase() {
+        return new DefaultReactiveCreateProductUseCase(productGateway);
+    }
+
+    @Bean
+    public ReactiveGetProductByCodeUseCase reactiveGetProductByCodeUseCase() {
+        return new DefaultReactiveGetProductByCodeUseCase(productGateway);
+    }
+
+    @Bean
+    public ReactiveUpdateProductUseCase reactiveUpdateProductUseCase() {
+        return new DefaultReactiveUpdateProductUseCase(productGateway);
+    }
+
+    @Bean
+    public ReactiveDeleteProductUseCase reactiveDeleteProductUseCase() {
+        return new DefaultReactiveDeleteProductUseCase(productGateway);
+    }
+
+    @Bean
+    public ReactiveListProductsUseCase reactiveListProductsUseCase() {
+        return new DefaultReactiveListProductsUseCase(productGateway);
+    }
+}
@@ -1,26 +1,81 @@
 package com.company.admin.product_management.infrastructure.configuration.usecases;
 
 import com.company.admin.product_management.application.product.create.CreateProductUseCase;
+import com.company.admin.product_management.application.product.create.CreateProductsUseCase;
 import com.company.admin.product_management.application.product.create.DefaultCreateProductUseCase;
+import com.company.admin.product_management.application.product.create.DefaultCreateProductsUseCase;
+import com.company.admin.product_management.application.product.create.DefaultImportProductsUseCase;
+import com.company.admin.product_management.application.product.create.ImportProductsUseCase;
 import com.company.admin.product_management.application.product.delete.DefaultDeleteProductUseCase;
+import com.company.admin.product_management.application.product.delete.DefaultDeleteProductsUseCase;
 import com.company.admin.product_management.application.product.delete.DeleteProductUseCase;
+import com.company.admin.product_management.application.product.delete.DeleteProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.count.CountProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.count.DefaultCountProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.export.DefaultExportProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.export.ExportProductsUseCase;
 import com.company.admin.product_management.application.product.retrieve.get.DefaultGetProductByCodeUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.DefaultGetProductByIdUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.DefaultGetProductRevisionUseCase;
 import com.company.admin.product_management.application.product.retrieve.get.GetProductByCodeUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.GetProductByIdUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.GetProductRevisionUseCase;
+import com.company.admin.product_management.application.product.retrieve.list.DefaultGetCatalogVersionUseCase;
 import com.company.admin.product_management.application.product.retrieve.list.DefaultListProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.list.GetCatalogVersionUseCase;
 import com.company.admin.product_management.application.product.retrieve.list.ListProductsUseCase;
 import com.company.admin.product_management.application.product.update.DefaultUpdateProductUseCase;
+import com.company.admin.product_management.application.product.update.DefaultUpdateProductsUseCase;
 import com.company.admin.product_management.application.product.update.UpdateProductUseCase;
+import com.company.admin.product_management.application.product.update.UpdateProductsUseCase;
 import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.infrastructure.configuration.datasource.ReplicaDataSourceProperties;
+import com.company.admin.product_management.infrastructure.configuration.datasource.ReplicaExportProductsUseCase;
+import com.company.admin.product_management.infrastructure.configuration.datasource.ReplicaGetCatalogVersionUseCase;
+import com.company.admin.product_management.infrastructure.configuration.datasource.ReplicaGetProductByCodeUseCase;
+import com.company.admin.product_management.infrastructure.configuration.datasource.ReplicaGetProductByIdUseCase;
+import com.company.admin.product_management.infrastructure.configuration.datasource.ReplicaListProductsUseCase;
+import com.company.admin.product_management.infrastructure.product.CachingListProductsUseCase;
+import com.company.admin.product_management.infrastructure.product.CachingProductGateway;
+import com.company.admin.product_management.infrastructure.product.MappedProductGateway;
+import com.company.admin.product_management.infrastructure.product.store.MappedProductStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class UseCaseConfig {
 
     private final ProductGateway productGateway;
+    //reads are routed only when replicas are configured, otherwise the caches would see every read as a replica one
+    private final boolean replicas;
+
+    public UseCaseConfig(
+            final ProductGateway productGateway,
+            @Value("${product.cache.enabled:false}") final boolean cacheEnabled,
+            @Value("${product.cache.maximum-size:10000}") final long cacheMaximumSize,
+            @Value("${product.cache.ttl:60s}") final Duration cacheTtl,
+            final ObjectProvider<MeterRegistry> meterRegistry,
+            final ObjectProvider<MappedProductStore> productStore,
+            final ObjectProvider<ReplicaDataSourceProperties> replicaProperties
+    ) {
+        this.replicas = replicaProperties.getIfAvailable() != null;
 
-    public UseCaseConfig(ProductGateway productGateway) {
-        this.productGateway = productGateway;
+        //the heap cache stays in front of the mapped store, which only answers what the cache misses
+        final var store = productStore.getIfAvailable();
+        final var storeGateway = store != null ? new MappedProductGateway(productGateway, store) : productGateway;
+
+        if (cacheEnabled) {
+            final var cachingGateway = new CachingProductGateway(storeGateway, cacheMaximumSize, cacheTtl);
+            meterRegistry.ifAvailable(cachingGateway::bindTo);
+            this.productGateway = cachingGateway;
+        } else {
+            this.productGateway = storeGateway;
+        }
     }
 
     @Bean
@@ -28,23 +83,85 @@ public class UseCaseConfig {
         return new DefaultCreateProductUseCase(productGateway);
     }
 
+    @Bean
+    public CreateProductsUseCase createProductsUseCase(@Value("${product.batch.chunk-size:500}") final int chunkSize) {
+        return new DefaultCreateProductsUseCase(productGateway, chunkSize);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ImportProductsUseCase importProductsUseCase(
+            @Value("${product.import.batch-size:1000}") final int batchSize,
+            @Value("${product.import.workers:4}") final int workers,
+            @Value("${product.import.queue-capacity:4}") final int queueCapacity,
+            @Value("${product.import.max-errors:1000}") final int maxErrors,
+            @Value("${product.import.concurrency:2}") final int concurrency
+    ) {
+        return new DefaultImportProductsUseCase(productGateway, batchSize, workers, queueCapacity, maxErrors, concurrency);
+    }
+
     @Bean
     public DeleteProductUseCase deleteProductUseCase() {
         return new DefaultDeleteProductUseCase(productGateway);
     }
 
+    @Bean
+    public DeleteProductsUseCase deleteProductsUseCase() {
+        return new DefaultDeleteProductsUseCase(productGateway);
+    }
+
+    @Bean
+    public CountProductsUseCase countProductsUseCase() {
+        return new DefaultCountProductsUseCase(productGateway);
+    }
+
+    @Bean
+    public ExportProductsUseCase exportProductsUseCase() {
+        final var exportProductsUseCase = new DefaultExportProductsUseCase(productGateway);
+        return replicas ? new ReplicaExportProductsUseCase(exportProductsUseCase) : exportProductsUseCase;
+    }
+
     @Bean
     public GetProductByCodeUseCase getProductByCodeUseCase() {
-        return new DefaultGetProductByCodeUseCase(productGateway);
+        final var getProductByCodeUseCase = new DefaultGetProductByCodeUseCase(productGateway);
+        return replicas ? new ReplicaGetProductByCodeUseCase(getProductByCodeUseCase) : getProductByCodeUseCase;
+    }
+
+    @Bean
+    public GetProductByIdUseCase getProductByIdUseCase() {
+        final var getProductByIdUseCase = new DefaultGetProductByIdUseCase(productGateway);
+        return replicas ? new ReplicaGetProductByIdUseCase(getProductByIdUseCase) : getProductByIdUseCase;
+    }
+
+    @Bean
+    public GetProductRevisionUseCase getProductRevisionUseCase() {
+        return new DefaultGetProductRevisionUseCase(productGateway);
+    }
+
+    @Bean
+    public GetCatalogVersionUseCase getCatalogVersionUseCase() {
+        final var getCatalogVersionUseCase = new DefaultGetCatalogVersionUseCase(productGateway);
+        return replicas ? new ReplicaGetCatalogVersionUseCase(getCatalogVersionUseCase) : getCatalogVersionUseCase;
     }
 
     @Bean
-    public ListProductsUseCase listProductsUseCase() {
-        return new DefaultListProductsUseCase(productGateway);
+    public ListProductsUseCase listProductsUseCase(
+            @Value("${product.cache.pages.enabled:false}") final boolean pagesEnabled,
+            @Value("${product.cache.pages.maximum-size:1000}") final long pagesMaximumSize,
+            @Value("${product.cache.pages.ttl:60s}") final Duration pagesTtl
+    ) {
+        final ListProductsUseCase listProductsUseCase = pagesEnabled
+                ? new CachingListProductsUseCase(new DefaultListProductsUseCase(productGateway), productGateway, pagesMaximumSize, pagesTtl)
+                : new DefaultListProductsUseCase(productGateway);
+        return replicas ? new ReplicaListProductsUseCase(listProductsUseCase) : listProductsUseCase;
     }
 
     @Bean
     public UpdateProductUseCase updateProductUseCase() {
         return new DefaultUpdateProductUseCase(productGateway);
     }
+
+    @Bean
+    public UpdateProductsUseCase updateProductsUseCase(@Value("${product.batch.chunk-size:500}") final int chunkSize) {
+        return new DefaultUpdateProductsUseCase(productGateway, chunkSize);
+    }
 }
@@ -0,0 +1,340 @@
+package com.company.admin.product_management.infrastructure.importjob;
+
+import com.company.admin.product_management.application.product.create.CreateProductCommand;
+import com.company.admin.product_management.application.product.create.CreateProductOutput;
+import com.company.admin.product_management.application.product.create.CreateProductsUseCase;
+import com.company.admin.product_management.application.product.create.ImportProductCommand;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import com.company.admin.product_management.infrastructure.importjob.persistence.ImportJobJpaEntity;
+import com.company.admin.product_management.infrastructure.importjob.persistence.ImportJobRepository;
+import com.company.admin.product_management.infrastructure.product.imports.ProductImportFormat;
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import io.vavr.control.Either;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//the body is spooled to disk before answering, then each chunk of lines is inserted in its own transaction, the job moves
+//forward in that same one; a resumed run starts right after the last chunk committed and never inserts one twice
+@Service
+public class ImportJobService {
+
+    private static final List<ImportJobStatus> UNFINISHED = List.of(ImportJobStatus.RUNNING, ImportJobStatus.QUEUED);
+
+    private final ImportJobRepository repository;
+    private final CreateProductsUseCase createProductsUseCase;
+    private final TransactionOperations chunks;
+    private final TransactionOperations rollbacks;
+    private final Path spoolDirectory;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final Semaphore slots;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    public ImportJobService(
+            final ImportJobRepository repository,
+            final CreateProductsUseCase createProductsUseCase,
+            final PlatformTransactionManager transactionManager,
+            @Value("${product.import.jobs.spool-directory:${java.io.tmpdir}/product-import-jobs}") final Path spoolDirectory,
+            @Value("${product.import.jobs.chunk-size:1000}") final int chunkSize,
+            @Value("${product.import.jobs.workers:2}") final int workers,
+            @Value("${product.import.jobs.queue-capacity:16}") final int queueCapacity,
+            @Value("${product.import.max-errors:1000}") final int maxErrors
+    ) {
+        this.repository = Objects.requireNonNull(repository);
+        this.createProductsUseCase = Objects.requireNonNull(createProductsUseCase);
+        final var chunks = new TransactionTemplate(transactionManager);
+        chunks.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunks = chunks;
+        this.rollbacks = new TransactionTemplate(transactionManager);
+        this.spoolDirectory = Objects.requireNonNull(spoolDirectory);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+
+        //the slots bound the jobs, the executor queue only holds those already holding one
+        this.slots = new Semaphore(workers + queueCapacity);
+        final var threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final var thread = new Thread(runnable, "product-import-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        try {
+            Files.createDirectories(spoolDirectory);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    //empty when every worker is busy and the queue is full, the slot is taken before the body is read so nothing is spooled then
+    public Optional<ImportJobJpaEntity> submit(final ProductImportFormat aFormat, final InputStream body) {
+        if (!this.slots.tryAcquire()) {
+            return Optional.empty();
+        }
+
+        final var id = UUID.randomUUID().toString();
+        final var spool = spoolFile(id);
+
+        try {
+            final var totalBytes = Files.copy(body, spool);
+            final var job = this.repository.save(ImportJobJpaEntity.newJob(id, aFormat.name(), totalBytes));
+            this.scheduled.add(id);
+            dispatch(id);
+            return Optional.of(job);
+        } catch (final IOException ex) {
+            this.slots.release();
+            deleteQuietly(spool);
+            throw new UncheckedIOException(ex);
+        } catch (final RuntimeException ex) {
+            this.slots.release();
+            deleteQuietly(spool);
+            throw ex;
+        }
+    }
+
+    public Optional<ImportJobJpaEntity> findById(final String anId) {
+        return this.repository.findById(anId);
+    }
+
+    //jobs cut by a restart are picked up again, those spooled on another node are left to it
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (final var job : this.repository.findAllByStatusInOrderByCreatedAt(UNFINISHED)) {
+            if (Files.exists(spoolFile(job.getId())) && !schedule(job.getId())) {
+                return;
+            }
+        }
+    }
+
+    //the running jobs are interrupted and stay RUNNING, the next start resumes them from their last chunk
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdownNow();
+        try {
+            this.executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean schedule(final String anId) {
+        if (this.scheduled.contains(anId)) {
+            return true;
+        }
+        if (!this.slots.tryAcquire()) {
+            return false;
+        }
+        if (!this.scheduled.add(anId)) {
+            this.slots.release();
+            return true;
+        }
+        dispatch(anId);
+        return true;
+    }
+
+    private void dispatch(final String anId) {
+        try {
+            this.executor.execute(() -> run(anId));
+        } catch (final RejectedExecutionException ex) {
+            //only once shut down, the job is left queued for the next start
+            this.scheduled.remove(anId);
+            this.slots.release();
+        }
+    }
+
+    private void run(final String anId) {
+        try {
+            final var job = this.repository.findById(anId).orElse(null);
+            if (job == null || job.getStatus().isFinished()) {
+                return;
+            }
+            process(this.repository.save(job.start()));
+        } catch (final RuntimeException | IOException ex) {
+            if (!stopping()) {
+                fail(anId, ex);
+            }
+        } finally {
+            this.scheduled.remove(anId);
+            this.slots.release();
+            if (!stopping()) {
+                resume();
+            }
+        }
+    }
+
+    //a failed job is not resumed, its spool is of no use anymore
+    private void fail(final String anId, final Exception ex) {
+        this.repository.findById(anId).ifPresent(job -> this.repository.save(job.fail(ex.getMessage())));
+        deleteQuietly(spoolFile(anId));
+    }
+
+    private boolean stopping() {
+        return this.executor.isShutdown() || Thread.currentThread().isInterrupted();
+    }
+
+    private void process(final ImportJobJpaEntity aJob) throws IOException {
+        var job = aJob;
+        final var spool = spoolFile(job.getId());
+
+        try (final var counting = new CountingInputStream(Files.newInputStream(spool));
+             final var reader = ProductImportFormat.from(job.getFormat()).open(counting)) {
+            var chunk = new ArrayList<ImportProductCommand>(this.chunkSize);
+            while (reader.hasNext()) {
+                final var line = reader.next();
+                //lines up to the last committed chunk were imported by a previous run
+                if (line.line() <= job.getProcessedLines()) {
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == this.chunkSize) {
+                    stopIfShuttingDown();
+                    job = commit(job, chunk, counting.count);
+                    chunk = new ArrayList<>(this.chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                stopIfShuttingDown();
+                job = commit(job, chunk, counting.count);
+            }
+        }
+
+        this.repository.save(job.complete());
+        Files.deleteIfExists(spool);
+    }
+
+    private void stopIfShuttingDown() {
+        if (stopping()) {
+            throw new CancellationException("shutting down");
+        }
+    }
+
+    private ImportJobJpaEntity commit(final ImportJobJpaEntity job, final List<ImportProductCommand> chunk, final long processedBytes) {
+        final var errors = new ArrayList<ImportProductsResponse.LineErrors>();
+        final var lines = new ArrayList<Long>();
+        final var commands = new ArrayList<CreateProductCommand>();
+        chunk.forEach(line -> line.command()
+                .peekLeft(notification -> errors.add(new ImportProductsResponse.LineErrors(line.line(), notification.getErrors())))
+                .peek(command -> {
+                    lines.add(line.line());
+                    commands.add(command);
+                }));
+
+        final var lastLine = chunk.get(chunk.size() - 1).line();
+        final var results = new ArrayList<Either<Notification, CreateProductOutput>>(commands.size());
+        try {
+            return this.chunks.execute(status -> {
+                results.addAll(this.createProductsUseCase.execute(commands));
+                var imported = 0L;
+                final var chunkErrors = new ArrayList<>(errors);
+                for (var i = 0; i < results.size(); i++) {
+                    if (results.get(i).isRight()) {
+                        imported++;
+                    } else {
+                        chunkErrors.add(new ImportProductsResponse.LineErrors(lines.get(i), results.get(i).getLeft().getErrors()));
+                    }
+                }
+                chunkErrors.sort(Comparator.comparingLong(ImportProductsResponse.LineErrors::line));
+                return this.repository.save(job.advance(lastLine, processedBytes, imported, chunkErrors, this.maxErrors));
+            });
+        } catch (final RuntimeException ex) {
+            if (stopping()) {
+                throw ex;
+            }
+            //nothing of the chunk was kept, a line keeps its own error when it has one
+            for (var i = 0; i < lines.size(); i++) {
+                final var lineErrors = i < results.size() && results.get(i).isLeft()
+                        ? results.get(i).getLeft().getErrors()
+                        : Notification.create(ex).getErrors();
+                errors.add(new ImportProductsResponse.LineErrors(lines.get(i), lineErrors));
+            }
+            errors.sort(Comparator.comparingLong(ImportProductsResponse.LineErrors::line));
+
+            //the job in memory may have moved before the rollback, it moves on from what was committed
+            return this.rollbacks.execute(status -> this.repository.save(
+                    this.repository.findById(job.getId()).orElseThrow().advance(lastLine, processedBytes, 0, errors, this.maxErrors)));
+        }
+    }
+
+    private Path spoolFile(final String anId) {
+        return this.spoolDirectory.resolve(anId);
+    }
+
+    private static void deleteQuietly(final Path aPath) {
+        try {
+            Files.deleteIfExists(aPath);
+        } catch (final IOException ignored) {
+        }
+    }
+
+    //bytes handed to the parser, read-ahead included, which is close enough for progress and ETA
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var read = super.read();
+            if (read != -1) {
+                this.count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final var read = super.read(b, off, len);
+            if (read > 0) {
+                this.count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final var skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.admin.product_management.infrastructure.importjob.models;
+
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ImportJobResponse(
+        @JsonProperty("id") String anId,
+        @JsonProperty("status") String aStatus,
+        @JsonProperty("format") String aFormat,
+        @JsonProperty("rows_processed") long rowsProcessed,
+        @JsonProperty("imported") long imported,
+        @JsonProperty("failed") long failed,
+        @JsonProperty("rows_per_second") Double rowsPerSecond,
+        @JsonProperty("eta_seconds") Long etaSeconds,
+        @JsonProperty("processed_bytes") long processedBytes,
+        @JsonProperty("total_bytes") long totalBytes,
+        @JsonProperty("errors") List<ImportProductsResponse.LineErrors> errors,
+        @JsonProperty("message") String aMessage,
+        @JsonProperty("created_at") Instant aCreatedAt,
+        @JsonProperty("started_at") Instant aStartedAt,
+        @JsonProperty("finished_at") Instant aFinishedAt
+) {
+}
@@ -0,0 +1,199 @@
+package com.company.admin.product_management.infrastructure.importjob.persistence;
+
+import com.company.admin.product_management.infrastructure.configuration.json.Json;
+import com.company.admin.product_management.infrastructure.importjob.ImportJobStatus;
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Entity
+@Table(name = "product_import_jobs")
+public class ImportJobJpaEntity {
+
+    @Id
+    @Column(name = "id", length = 36, nullable = false)
+    private String id;
+
+    @Column(name = "format", length = 16, nullable = false)
+    private String format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private ImportJobStatus status;
+
+    @Column(name = "total_bytes", nullable = false)
+    private long totalBytes;
+
+    @Column(name = "processed_bytes", nullable = false)
+    private long processedBytes;
+
+    @Column(name = "processed_lines", nullable = false)
+    private long processedLines;
+
+    @Column(name = "imported", nullable = false)
+    private long imported;
+
+    @Column(name = "failed", nullable = false)
+    private long failed;
+
+    //json array with the errors of the first failed lines, bounded by the job max errors
+    @Lob
+    @Column(name = "errors", columnDefinition = "MEDIUMTEXT")
+    private String errors;
+
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "run_started_at", columnDefinition = "DATETIME(6)")
+    private Instant runStartedAt;
+
+    @Column(name = "run_start_rows", nullable = false)
+    private long runStartRows;
+
+    @Column(name = "run_start_bytes", nullable = false)
+    private long runStartBytes;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private Instant updatedAt;
+
+    @Column(name = "finished_at", columnDefinition = "DATETIME(6)")
+    private Instant finishedAt;
+
+    protected ImportJobJpaEntity() {
+    }
+
+    public static ImportJobJpaEntity newJob(final String anId, final String aFormat, final long aTotalBytes) {
+        final var now = Instant.now();
+        final var job = new ImportJobJpaEntity();
+        job.id = anId;
+        job.format = aFormat;
+        job.status = ImportJobStatus.QUEUED;
+        job.totalBytes = aTotalBytes;
+        job.createdAt = now;
+        job.updatedAt = now;
+        return job;
+    }
+
+    //rates are measured from here, so a resumed job does not count the rows of the previous run as fast ones
+    public ImportJobJpaEntity start() {
+        this.status = ImportJobStatus.RUNNING;
+        this.runStartedAt = Instant.now();
+        this.runStartRows = rowsProcessed();
+        this.runStartBytes = this.processedBytes;
+        this.updatedAt = this.runStartedAt;
+        return this;
+    }
+
+    public ImportJobJpaEntity advance(
+            final long aLastLine,
+            final long aProcessedBytes,
+            final long anImported,
+            final List<ImportProductsResponse.LineErrors> anErrors,
+            final int maxErrors
+    ) {
+        if (!anErrors.isEmpty() && this.failed < maxErrors) {
+            final var kept = new ArrayList<>(errorList());
+            anErrors.stream().limit(maxErrors - kept.size()).forEach(kept::add);
+            this.errors = Json.writeValueAsString(kept);
+        }
+        this.processedLines = aLastLine;
+        this.processedBytes = Math.min(this.totalBytes, aProcessedBytes);
+        this.imported += anImported;
+        this.failed += anErrors.size();
+        this.updatedAt = Instant.now();
+        return this;
+    }
+
+    public ImportJobJpaEntity complete() {
+        this.status = ImportJobStatus.COMPLETED;
+        this.processedBytes = this.totalBytes;
+        this.finishedAt = Instant.now();
+        this.updatedAt = this.finishedAt;
+        return this;
+    }
+
+    public ImportJobJpaEntity fail(final String aMessage) {
+        this.status = ImportJobStatus.FAILED;
+        this.message = aMessage != null && aMessage.length() > 255 ? aMessage.substring(0, 255) : aMessage;
+        this.finishedAt = Instant.now();
+        this.updatedAt = this.finishedAt;
+        return this;
+    }
+
+    public long rowsProcessed() {
+        return this.imported + this.failed;
+    }
+
+    public List<ImportProductsResponse.LineErrors> errorList() {
+        return this.errors == null
+                ? List.of()
+                : Arrays.asList(Json.readValue(this.errors, ImportProductsResponse.LineErrors[].class));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getProcessedBytes() {
+        return processedBytes;
+    }
+
+    public long getProcessedLines() {
+        return processedLines;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Instant getRunStartedAt() {
+        return runStartedAt;
+    }
+
+    public long getRunStartRows() {
+        return runStartRows;
+    }
+
+    public long getRunStartBytes() {
+        return runStartBytes;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.admin.product_management.infrastructure.importjob.persistence;
+
+import com.company.admin.product_management.infrastructure.importjob.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJobJpaEntity, String> {
+
+    List<ImportJobJpaEntity> findAllByStatusInOrderByCreatedAt(Collection<ImportJobStatus> statuses);
+}
@@ -0,0 +1,48 @@
+package com.company.admin.product_management.infrastructure.importjob.presenters;
+
+import com.company.admin.product_management.infrastructure.importjob.ImportJobStatus;
+import com.company.admin.product_management.infrastructure.importjob.models.ImportJobResponse;
+import com.company.admin.product_management.infrastructure.importjob.persistence.ImportJobJpaEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public interface ImportJobApiPresenter {
+
+    //rate and ETA only look at the current run, the ETA follows the bytes left since lines are not known before the end
+    static ImportJobResponse present(final ImportJobJpaEntity job, final Instant now) {
+        Double rowsPerSecond = null;
+        Long etaSeconds = null;
+
+        if (job.getRunStartedAt() != null) {
+            final var end = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+            final var seconds = Math.max(1, Duration.between(job.getRunStartedAt(), end).toMillis()) / 1_000d;
+            rowsPerSecond = (job.rowsProcessed() - job.getRunStartRows()) / seconds;
+
+            final var bytesPerSecond = (job.getProcessedBytes() - job.getRunStartBytes()) / seconds;
+            if (job.getStatus() == ImportJobStatus.COMPLETED) {
+                etaSeconds = 0L;
+            } else if (job.getStatus() == ImportJobStatus.RUNNING && bytesPerSecond > 0) {
+                etaSeconds = (long) Math.ceil((job.getTotalBytes() - job.getProcessedBytes()) / bytesPerSecond);
+            }
+        }
+
+        return new ImportJobResponse(
+                job.getId(),
+                job.getStatus().name().toLowerCase(),
+                job.getFormat().toLowerCase(),
+                job.rowsProcessed(),
+                job.getImported(),
+                job.getFailed(),
+                rowsPerSecond,
+                etaSeconds,
+                job.getProcessedBytes(),
+                job.getTotalBytes(),
+                job.errorList(),
+                job.getMessage(),
+                job.getCreatedAt(),
+                job.getRunStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.application.product.retrieve.list.ListProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.infrastructure.configuration.datasource.DataSourceRoute;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public class CachingListProductsUseCase extends ListProductsUseCase {
+
+    private final ListProductsUseCase delegate;
+    private final ProductGateway productGateway;
+    private final Cache<String, Pagination<ProductListOutput>> pages;
+
+    public CachingListProductsUseCase(
+            final ListProductsUseCase delegate,
+            final ProductGateway productGateway,
+            final long maximumSize,
+            final Duration timeToLive
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.productGateway = Objects.requireNonNull(productGateway);
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Objects.requireNonNull(timeToLive))
+                .build();
+    }
+
+    //every write bumps the catalog version, so pages of older versions are never looked up again and just age out;
+    //it is read before the query, a page is never stored under a version newer than its rows. replicas are taken
+    //in turn per connection, the version and the rows may come from different ones, so only primary reads fill it
+    @Override
+    public Pagination<ProductListOutput> execute(final ProductSearchQuery aQuery) {
+        if (DataSourceRoute.isPinnedToPrimary()) {
+            return this.delegate.execute(aQuery);
+        }
+
+        final var key = this.productGateway.catalogVersion() + "|" + aQuery.key();
+        if (DataSourceRoute.isReplica()) {
+            final var cached = this.pages.getIfPresent(key);
+            return cached != null ? cached : this.delegate.execute(aQuery);
+        }
+        return this.pages.get(key, k -> this.delegate.execute(aQuery));
+    }
+}
@@ -0,0 +1,150 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.product.ProductRevision;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.infrastructure.configuration.datasource.DataSourceRoute;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+//read-through cache of findByCode in front of another gateway, writes go to the delegate and then drop the cached codes
+public class CachingProductGateway implements ProductGateway {
+
+    private final ProductGateway delegate;
+    private final Cache<Long, Product> products;
+
+    public CachingProductGateway(
+            final ProductGateway delegate,
+            final long maximumSize,
+            final Duration timeToLive
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        //size-bounded caffeine caches evict with W-TinyLFU, so a burst of one-off reads does not push out the hot products
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Objects.requireNonNull(timeToLive))
+                .recordStats()
+                .build();
+    }
+
+    public CachingProductGateway bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.products, "products");
+        return this;
+    }
+
+    public CacheStats stats() {
+        return this.products.stats();
+    }
+
+    @Override
+    public Product create(final Product aProduct) {
+        return this.delegate.create(aProduct);
+    }
+
+    @Override
+    public List<Product> createAll(final List<Product> aProducts) {
+        return this.delegate.createAll(aProducts);
+    }
+
+    @Override
+    public void deleteByCode(final Long code) {
+        this.delegate.deleteByCode(code);
+        this.products.invalidate(code);
+    }
+
+    @Override
+    public long deleteAllByCodes(final List<Long> codes) {
+        final var deleted = this.delegate.deleteAllByCodes(codes);
+        this.products.invalidateAll(codes);
+        return deleted;
+    }
+
+    //Product is mutable, so the cache keeps its own copy and every caller gets a fresh one;
+    //only reads from the primary fill it, a replica may still hold a version older than the last write
+    @Override
+    public Optional<Product> findByCode(final Long anCode) {
+        if (DataSourceRoute.isPinnedToPrimary()) {
+            return this.delegate.findByCode(anCode);
+        }
+        if (DataSourceRoute.isReplica()) {
+            final var cached = this.products.getIfPresent(anCode);
+            return cached != null ? Optional.of(Product.with(cached)) : this.delegate.findByCode(anCode);
+        }
+
+        final var cached = this.products.get(anCode, code -> this.delegate.findByCode(code).orElse(null));
+        return Optional.ofNullable(cached).map(Product::with);
+    }
+
+    @Override
+    public Optional<Product> findById(final ProductID anId) {
+        return this.delegate.findById(anId);
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionByCode(final Long aCode) {
+        if (DataSourceRoute.isPinnedToPrimary()) {
+            return this.delegate.findRevisionByCode(aCode);
+        }
+
+        final var cached = this.products.getIfPresent(aCode);
+        if (cached != null) {
+            return Optional.of(new ProductRevision(cached.getCode(), cached.getVersion(), cached.getUpdatedAt()));
+        }
+        return this.delegate.findRevisionByCode(aCode);
+    }
+
+    @Override
+    public List<Product> findAllByCodes(final List<Long> codes) {
+        return this.delegate.findAllByCodes(codes);
+    }
+
+    @Override
+    public Product update(final Product aProduct) {
+        try {
+            return this.delegate.update(aProduct);
+        } finally {
+            this.products.invalidate(aProduct.getCode());
+        }
+    }
+
+    @Override
+    public List<Product> updateAll(final List<Product> aProducts) {
+        try {
+            return this.delegate.updateAll(aProducts);
+        } finally {
+            this.products.invalidateAll(aProducts.stream().map(Product::getCode).toList());
+        }
+    }
+
+    @Override
+    public Pagination<Product> findAll(final ProductSearchQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public long count(final ProductSearchQuery aQuery) {
+        return this.delegate.count(aQuery);
+    }
+
+    @Override
+    public long streamAll(final Consumer<Product> aConsumer) {
+        return this.delegate.streamAll(aConsumer);
+    }
+
+    @Override
+    public long catalogVersion() {
+        return this.delegate.catalogVersion();
+    }
+}
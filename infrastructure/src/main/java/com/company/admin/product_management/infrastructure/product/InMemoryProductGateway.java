@@ -0,0 +1,714 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.product.ProductRevision;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.infrastructure.product.search.ProductSearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+//the whole catalog answered from memory, MySQL only receives the writes, coalesced per code and sent in batches;
+//this node must be the only writer, rows changed by anyone else after the load are never seen.
+//products are mutable, so every product handed out is a copy and the stored ones only change through write()
+@Service
+@Profile("in-memory")
+public class InMemoryProductGateway implements ProductGateway, SmartInitializingSingleton, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryProductGateway.class);
+    private static final String RELEVANCE = "relevance";
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+    private static final int WRITE_STRIPES = 64;
+    private static final int LOAD_SLICES_PER_THREAD = 4;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCodeBlocks codeBlocks;
+    private final int estimateCap;
+    private final ProductSearchIndex searchIndex;
+    private final int batchSize;
+    private final int loadThreads;
+    private final ScheduledExecutorService writeBehind;
+    //this node is the only writer so the version lives here, in the high bits the generation taken from catalog_versions
+    //at each load, so a restarted node never hands out a version it used before
+    private final ProductCatalogVersion catalogGeneration;
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    //readers never lock, writers of the same code take the same stripe
+    private final ConcurrentSkipListMap<Long, Product> byCode = new ConcurrentSkipListMap<>();
+    private final Map<ProductSortField, ConcurrentSkipListMap<SortKey, Product>> bySortKey = new EnumMap<>(ProductSortField.class);
+    private final ReentrantLock[] writeLocks = new ReentrantLock[WRITE_STRIPES];
+
+    //latest state of every code written since the last flush, so a row changed many times is persisted once
+    private final ConcurrentHashMap<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    //rows the database rejected on their own, kept out of the flushes until a newer write for the code replaces them
+    private final ConcurrentHashMap<Long, PendingWrite> setAside = new ConcurrentHashMap<>();
+    private final AtomicLong flushFailures = new AtomicLong();
+
+    public InMemoryProductGateway(
+            final NamedParameterJdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            @Value("${product.search.estimate-cap:1000}") final int estimateCap,
+            final Optional<ProductSearchIndex> searchIndex,
+            @Value("${product.memory.flush-interval:200ms}") final Duration flushInterval,
+            @Value("${product.memory.batch-size:1000}") final int batchSize,
+            @Value("${product.memory.load-threads:4}") final int loadThreads
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+        this.codeBlocks = new ProductCodeBlocks(jdbcTemplate, transactionManager);
+        this.catalogGeneration = new ProductCatalogVersion(jdbcTemplate);
+        this.estimateCap = estimateCap;
+        this.searchIndex = Objects.requireNonNull(searchIndex).orElse(null);
+        this.batchSize = batchSize;
+        this.loadThreads = loadThreads;
+
+        for (final var field : ProductSortField.values()) {
+            if (field != ProductSortField.CODE) {
+                this.bySortKey.put(field, new ConcurrentSkipListMap<>());
+            }
+        }
+        for (var i = 0; i < WRITE_STRIPES; i++) {
+            this.writeLocks[i] = new ReentrantLock();
+        }
+
+        this.writeBehind = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "product-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writeBehind.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    //the code range is cut in slices read in parallel, each one a range scan on the primary key
+    public void load() {
+        final long generation = Objects.requireNonNull(this.transactionTemplate.execute(status -> {
+            this.catalogGeneration.bump();
+            return this.catalogGeneration.current();
+        }));
+        this.catalogVersion.set(generation << 32);
+
+        final var range = this.jdbcTemplate.queryForMap("SELECT MIN(code) AS first, MAX(code) AS last FROM products", Map.of());
+        if (range.get("first") == null) {
+            return;
+        }
+
+        final var first = ((Number) range.get("first")).longValue();
+        final var last = ((Number) range.get("last")).longValue();
+        final var width = (last - first) / ((long) this.loadThreads * LOAD_SLICES_PER_THREAD) + 1;
+
+        final var slices = new ArrayList<Callable<Void>>();
+        for (var from = first; from <= last; from += width) {
+            final var slice = Map.of("from", from, "to", Math.min(last, from + width - 1));
+            slices.add(() -> {
+                this.jdbcTemplate.query(
+                        "SELECT " + ProductSql.COLUMNS + " FROM products WHERE code BETWEEN :from AND :to",
+                        slice,
+                        (RowCallbackHandler) rs -> write(ProductSql.PRODUCT.mapRow(rs, 0), false)
+                );
+                return null;
+            });
+        }
+
+        final var threads = new AtomicInteger();
+        final var loader = Executors.newFixedThreadPool(this.loadThreads, runnable -> {
+            final var thread = new Thread(runnable, "product-load-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (final var loaded : loader.invokeAll(slices)) {
+                loaded.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("the catalog load was interrupted", ex);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException("could not load the catalog", ex.getCause());
+        } finally {
+            loader.shutdownNow();
+        }
+    }
+
+    @Override
+    public Product create(final Product aProduct) {
+        return createAll(List.of(aProduct)).get(0);
+    }
+
+    @Override
+    public List<Product> createAll(final List<Product> aProducts) {
+        if (aProducts.isEmpty()) {
+            return List.of();
+        }
+
+        final var codes = this.codeBlocks.next(aProducts.size());
+        final var created = new ArrayList<Product>(aProducts.size());
+        for (var i = 0; i < aProducts.size(); i++) {
+            final var aProduct = aProducts.get(i);
+            final var product = copy(aProduct, codes.get(i), aProduct.getVersion(), aProduct);
+            write(product, true);
+            created.add(product);
+        }
+
+        if (this.searchIndex != null) {
+            created.forEach(this.searchIndex::put);
+        }
+        this.catalogVersion.incrementAndGet();
+        requestFlush();
+        return detached(created);
+    }
+
+    @Override
+    public void deleteByCode(final Long code) {
+        deleteAllByCodes(List.of(code));
+    }
+
+    @Override
+    public long deleteAllByCodes(final List<Long> codes) {
+        var deleted = 0L;
+        for (final var code : codes) {
+            final var lock = writeLock(code);
+            lock.lock();
+            try {
+                if (remove(code) != null) {
+                    enqueue(PendingWrite.delete(code));
+                    deleted++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (this.searchIndex != null) {
+            codes.forEach(this.searchIndex::remove);
+        }
+        if (deleted > 0) {
+            this.catalogVersion.incrementAndGet();
+            requestFlush();
+        }
+        return deleted;
+    }
+
+    @Override
+    public Optional<Product> findByCode(final Long anCode) {
+        return Optional.ofNullable(this.byCode.get(anCode)).map(Product::with);
+    }
+
+    //the id sort index already holds every product by id, the entries of one id sit between the lowest and highest code
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Product> findById(final ProductID anId) {
+        final var value = (Comparable<Object>) (Comparable<?>) anId;
+        return current(this.bySortKey.get(ProductSortField.ID)
+                .subMap(new SortKey(value, Long.MIN_VALUE), true, new SortKey(value, Long.MAX_VALUE), true))
+                .findFirst()
+                .map(Product::with);
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionByCode(final Long aCode) {
+        return Optional.ofNullable(this.byCode.get(aCode))
+                .map(aProduct -> new ProductRevision(aProduct.getCode(), aProduct.getVersion(), aProduct.getUpdatedAt()));
+    }
+
+    @Override
+    public List<Product> findAllByCodes(final List<Long> codes) {
+        return codes.stream()
+                .map(this.byCode::get)
+                .filter(Objects::nonNull)
+                .map(Product::with)
+                .toList();
+    }
+
+    //the version is checked against the product in memory, the row only follows later
+    @Override
+    public Product update(final Product aProduct) {
+        final var updated = updateIfVersion(aProduct);
+        if (updated == null) {
+            if (this.byCode.containsKey(aProduct.getCode())) {
+                throw ConflictException.with(Product.class, aProduct.getCode());
+            }
+            throw NotFoundException.with(Product.class, aProduct.getCode());
+        }
+
+        if (this.searchIndex != null) {
+            this.searchIndex.put(updated);
+        }
+        this.catalogVersion.incrementAndGet();
+        requestFlush();
+        return Product.with(updated);
+    }
+
+    @Override
+    public List<Product> updateAll(final List<Product> aProducts) {
+        final var updated = aProducts.stream()
+                .map(this::updateIfVersion)
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (this.searchIndex != null) {
+            updated.forEach(this.searchIndex::put);
+        }
+        if (!updated.isEmpty()) {
+            this.catalogVersion.incrementAndGet();
+            requestFlush();
+        }
+        return detached(updated);
+    }
+
+    //bumped once a write has returned, callers read it before querying so a response is never tagged newer than its rows
+    @Override
+    public long catalogVersion() {
+        return this.catalogVersion.get();
+    }
+
+    //LIKE semantics on the same four fields, there is no FULLTEXT in memory so relevance falls back to code order
+    @Override
+    public Pagination<Product> findAll(final ProductSearchQuery aQuery) {
+        if (ProductIndexPage.answers(this.searchIndex, aQuery)) {
+            final var page = ProductIndexPage.of(this.searchIndex, aQuery);
+            return page.toPagination(aQuery, findAllByCodes(page.codes()).stream()
+                    .collect(Collectors.toMap(Product::getCode, Function.identity())));
+        }
+
+        final var sortField = RELEVANCE.equals(aQuery.sort()) ? ProductSortField.CODE : ProductSortField.of(aQuery.sort());
+        final var direction = Sort.Direction.fromString(aQuery.direction());
+        final var matches = matches(aQuery.terms());
+
+        final var candidates = aQuery.isKeyset() ? after(aQuery, sortField, direction) : ordered(sortField, direction);
+        final var offset = aQuery.isKeyset() ? 0 : aQuery.page() * aQuery.perPage();
+
+        //one extra row tells whether there is a next page without counting
+        final var rows = candidates
+                .filter(matches)
+                .distinct()
+                .skip(offset)
+                .limit(aQuery.perPage() + 1L)
+                .toList();
+        final var hasNext = rows.size() > aQuery.perPage();
+        final var items = rows.stream()
+                .limit(aQuery.perPage())
+                .map(Product::with)
+                .toList();
+
+        return new Pagination<>(
+                aQuery.page(),
+                aQuery.perPage(),
+                (int) count(matches, hasTerms(aQuery), aQuery.count()),
+                items,
+                hasNext,
+                hasNext ? nextCursor(items.get(items.size() - 1), sortField, direction) : null
+        );
+    }
+
+    @Override
+    public long count(final ProductSearchQuery aQuery) {
+        if (this.searchIndex != null && hasTerms(aQuery) && aQuery.count() != CountMode.NONE) {
+            return this.searchIndex.search(aQuery.terms()).length;
+        }
+        return count(matches(aQuery.terms()), hasTerms(aQuery), aQuery.count());
+    }
+
+    @Override
+    public long streamAll(final Consumer<Product> aConsumer) {
+        var streamed = 0L;
+        for (final var aProduct : this.byCode.values()) {
+            aConsumer.accept(Product.with(aProduct));
+            streamed++;
+        }
+        return streamed;
+    }
+
+    //drains the pending writes in batches; a batch the database rejects is retried row by row, the rows that still fail
+    //are set aside and the others stored. when the database itself fails the rows go back pending and this throws
+    public void flush() {
+        this.flushLock.lock();
+        try {
+            while (!this.pending.isEmpty()) {
+                final var batch = new ArrayList<PendingWrite>(this.batchSize);
+                for (final var code : this.pending.keySet()) {
+                    final var write = this.pending.remove(code);
+                    if (write != null) {
+                        batch.add(write);
+                    }
+                    if (batch.size() == this.batchSize) {
+                        break;
+                    }
+                }
+                persistOrSplit(batch);
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    public int pendingWrites() {
+        return this.pending.size();
+    }
+
+    public int setAsideWrites() {
+        return this.setAside.size();
+    }
+
+    public long flushFailures() {
+        return this.flushFailures.get();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("products.write_behind.pending", this.pending, Map::size).register(registry);
+        Gauge.builder("products.write_behind.set_aside", this.setAside, Map::size).register(registry);
+        FunctionCounter.builder("products.write_behind.failures", this.flushFailures, AtomicLong::get).register(registry);
+    }
+
+    //the scheduled runs stop first, then what is still pending gets a few more attempts before the rows are reported lost
+    @PreDestroy
+    public void shutdown() {
+        this.writeBehind.shutdown();
+        try {
+            this.writeBehind.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (var attempt = 1; attempt <= SHUTDOWN_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                flush();
+                break;
+            } catch (final RuntimeException ex) {
+                log.warn("write-behind flush {} of {} on shutdown failed", attempt, SHUTDOWN_FLUSH_ATTEMPTS, ex);
+            }
+        }
+        if (!this.pending.isEmpty()) {
+            log.error("{} product writes were not stored before shutdown, codes {}", this.pending.size(), this.pending.keySet());
+        }
+        if (!this.setAside.isEmpty()) {
+            log.error("{} product writes were rejected by the database and never stored, codes {}", this.setAside.size(), this.setAside.keySet());
+        }
+    }
+
+    private void persistOrSplit(final List<PendingWrite> batch) {
+        try {
+            persist(batch);
+            return;
+        } catch (final RuntimeException ex) {
+            this.flushFailures.incrementAndGet();
+            if (!rejectsRows(ex)) {
+                requeue(batch);
+                throw ex;
+            }
+            log.warn("write-behind batch of {} products was rejected, retrying them one by one", batch.size(), ex);
+        }
+
+        for (var i = 0; i < batch.size(); i++) {
+            final var write = batch.get(i);
+            try {
+                persist(List.of(write));
+            } catch (final RuntimeException ex) {
+                this.flushFailures.incrementAndGet();
+                if (!rejectsRows(ex)) {
+                    requeue(batch.subList(i, batch.size()));
+                    throw ex;
+                }
+                //a newer write for the code is already pending and will be tried on its own
+                if (!this.pending.containsKey(write.code())) {
+                    this.setAside.put(write.code(), write);
+                }
+                log.error("write-behind of product {} was rejected and set aside", write.code(), ex);
+            }
+        }
+    }
+
+    //the database refused these rows, as opposed to being unreachable or failing as a whole
+    private static boolean rejectsRows(final RuntimeException ex) {
+        return ex instanceof NonTransientDataAccessException && !(ex instanceof NonTransientDataAccessResourceException);
+    }
+
+    //a write goes back unless a newer one for the code took its place
+    private void requeue(final List<PendingWrite> writes) {
+        writes.forEach(write -> this.pending.putIfAbsent(write.code(), write));
+    }
+
+    //each row is written whole, the stored one is removed and the latest state inserted, so no vendor upsert is needed
+    private void persist(final List<PendingWrite> batch) {
+        final var codes = batch.stream()
+                .map(PendingWrite::code)
+                .toList();
+        final var rows = batch.stream()
+                .filter(write -> write.product() != null)
+                .map(write -> ProductSql.parameters(write.product()))
+                .toArray(SqlParameterSource[]::new);
+
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.jdbcTemplate.update("DELETE FROM products WHERE code IN (:codes)", Map.of("codes", codes));
+            if (rows.length > 0) {
+                this.jdbcTemplate.batchUpdate(ProductSql.INSERT, rows);
+            }
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (final RuntimeException ex) {
+            log.warn("write-behind flush failed, {} product writes stay pending for the next run", this.pending.size(), ex);
+        }
+    }
+
+    //a full batch is sent right away instead of waiting for the next run, once shut down the final flush takes it
+    private void requestFlush() {
+        if (this.pending.size() >= this.batchSize && this.flushRequested.compareAndSet(false, true)) {
+            try {
+                this.writeBehind.execute(() -> {
+                    this.flushRequested.set(false);
+                    flushQuietly();
+                });
+            } catch (final RejectedExecutionException ex) {
+                this.flushRequested.set(false);
+            }
+        }
+    }
+
+    private void enqueue(final PendingWrite aWrite) {
+        this.pending.put(aWrite.code(), aWrite);
+        this.setAside.remove(aWrite.code());
+    }
+
+    private Product updateIfVersion(final Product aProduct) {
+        final var lock = writeLock(aProduct.getCode());
+        lock.lock();
+        try {
+            final var current = this.byCode.get(aProduct.getCode());
+            if (current == null || current.getVersion() != aProduct.getVersion()) {
+                return null;
+            }
+            //id and creation time stay as stored, the same columns the SQL update leaves alone
+            final var updated = copy(aProduct, current.getCode(), current.getVersion() + 1, current);
+            write(updated, true);
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //the new sort keys go in before the product is swapped and the old ones leave after, so a reader always finds it
+    private void write(final Product aProduct, final boolean persist) {
+        final var lock = writeLock(aProduct.getCode());
+        lock.lock();
+        try {
+            final var previous = this.byCode.get(aProduct.getCode());
+            this.bySortKey.forEach((field, index) -> index.put(SortKey.of(field, aProduct), aProduct));
+            this.byCode.put(aProduct.getCode(), aProduct);
+            if (previous != null) {
+                unindex(previous, aProduct);
+            }
+            if (persist) {
+                enqueue(PendingWrite.upsert(aProduct));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Product remove(final Long aCode) {
+        final var previous = this.byCode.remove(aCode);
+        if (previous != null) {
+            unindex(previous, null);
+        }
+        return previous;
+    }
+
+    private void unindex(final Product previous, final Product current) {
+        this.bySortKey.forEach((field, index) -> {
+            final var key = SortKey.of(field, previous);
+            if (current == null || !key.equals(SortKey.of(field, current))) {
+                index.remove(key, previous);
+            }
+        });
+    }
+
+    private ReentrantLock writeLock(final Long aCode) {
+        return this.writeLocks[Math.floorMod(aCode.hashCode(), WRITE_STRIPES)];
+    }
+
+    private Stream<Product> ordered(final ProductSortField sortField, final Sort.Direction direction) {
+        if (sortField == ProductSortField.CODE) {
+            return (direction.isAscending() ? this.byCode : this.byCode.descendingMap()).values().stream();
+        }
+        final var index = this.bySortKey.get(sortField);
+        return current(direction.isAscending() ? index : index.descendingMap());
+    }
+
+    //same keyset rules as the SQL gateways, nulls first on asc and last on desc
+    private Stream<Product> after(
+            final ProductSearchQuery aQuery,
+            final ProductSortField sortField,
+            final Sort.Direction direction
+    ) {
+        final var cursor = ProductCursor.decode(aQuery.after());
+        if (!cursor.matches(sortField.property(), direction.name())) {
+            throw DomainException.with(new Error("'after' cursor does not match the requested sort"));
+        }
+
+        if (sortField == ProductSortField.CODE) {
+            return (direction.isAscending()
+                    ? this.byCode.tailMap(cursor.code(), false)
+                    : this.byCode.headMap(cursor.code(), false).descendingMap()).values().stream();
+        }
+
+        @SuppressWarnings("unchecked")
+        final var key = new SortKey((Comparable<Object>) sortField.parse(cursor.value()), cursor.code());
+        final var index = this.bySortKey.get(sortField);
+        return current(direction.isAscending() ? index.tailMap(key, false) : index.headMap(key, false).descendingMap());
+    }
+
+    //an entry left behind by a concurrent write is skipped, only the product currently stored under the code counts
+    private Stream<Product> current(final Map<SortKey, Product> index) {
+        return index.entrySet().stream()
+                .filter(entry -> this.byCode.get(entry.getKey().code()) == entry.getValue())
+                .map(Map.Entry::getValue);
+    }
+
+    private long count(final Predicate<Product> matches, final boolean hasTerms, final CountMode aMode) {
+        return switch (aMode) {
+            case EXACT -> hasTerms ? this.byCode.values().stream().filter(matches).count() : this.byCode.size();
+            case ESTIMATE -> hasTerms
+                    ? this.byCode.values().stream().filter(matches).limit(this.estimateCap).count()
+                    : Math.min(this.byCode.size(), this.estimateCap);
+            case NONE -> Pagination.UNKNOWN_TOTAL;
+        };
+    }
+
+    private static boolean hasTerms(final ProductSearchQuery aQuery) {
+        return aQuery.terms() != null && !aQuery.terms().isBlank();
+    }
+
+    private static Predicate<Product> matches(final String terms) {
+        if (terms == null || terms.isBlank()) {
+            return aProduct -> true;
+        }
+        final var upper = terms.toUpperCase();
+        return aProduct -> contains(aProduct.getDescription(), upper)
+                || contains(aProduct.getSupplierCode(), upper)
+                || contains(aProduct.getSupplierDescription(), upper)
+                || contains(aProduct.getSupplierCNPJ(), upper);
+    }
+
+    private static boolean contains(final String value, final String upperTerms) {
+        return value != null && value.toUpperCase().contains(upperTerms);
+    }
+
+    private static String nextCursor(final Product last, final ProductSortField sortField, final Sort.Direction direction) {
+        return new ProductCursor(sortField.property(), direction.name(), last.getCode(), sortField.valueOf(last)).encode();
+    }
+
+    private static List<Product> detached(final List<Product> aProducts) {
+        return aProducts.stream()
+                .map(Product::with)
+                .toList();
+    }
+
+    private static Product copy(final Product aProduct, final Long aCode, final long aVersion, final Product stored) {
+        return Product.with(
+                aVersion,
+                stored.getId(),
+                aCode,
+                aProduct.getDescription(),
+                aProduct.getFabricatedAt(),
+                aProduct.getExpiredAt(),
+                aProduct.getSupplierCode(),
+                aProduct.getSupplierDescription(),
+                aProduct.getSupplierCNPJ(),
+                aProduct.isActive(),
+                stored.getCreatedAt(),
+                aProduct.getUpdatedAt(),
+                aProduct.getDeletedAt()
+        );
+    }
+
+    //a sort column value and the code breaking its ties, nulls first like MySQL orders them
+    private record SortKey(Comparable<Object> value, long code) implements Comparable<SortKey> {
+
+        private static final Comparator<SortKey> ORDER = Comparator
+                .comparing(SortKey::value, Comparator.nullsFirst(Comparator.<Comparable<Object>>naturalOrder()))
+                .thenComparingLong(SortKey::code);
+
+        private static SortKey of(final ProductSortField field, final Product aProduct) {
+            return new SortKey(field.key(aProduct), aProduct.getCode());
+        }
+
+        @Override
+        public int compareTo(final SortKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    //a null product stands for a delete
+    private record PendingWrite(Long code, Product product) {
+
+        private static PendingWrite upsert(final Product aProduct) {
+            return new PendingWrite(aProduct.getCode(), aProduct);
+        }
+
+        private static PendingWrite delete(final Long aCode) {
+            return new PendingWrite(aCode, null);
+        }
+    }
+}
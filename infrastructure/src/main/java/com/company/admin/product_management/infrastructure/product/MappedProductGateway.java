@@ -0,0 +1,178 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.product.ProductRevision;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.infrastructure.configuration.datasource.DataSourceRoute;
+import com.company.admin.product_management.infrastructure.product.store.MappedProductStore;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+//reads by code served from the memory-mapped store and loaded from the delegate on a miss, the codes being written
+//are evicted before the delegate runs so a crash in between leaves a miss and never an old product
+public class MappedProductGateway implements ProductGateway {
+
+    private final ProductGateway delegate;
+    private final MappedProductStore store;
+
+    public MappedProductGateway(final ProductGateway delegate, final MappedProductStore store) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.store = Objects.requireNonNull(store);
+    }
+
+    @Override
+    public Product create(final Product aProduct) {
+        final var created = this.delegate.create(aProduct);
+        this.store.put(created);
+        return created;
+    }
+
+    @Override
+    public List<Product> createAll(final List<Product> aProducts) {
+        final var created = this.delegate.createAll(aProducts);
+        this.store.putAll(created);
+        return created;
+    }
+
+    @Override
+    public void deleteByCode(final Long code) {
+        this.store.removeAll(List.of(code));
+        try {
+            this.delegate.deleteByCode(code);
+        } catch (final RuntimeException ex) {
+            this.store.forgetAll(List.of(code));
+            throw ex;
+        }
+    }
+
+    @Override
+    public long deleteAllByCodes(final List<Long> codes) {
+        this.store.removeAll(codes);
+        try {
+            return this.delegate.deleteAllByCodes(codes);
+        } catch (final RuntimeException ex) {
+            this.store.forgetAll(codes);
+            throw ex;
+        }
+    }
+
+    //only reads from the primary are stored, a replica may still hold a version older than the last write
+    @Override
+    public Optional<Product> findByCode(final Long anCode) {
+        if (DataSourceRoute.isPinnedToPrimary()) {
+            return this.delegate.findByCode(anCode);
+        }
+
+        final var stored = this.store.get(anCode);
+        if (stored.isPresent()) {
+            return stored;
+        }
+
+        final var loaded = this.delegate.findByCode(anCode);
+        if (!DataSourceRoute.isReplica()) {
+            loaded.ifPresent(this.store::put);
+        }
+        return loaded;
+    }
+
+    @Override
+    public Optional<Product> findById(final ProductID anId) {
+        return this.delegate.findById(anId);
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionByCode(final Long aCode) {
+        if (DataSourceRoute.isPinnedToPrimary()) {
+            return this.delegate.findRevisionByCode(aCode);
+        }
+
+        final var stored = this.store.get(aCode);
+        if (stored.isPresent()) {
+            final var aProduct = stored.get();
+            return Optional.of(new ProductRevision(aProduct.getCode(), aProduct.getVersion(), aProduct.getUpdatedAt()));
+        }
+        return this.delegate.findRevisionByCode(aCode);
+    }
+
+    @Override
+    public List<Product> findAllByCodes(final List<Long> codes) {
+        if (DataSourceRoute.isPinnedToPrimary()) {
+            return this.delegate.findAllByCodes(codes);
+        }
+
+        final var products = new ArrayList<Product>(codes.size());
+        final var missing = new ArrayList<Long>();
+        for (final var code : codes) {
+            this.store.get(code).ifPresentOrElse(products::add, () -> missing.add(code));
+        }
+
+        if (!missing.isEmpty()) {
+            final var loaded = this.delegate.findAllByCodes(missing);
+            if (!DataSourceRoute.isReplica()) {
+                this.store.putAll(loaded);
+            }
+            products.addAll(loaded);
+        }
+        return products;
+    }
+
+    @Override
+    public Product update(final Product aProduct) {
+        this.store.evictAll(List.of(aProduct));
+        try {
+            final var updated = this.delegate.update(aProduct);
+            this.store.put(updated);
+            return updated;
+        } catch (final RuntimeException ex) {
+            this.store.forgetAll(List.of(aProduct.getCode()));
+            throw ex;
+        }
+    }
+
+    //the products the delegate skipped as stale or missing are forgotten, the next read loads them again
+    @Override
+    public List<Product> updateAll(final List<Product> aProducts) {
+        final var codes = aProducts.stream().map(Product::getCode).toList();
+        this.store.evictAll(aProducts);
+        try {
+            final var updated = this.delegate.updateAll(aProducts);
+            this.store.putAll(updated);
+
+            final var skipped = new HashSet<>(codes);
+            updated.forEach(aProduct -> skipped.remove(aProduct.getCode()));
+            this.store.forgetAll(skipped);
+            return updated;
+        } catch (final RuntimeException ex) {
+            this.store.forgetAll(codes);
+            throw ex;
+        }
+    }
+
+    @Override
+    public Pagination<Product> findAll(final ProductSearchQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public long count(final ProductSearchQuery aQuery) {
+        return this.delegate.count(aQuery);
+    }
+
+    @Override
+    public long streamAll(final Consumer<Product> aConsumer) {
+        return this.delegate.streamAll(aConsumer);
+    }
+
+    @Override
+    public long catalogVersion() {
+        return this.delegate.catalogVersion();
+    }
+}
@@ -0,0 +1,31 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Map;
+import java.util.Objects;
+
+//the products row of catalog_versions, shared by every node so a write on one of them changes the listing ETag on all
+final class ProductCatalogVersion {
+
+    static final String BUMP = "UPDATE catalog_versions SET version = version + 1 WHERE catalog_name = :name";
+    static final String NAME = "products";
+
+    private static final Map<String, Object> CATALOG = Map.of("name", NAME);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    ProductCatalogVersion(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    //joins the transaction of the write, readers see the new version and the new rows at the same commit
+    void bump() {
+        this.jdbcTemplate.update(BUMP, CATALOG);
+    }
+
+    long current() {
+        return Objects.requireNonNull(this.jdbcTemplate.queryForObject(
+                "SELECT version FROM catalog_versions WHERE catalog_name = :name", CATALOG, Long.class));
+    }
+}
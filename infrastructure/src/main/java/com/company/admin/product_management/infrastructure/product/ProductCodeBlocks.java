@@ -0,0 +1,69 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.infrastructure.product.persistence.ProductJpaEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+//codes come from the block of product_code_sequences this node reserved, the same table hibernate allocates from
+final class ProductCodeBlocks {
+
+    private static final String CODE_SEQUENCE = "products";
+    private static final int RESERVE_ATTEMPTS = 10;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextCode = 1;
+    private long lastCode = 0;
+
+    ProductCodeBlocks(final NamedParameterJdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.reserveTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+        this.reserveTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    List<Long> next(final int count) {
+        this.lock.lock();
+        try {
+            final var codes = new ArrayList<Long>(count);
+            while (codes.size() < count) {
+                if (this.nextCode > this.lastCode) {
+                    this.lastCode = reserve();
+                    this.nextCode = this.lastCode - ProductJpaEntity.CODE_ALLOCATION_SIZE + 1;
+                }
+                codes.add(this.nextCode++);
+            }
+            return codes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    //compare-and-set on next_val like hibernate's table generator, in its own transaction so the block survives a rollback;
+    //hibernate keeps the last used value in the table, so the block it hands out ends one past the value read
+    private long reserve() {
+        final var name = Map.of("name", CODE_SEQUENCE);
+        for (var attempt = 0; attempt < RESERVE_ATTEMPTS; attempt++) {
+            final var reserved = this.reserveTemplate.execute(status -> {
+                final var value = Objects.requireNonNull(this.jdbcTemplate.queryForObject(
+                        "SELECT next_val FROM product_code_sequences WHERE sequence_name = :name", name, Long.class));
+                final var updated = this.jdbcTemplate.update(
+                        "UPDATE product_code_sequences SET next_val = :next WHERE sequence_name = :name AND next_val = :value",
+                        Map.of("next", value + ProductJpaEntity.CODE_ALLOCATION_SIZE, "name", CODE_SEQUENCE, "value", value));
+                return updated == 1 ? value + 1 : null;
+            });
+            if (reserved != null) {
+                return reserved;
+            }
+        }
+        throw new IllegalStateException("could not reserve a block of product codes");
+    }
+}
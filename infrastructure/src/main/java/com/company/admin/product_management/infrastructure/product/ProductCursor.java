@@ -0,0 +1,44 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.validation.Error;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+record ProductCursor(
+        String sort,
+        String direction,
+        Long code,
+        String value
+) {
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "=";
+
+    public static ProductCursor decode(final String aToken) {
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(aToken), StandardCharsets.UTF_8);
+            final var parts = raw.split(SEPARATOR, 4);
+            final var value = NULL_VALUE.equals(parts[3]) ? null : parts[3].substring(VALUE_PREFIX.length());
+            return new ProductCursor(parts[0], parts[1], Long.valueOf(parts[2]), value);
+        } catch (final RuntimeException ex) {
+            throw DomainException.with(new Error("'after' cursor is invalid"));
+        }
+    }
+
+    public String encode() {
+        final var raw = String.join(
+                SEPARATOR,
+                sort,
+                direction,
+                code.toString(),
+                value != null ? VALUE_PREFIX + value : NULL_VALUE
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean matches(final String aSort, final String aDirection) {
+        return sort.equals(aSort) && direction.equalsIgnoreCase(aDirection);
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.infrastructure.product.search.ProductSearchIndex;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+//codes of one page of search index matches in the requested order, the gateway only loads these rows
+record ProductIndexPage(List<Long> codes, int total, boolean hasNext, boolean byRelevance) {
+
+    private static final String RELEVANCE = "relevance";
+
+    //the index answers searches ordered by code or relevance, other sorts still need the columns and go to the database
+    static boolean answers(final ProductSearchIndex searchIndex, final ProductSearchQuery aQuery) {
+        return searchIndex != null
+                && aQuery.terms() != null
+                && !aQuery.terms().isBlank()
+                && (RELEVANCE.equals(aQuery.sort()) || ProductSortField.of(aQuery.sort()) == ProductSortField.CODE);
+    }
+
+    static ProductIndexPage of(final ProductSearchIndex searchIndex, final ProductSearchQuery aQuery) {
+        final var byRelevance = RELEVANCE.equals(aQuery.sort());
+        final var direction = Sort.Direction.fromString(aQuery.direction());
+        final var matches = searchIndex.search(aQuery.terms());
+
+        if (byRelevance && aQuery.isKeyset()) {
+            throw DomainException.with(new Error("'after' cursor is not supported when sorting by relevance"));
+        }
+
+        final int[] codes;
+        if (byRelevance) {
+            codes = searchIndex.rank(aQuery.terms(), matches);
+        } else if (direction.isDescending()) {
+            codes = reverse(matches);
+        } else {
+            codes = matches;
+        }
+
+        final var from = Math.min(
+                codes.length,
+                aQuery.isKeyset() ? indexAfter(matches, aQuery, direction) : aQuery.page() * aQuery.perPage()
+        );
+        final var to = Math.min(codes.length, from + aQuery.perPage());
+
+        return new ProductIndexPage(
+                Arrays.stream(codes, from, to).mapToObj(Long::valueOf).toList(),
+                aQuery.count() == CountMode.NONE ? Pagination.UNKNOWN_TOTAL : codes.length,
+                to < codes.length,
+                byRelevance
+        );
+    }
+
+    //the loaded rows in the order decided by the index, codes removed since the search are skipped
+    Pagination<Product> toPagination(final ProductSearchQuery aQuery, final Map<Long, Product> rows) {
+        final var items = this.codes.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new Pagination<>(
+                aQuery.page(),
+                aQuery.perPage(),
+                this.total,
+                items,
+                this.hasNext,
+                this.hasNext && !this.byRelevance && !items.isEmpty() ? nextCursor(items, aQuery) : null
+        );
+    }
+
+    private static String nextCursor(final List<Product> items, final ProductSearchQuery aQuery) {
+        final var last = items.get(items.size() - 1);
+        return new ProductCursor(
+                ProductSortField.CODE.property(),
+                Sort.Direction.fromString(aQuery.direction()).name(),
+                last.getCode(),
+                ProductSortField.CODE.valueOf(last)
+        ).encode();
+    }
+
+    //position right after the cursor code, matches being sorted ascending
+    private static int indexAfter(final int[] matches, final ProductSearchQuery aQuery, final Sort.Direction direction) {
+        final var cursor = ProductCursor.decode(aQuery.after());
+        if (!cursor.matches(ProductSortField.CODE.property(), direction.name())) {
+            throw DomainException.with(new Error("'after' cursor does not match the requested sort"));
+        }
+
+        final var code = Math.toIntExact(cursor.code());
+        final var index = Arrays.binarySearch(matches, code);
+        if (direction.isAscending()) {
+            return index >= 0 ? index + 1 : -(index + 1);
+        }
+        return matches.length - (index >= 0 ? index : -(index + 1));
+    }
+
+    private static int[] reverse(final int[] codes) {
+        final var reversed = new int[codes.length];
+        for (var i = 0; i < codes.length; i++) {
+            reversed[i] = codes[codes.length - 1 - i];
+        }
+        return reversed;
+    }
+}
@@ -0,0 +1,356 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.product.ProductRevision;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.infrastructure.product.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//hand-written prepared SQL mapped straight into the aggregate, same tables and semantics as ProductMySQLGateway
+@Service
+@Profile("jdbc")
+public class ProductJdbcGateway implements ProductGateway {
+
+    private static final String RELEVANCE = "relevance";
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+
+    private static final String SELECT = "SELECT " + ProductSql.COLUMNS + " FROM products";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final int estimateCap;
+    private final boolean fullText;
+    private final ProductSearchIndex searchIndex;
+    private final int exportFetchSize;
+    private final ProductCatalogVersion catalogVersion;
+
+    private final ProductCodeBlocks codeBlocks;
+
+    public ProductJdbcGateway(
+            final NamedParameterJdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            @Value("${product.search.estimate-cap:1000}") final int estimateCap,
+            @Value("${product.search.full-text:false}") final boolean fullText,
+            final Optional<ProductSearchIndex> searchIndex,
+            @Value("${product.export.fetch-size:1000}") final int exportFetchSize
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.estimateCap = estimateCap;
+        this.fullText = fullText;
+        this.searchIndex = Objects.requireNonNull(searchIndex).orElse(null);
+        this.exportFetchSize = exportFetchSize;
+        this.codeBlocks = new ProductCodeBlocks(jdbcTemplate, transactionManager);
+        this.catalogVersion = new ProductCatalogVersion(jdbcTemplate);
+    }
+
+    @Override
+    public Product create(final Product aProduct) {
+        return createAll(List.of(aProduct)).get(0);
+    }
+
+    @Override
+    public List<Product> createAll(final List<Product> aProducts) {
+        if (aProducts.isEmpty()) {
+            return List.of();
+        }
+
+        final var codes = this.codeBlocks.next(aProducts.size());
+        final var created = new ArrayList<Product>(aProducts.size());
+        for (var i = 0; i < aProducts.size(); i++) {
+            created.add(copy(aProducts.get(i), codes.get(i), aProducts.get(i).getVersion()));
+        }
+
+        //codes are known before the insert, so every row goes in one JDBC batch
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.jdbcTemplate.batchUpdate(
+                    ProductSql.INSERT,
+                    created.stream().map(ProductSql::parameters).toArray(SqlParameterSource[]::new)
+            );
+            this.catalogVersion.bump();
+        });
+        if (this.searchIndex != null) {
+            created.forEach(this.searchIndex::put);
+        }
+        return created;
+    }
+
+    @Override
+    public void deleteByCode(final Long code) {
+        deleteAllByCodes(List.of(code));
+    }
+
+    @Override
+    public long deleteAllByCodes(final List<Long> codes) {
+        var deleted = 0L;
+        for (var from = 0; from < codes.size(); from += DELETE_CHUNK_SIZE) {
+            final var chunk = codes.subList(from, Math.min(codes.size(), from + DELETE_CHUNK_SIZE));
+            deleted += Objects.requireNonNull(this.transactionTemplate.execute(status -> {
+                final var removed = this.jdbcTemplate.update("DELETE FROM products WHERE code IN (:codes)", Map.of("codes", chunk));
+                if (removed > 0) {
+                    this.catalogVersion.bump();
+                }
+                return removed;
+            }));
+        }
+
+        if (this.searchIndex != null) {
+            codes.forEach(this.searchIndex::remove);
+        }
+        return deleted;
+    }
+
+    @Override
+    public Optional<Product> findByCode(final Long anCode) {
+        return this.jdbcTemplate.query(SELECT + " WHERE code = :code", Map.of("code", anCode), ProductSql.PRODUCT)
+                .stream()
+                .findFirst();
+    }
+
+    //served by uk_products_id
+    @Override
+    public Optional<Product> findById(final ProductID anId) {
+        return this.jdbcTemplate.query(SELECT + " WHERE id = :id", Map.of("id", ProductSql.binary(anId)), ProductSql.PRODUCT)
+                .stream()
+                .findFirst();
+    }
+
+    //covered by the primary key, so revalidation never reads the rest of the row
+    @Override
+    public Optional<ProductRevision> findRevisionByCode(final Long aCode) {
+        return this.jdbcTemplate.query(
+                "SELECT code, version, updated_at FROM products WHERE code = :code",
+                Map.of("code", aCode),
+                (rs, rowNum) -> new ProductRevision(rs.getLong("code"), rs.getLong("version"), ProductSql.instant(rs, "updated_at"))
+        ).stream().findFirst();
+    }
+
+    @Override
+    public List<Product> findAllByCodes(final List<Long> codes) {
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        return this.jdbcTemplate.query(SELECT + " WHERE code IN (:codes)", Map.of("codes", codes), ProductSql.PRODUCT);
+    }
+
+    //single conditional UPDATE, a miss is told apart as a stale version or a removed product with one more lookup
+    @Override
+    public Product update(final Product aProduct) {
+        final int updated = Objects.requireNonNull(this.transactionTemplate.execute(status -> {
+            final var matched = this.jdbcTemplate.update(ProductSql.UPDATE, ProductSql.parameters(aProduct));
+            if (matched > 0) {
+                this.catalogVersion.bump();
+            }
+            return matched;
+        }));
+        if (updated == 0) {
+            if (exists(aProduct.getCode())) {
+                throw ConflictException.with(Product.class, aProduct.getCode());
+            }
+            throw NotFoundException.with(Product.class, aProduct.getCode());
+        }
+
+        final var product = copy(aProduct, aProduct.getCode(), aProduct.getVersion() + 1);
+        if (this.searchIndex != null) {
+            this.searchIndex.put(product);
+        }
+        return product;
+    }
+
+    @Override
+    public List<Product> updateAll(final List<Product> aProducts) {
+        if (aProducts.isEmpty()) {
+            return List.of();
+        }
+
+        final var counts = Objects.requireNonNull(this.transactionTemplate.execute(status -> {
+            final var matched = this.jdbcTemplate.batchUpdate(
+                    ProductSql.UPDATE,
+                    aProducts.stream().map(ProductSql::parameters).toArray(SqlParameterSource[]::new)
+            );
+            if (Arrays.stream(matched).anyMatch(count -> count != 0)) {
+                this.catalogVersion.bump();
+            }
+            return matched;
+        }));
+
+        final var updated = new ArrayList<Product>(aProducts.size());
+        for (var i = 0; i < aProducts.size(); i++) {
+            //drivers may answer SUCCESS_NO_INFO (-2) for rewritten batches, only 0 means no row matched
+            if (counts[i] != 0) {
+                final var aProduct = aProducts.get(i);
+                updated.add(copy(aProduct, aProduct.getCode(), aProduct.getVersion() + 1));
+            }
+        }
+        if (this.searchIndex != null) {
+            updated.forEach(this.searchIndex::put);
+        }
+        return updated;
+    }
+
+    //bumped in the transaction of every write, callers read it before querying so a response is never tagged newer than its rows
+    @Override
+    public long catalogVersion() {
+        return this.catalogVersion.current();
+    }
+
+    @Override
+    public Pagination<Product> findAll(final ProductSearchQuery aQuery) {
+        if (ProductIndexPage.answers(this.searchIndex, aQuery)) {
+            return findAllIndexed(aQuery);
+        }
+
+        final var fullText = isFullText(aQuery.terms());
+        final var byRelevance = RELEVANCE.equals(aQuery.sort()) && fullText;
+        final var sortField = RELEVANCE.equals(aQuery.sort()) ? ProductSortField.CODE : ProductSortField.of(aQuery.sort());
+        final var direction = Sort.Direction.fromString(aQuery.direction());
+
+        if (byRelevance && aQuery.isKeyset()) {
+            throw DomainException.with(new Error("'after' cursor is not supported when sorting by relevance"));
+        }
+
+        final var bindings = new HashMap<String, Object>();
+        final var countWhere = ProductSql.where(aQuery.terms(), fullText, bindings);
+        final var countBindings = new HashMap<>(bindings);
+
+        var where = countWhere;
+        if (aQuery.isKeyset()) {
+            where += (where.isEmpty() ? " WHERE " : " AND ") + ProductSql.after(aQuery, sortField, direction, bindings);
+        }
+        final var orderBy = byRelevance
+                ? " ORDER BY " + ProductSql.RELEVANCE + " DESC, code ASC"
+                : ProductSql.orderBy(sortField, direction);
+        final var offset = aQuery.isKeyset() ? 0 : aQuery.page() * aQuery.perPage();
+
+        //one extra row tells whether there is a next page without counting
+        final var rows = this.jdbcTemplate.query(
+                SELECT + where + orderBy + " LIMIT " + (aQuery.perPage() + 1) + " OFFSET " + offset,
+                bindings,
+                ProductSql.PRODUCT
+        );
+        final var hasNext = rows.size() > aQuery.perPage();
+        final var items = rows.stream()
+                .limit(aQuery.perPage())
+                .toList();
+
+        return new Pagination<>(
+                aQuery.page(),
+                aQuery.perPage(),
+                (int) count(countWhere, countBindings, aQuery.count()),
+                items,
+                hasNext,
+                hasNext && !byRelevance ? nextCursor(items.get(items.size() - 1), sortField, direction) : null
+        );
+    }
+
+    @Override
+    public long count(final ProductSearchQuery aQuery) {
+        final var hasTerms = aQuery.terms() != null && !aQuery.terms().isBlank();
+        if (this.searchIndex != null && hasTerms && aQuery.count() != CountMode.NONE) {
+            return this.searchIndex.search(aQuery.terms()).length;
+        }
+
+        final var bindings = new HashMap<String, Object>();
+        final var where = ProductSql.where(aQuery.terms(), isFullText(aQuery.terms()), bindings);
+        return count(where, bindings, aQuery.count());
+    }
+
+    //forward-only cursor over the whole table, rows are mapped and handed over one at a time
+    @Override
+    public long streamAll(final Consumer<Product> aConsumer) {
+        return Objects.requireNonNull(this.readOnlyTemplate.execute(status -> {
+            final var streamed = new AtomicLong();
+            this.jdbcTemplate.getJdbcOperations().query(
+                    connection -> {
+                        final var statement = connection.prepareStatement(
+                                SELECT + " ORDER BY code", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(this.exportFetchSize);
+                        return statement;
+                    },
+                    (RowCallbackHandler) rs -> aConsumer.accept(ProductSql.PRODUCT.mapRow(rs, (int) streamed.getAndIncrement()))
+            );
+            return streamed.get();
+        }));
+    }
+
+    private Pagination<Product> findAllIndexed(final ProductSearchQuery aQuery) {
+        final var page = ProductIndexPage.of(this.searchIndex, aQuery);
+
+        //only the requested page is hydrated
+        final Map<Long, Product> rows = findAllByCodes(page.codes()).stream()
+                .collect(Collectors.toMap(Product::getCode, Function.identity()));
+        return page.toPagination(aQuery, rows);
+    }
+
+    //ngram tokens are two characters long, shorter terms can only be found by LIKE
+    private boolean isFullText(final String terms) {
+        return this.fullText && terms != null && terms.strip().length() >= 2;
+    }
+
+    private long count(final String where, final Map<String, Object> bindings, final CountMode aMode) {
+        final var sql = ProductSql.count(where, aMode, this.estimateCap);
+        if (sql == null) {
+            return Pagination.UNKNOWN_TOTAL;
+        }
+        return Objects.requireNonNull(this.jdbcTemplate.queryForObject(sql, bindings, Long.class));
+    }
+
+    private boolean exists(final Long aCode) {
+        return !this.jdbcTemplate.queryForList("SELECT code FROM products WHERE code = :code", Map.of("code", aCode), Long.class)
+                .isEmpty();
+    }
+
+    private static String nextCursor(final Product last, final ProductSortField sortField, final Sort.Direction direction) {
+        return new ProductCursor(sortField.property(), direction.name(), last.getCode(), sortField.valueOf(last)).encode();
+    }
+
+    private static Product copy(final Product aProduct, final Long aCode, final long aVersion) {
+        return Product.with(
+                aVersion,
+                aProduct.getId(),
+                aCode,
+                aProduct.getDescription(),
+                aProduct.getFabricatedAt(),
+                aProduct.getExpiredAt(),
+                aProduct.getSupplierCode(),
+                aProduct.getSupplierDescription(),
+                aProduct.getSupplierCNPJ(),
+                aProduct.isActive(),
+                aProduct.getCreatedAt(),
+                aProduct.getUpdatedAt(),
+                aProduct.getDeletedAt()
+        );
+    }
+}
@@ -1,40 +1,133 @@
 package com.company.admin.product_management.infrastructure.product;
 
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
 import com.company.admin.product_management.domain.pagination.Pagination;
 import com.company.admin.product_management.domain.product.Product;
 import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.product.ProductRevision;
 import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductBatchRepository;
 import com.company.admin.product_management.infrastructure.product.persistence.ProductJpaEntity;
 import com.company.admin.product_management.infrastructure.product.persistence.ProductRepository;
-import org.springframework.data.domain.PageRequest;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductRow;
+import com.company.admin.product_management.infrastructure.product.search.ProductSearchIndex;
+import com.company.admin.product_management.infrastructure.utils.SpecificationUtils;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.company.admin.product_management.infrastructure.utils.SpecificationUtils.like;
+import static com.company.admin.product_management.infrastructure.utils.SpecificationUtils.relevance;
+import static com.company.admin.product_management.infrastructure.utils.SpecificationUtils.seek;
 
 @Service
+@Profile("!jdbc & !in-memory")
 public class ProductMySQLGateway implements ProductGateway {
 
+    private static final String RELEVANCE = "relevance";
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+    private static final String[] SEARCH_FIELDS = {"description", "supplierCode", "supplierDescription", "supplierCNPJ"};
+
     private final ProductRepository repository;
+    private final ProductBatchRepository batchRepository;
+    private final EntityManager entityManager;
+    private final int estimateCap;
+    private final boolean fullText;
+    private final ProductSearchIndex searchIndex;
+    private final int exportFetchSize;
 
-    public ProductMySQLGateway(final ProductRepository repository) {
+    public ProductMySQLGateway(
+            final ProductRepository repository,
+            final ProductBatchRepository batchRepository,
+            final EntityManager entityManager,
+            @Value("${product.search.estimate-cap:1000}") final int estimateCap,
+            @Value("${product.search.full-text:false}") final boolean fullText,
+            final Optional<ProductSearchIndex> searchIndex,
+            @Value("${product.export.fetch-size:1000}") final int exportFetchSize
+    ) {
         this.repository = Objects.requireNonNull(repository);
+        this.batchRepository = Objects.requireNonNull(batchRepository);
+        this.entityManager = Objects.requireNonNull(entityManager);
+        this.estimateCap = estimateCap;
+        this.fullText = fullText;
+        this.searchIndex = Objects.requireNonNull(searchIndex).orElse(null);
+        this.exportFetchSize = exportFetchSize;
     }
 
     @Override
+    @Transactional
     public Product create( final Product aProduct) {
-        return save(aProduct);
+        final var created = save(aProduct);
+        this.repository.bumpCatalogVersion();
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<Product> createAll(final List<Product> aProducts) {
+        final var entities = aProducts.stream()
+                .map(ProductJpaEntity::from)
+                .toList();
+
+        //codes come from the pooled table generator, so hibernate sends these inserts as JDBC batches
+        final var created = this.repository.saveAll(entities).stream()
+                .map(ProductJpaEntity::toAggregate)
+                .toList();
+        if (this.searchIndex != null) {
+            created.forEach(this.searchIndex::put);
+        }
+        this.repository.bumpCatalogVersion();
+        return created;
     }
 
     @Override
+    @Transactional
     public void deleteByCode(Long code) {
-        if(this.repository.existsById(code)) {
-            this.repository.deleteById(code);
+        deleteAllByCodes(List.of(code));
+    }
+
+    @Override
+    @Transactional
+    public long deleteAllByCodes(final List<Long> codes) {
+        var deleted = 0L;
+        for (var from = 0; from < codes.size(); from += DELETE_CHUNK_SIZE) {
+            final var chunk = codes.subList(from, Math.min(codes.size(), from + DELETE_CHUNK_SIZE));
+            deleted += this.repository.deleteAllByCodes(chunk);
+        }
+
+        if (this.searchIndex != null) {
+            codes.forEach(this.searchIndex::remove);
+        }
+        if (deleted > 0) {
+            this.repository.bumpCatalogVersion();
         }
+        return deleted;
     }
 
     @Override
@@ -44,22 +137,166 @@ public class ProductMySQLGateway implements ProductGateway {
     }
 
     @Override
+    public Optional<Product> findById(final ProductID anId) {
+        return this.repository.findByUuid(anId.toUUID())
+                .map(ProductJpaEntity::toAggregate);
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionByCode(final Long aCode) {
+        return this.repository.findRevisionByCode(aCode);
+    }
+
+    @Override
+    public List<Product> findAllByCodes(final List<Long> codes) {
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+
+        final Specification<ProductJpaEntity> byCodes = (root, query, cb) -> root.get("code").in(codes);
+        return select(byCodes, (root, cb) -> List.of(), 0, codes.size()).stream()
+                .map(ProductRow::toAggregate)
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public Product update(Product aProduct) {
-        return save(aProduct);
+        final var entity = ProductJpaEntity.from(aProduct);
+        if (this.repository.updateIfVersion(entity) == 0) {
+            if (this.repository.existsById(aProduct.getCode())) {
+                throw ConflictException.with(Product.class, aProduct.getCode());
+            }
+            throw NotFoundException.with(Product.class, aProduct.getCode());
+        }
+
+        entity.setVersion(entity.getVersion() + 1);
+        final var updated = entity.toAggregate();
+        if (this.searchIndex != null) {
+            this.searchIndex.put(updated);
+        }
+        this.repository.bumpCatalogVersion();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public List<Product> updateAll(final List<Product> aProducts) {
+        final var entities = aProducts.stream()
+                .map(ProductJpaEntity::from)
+                .toList();
+
+        final var updated = this.batchRepository.updateAll(entities).stream()
+                .map(ProductJpaEntity::toAggregate)
+                .toList();
+        if (this.searchIndex != null) {
+            updated.forEach(this.searchIndex::put);
+        }
+        if (!updated.isEmpty()) {
+            this.repository.bumpCatalogVersion();
+        }
+        return updated;
+    }
+
+    //bumped in the transaction of every write, callers read it before querying so a response is never tagged newer than its rows
+    @Override
+    public long catalogVersion() {
+        return this.repository.findCatalogVersion();
     }
 
     @Override
     public Pagination<Product> findAll(ProductSearchQuery aQuery) {
-        final var page = PageRequest.of(
+        if (ProductIndexPage.answers(this.searchIndex, aQuery)) {
+            return findAllIndexed(aQuery);
+        }
+
+        final var byRelevance = RELEVANCE.equals(aQuery.sort()) && isFullText(aQuery.terms());
+        final var sortField = RELEVANCE.equals(aQuery.sort()) ? ProductSortField.CODE : ProductSortField.of(aQuery.sort());
+        final var direction = Sort.Direction.fromString(aQuery.direction());
+        final var sort = Sort.by(direction, sortField.property()).and(Sort.by(direction, ProductSortField.CODE.property()));
+
+        if (byRelevance && aQuery.isKeyset()) {
+            throw DomainException.with(new Error("'after' cursor is not supported when sorting by relevance"));
+        }
+
+        final OrderBy orders = byRelevance
+                ? (root, cb) -> List.of(cb.desc(relevance(root, cb, aQuery.terms(), SEARCH_FIELDS)), cb.asc(root.get("code")))
+                : (root, cb) -> QueryUtils.toOrders(sort, root, cb);
+
+        final var where = where(aQuery);
+        final var offset = aQuery.isKeyset() ? 0 : aQuery.page() * aQuery.perPage();
+        final var pageWhere = aQuery.isKeyset() ? where.and(after(aQuery, sortField, direction)) : where;
+
+        //one extra row tells whether there is a next page without counting
+        final var rows = select(pageWhere, orders, offset, aQuery.perPage() + 1);
+        final var hasNext = rows.size() > aQuery.perPage();
+        final var items = rows.stream()
+                .limit(aQuery.perPage())
+                .map(ProductRow::toAggregate)
+                .toList();
+
+        return new Pagination<>(
                 aQuery.page(),
                 aQuery.perPage(),
-                Sort.by(Sort.Direction.fromString(aQuery.direction()), aQuery.sort())
+                (int) count(where, aQuery),
+                items,
+                hasNext,
+                hasNext && !byRelevance ? nextCursor(items, aQuery, sortField) : null
         );
+    }
+
+    @Override
+    public long count(ProductSearchQuery aQuery) {
+        if (this.searchIndex != null && hasTerms(aQuery) && aQuery.count() != CountMode.NONE) {
+            return this.searchIndex.search(aQuery.terms()).length;
+        }
+        return count(where(aQuery), aQuery);
+    }
 
+    //forward-only cursor over the whole table, each row is detached once handed over so the persistence context stays empty
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAll(final Consumer<Product> aConsumer) {
+        try (final var rows = this.entityManager
+                .createQuery("select p from ProductJpaEntity p order by p.code", ProductJpaEntity.class)
+                .setHint(QueryHints.FETCH_SIZE, this.exportFetchSize)
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultStream()) {
+            var streamed = 0L;
+            for (final var iterator = rows.iterator(); iterator.hasNext(); streamed++) {
+                final var entity = iterator.next();
+                this.entityManager.detach(entity);
+                aConsumer.accept(entity.toAggregate());
+            }
+            return streamed;
+        }
+    }
+
+    private static boolean hasTerms(final ProductSearchQuery aQuery) {
+        return aQuery.terms() != null && !aQuery.terms().isBlank();
+    }
+
+    private Pagination<Product> findAllIndexed(final ProductSearchQuery aQuery) {
+        final var page = ProductIndexPage.of(this.searchIndex, aQuery);
+
+        //only the requested page is hydrated
+        final Specification<ProductJpaEntity> inPage = (root, query, cb) -> root.get("code").in(page.codes());
+        final Map<Long, Product> rows = page.codes().isEmpty()
+                ? Map.of()
+                : select(inPage, (root, cb) -> List.of(), 0, page.codes().size()).stream()
+                        .map(ProductRow::toAggregate)
+                        .collect(Collectors.toMap(Product::getCode, Function.identity()));
+        return page.toPagination(aQuery, rows);
+    }
+
+    private Specification<ProductJpaEntity> where(final ProductSearchQuery aQuery) {
         //dynamic search
         final var specifications = Optional.ofNullable(aQuery.terms())
                 .filter(str -> !str.isBlank())
                 .map(str ->{
+                    if (isFullText(str)) {
+                        return SpecificationUtils.<ProductJpaEntity>match(str, SEARCH_FIELDS);
+                    }
                     final Specification<ProductJpaEntity> descriptionLike = like("description", str);
                     final Specification<ProductJpaEntity> supplierCodeLike = like("supplierCode", str);
                     final Specification<ProductJpaEntity> supplierDescriptionLike = like("supplierDescription", str);
@@ -69,16 +306,101 @@ public class ProductMySQLGateway implements ProductGateway {
                 )
                 .orElse(null);
 
-        final var pageResult = this.repository.findAll(Specification.where(specifications), page);
-        return new Pagination<>(
-                pageResult.getNumber(),
-                pageResult.getSize(),
-                (int) pageResult.getTotalElements(),
-                pageResult.map(ProductJpaEntity::toAggregate).toList()
+        return Specification.where(specifications);
+    }
+
+    //ngram tokens are two characters long, shorter terms can only be found by LIKE
+    private boolean isFullText(final String terms) {
+        return this.fullText && terms != null && terms.strip().length() >= 2;
+    }
+
+    private long count(final Specification<ProductJpaEntity> where, final ProductSearchQuery aQuery) {
+        return switch (aQuery.count()) {
+            case EXACT -> this.repository.count(where);
+            case ESTIMATE -> boundedCount(aQuery.terms());
+            case NONE -> Pagination.UNKNOWN_TOTAL;
+        };
+    }
+
+    //counts at most estimateCap matching rows, so a broad search never scans the whole table for its total; jpql has
+    //no derived tables, so this is the same native COUNT over a LIMITed subquery the jdbc gateway sends
+    private long boundedCount(final String terms) {
+        final var bindings = new HashMap<String, Object>();
+        final var where = ProductSql.where(terms, isFullText(terms), bindings);
+        final var query = this.entityManager.createNativeQuery(ProductSql.count(where, CountMode.ESTIMATE, this.estimateCap));
+        bindings.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private Specification<ProductJpaEntity> after(
+            final ProductSearchQuery aQuery,
+            final ProductSortField sortField,
+            final Sort.Direction direction
+    ) {
+        final var cursor = ProductCursor.decode(aQuery.after());
+        if (!cursor.matches(sortField.property(), direction.name())) {
+            throw DomainException.with(new Error("'after' cursor does not match the requested sort"));
+        }
+
+        //the entity holds the id as a UUID, compared by the database as its 16 bytes
+        final var value = sortField.parse(cursor.value());
+        return seek(
+                sortField.property(),
+                value instanceof ProductID anId ? anId.toUUID() : value,
+                ProductSortField.CODE.property(),
+                cursor.code(),
+                direction.isAscending()
         );
     }
 
+    private String nextCursor(
+            final List<Product> items,
+            final ProductSearchQuery aQuery,
+            final ProductSortField sortField
+    ) {
+        final var last = items.get(items.size() - 1);
+        return new ProductCursor(
+                sortField.property(),
+                Sort.Direction.fromString(aQuery.direction()).name(),
+                last.getCode(),
+                sortField.valueOf(last)
+        ).encode();
+    }
+
+    private List<ProductRow> select(
+            final Specification<ProductJpaEntity> where,
+            final OrderBy orders,
+            final int offset,
+            final int limit
+    ) {
+        final var cb = this.entityManager.getCriteriaBuilder();
+        final var query = cb.createQuery(ProductRow.class);
+        final var root = query.from(ProductJpaEntity.class);
+
+        final var predicate = where.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        final var columns = Arrays.stream(ProductRow.COLUMNS)
+                .<Selection<?>>map(root::get)
+                .toArray(Selection[]::new);
+        query.select(cb.construct(ProductRow.class, columns)).orderBy(orders.apply(root, cb));
+
+        return this.entityManager.createQuery(query)
+                .setHint(QueryHints.READ_ONLY, true)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     private Product save(final Product aProduct) {
-        return this.repository.save(ProductJpaEntity.from(aProduct)).toAggregate();
+        final var saved = this.repository.save(ProductJpaEntity.from(aProduct)).toAggregate();
+        if (this.searchIndex != null) {
+            this.searchIndex.put(saved);
+        }
+        return saved;
+    }
+
+    private interface OrderBy extends BiFunction<Root<ProductJpaEntity>, CriteriaBuilder, List<Order>> {
     }
 }
@@ -0,0 +1,288 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductJpaEntity;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import io.r2dbc.spi.Row;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+//R2DBC gateway of the reactive profile, same tables and semantics as ProductMySQLGateway for the operations it serves
+public class ProductR2dbcGateway implements ReactiveProductGateway {
+
+    private static final String RELEVANCE = "relevance";
+    private static final String CODE_SEQUENCE = "products";
+    private static final int RESERVE_ATTEMPTS = 10;
+
+    private final DatabaseClient client;
+    private final TransactionalOperator transactions;
+    private final int estimateCap;
+    private final AtomicReference<CodeBlock> codes = new AtomicReference<>(CodeBlock.EMPTY);
+
+    public ProductR2dbcGateway(final DatabaseClient client, final int estimateCap) {
+        this.client = Objects.requireNonNull(client);
+        //a manager of its own, a second TransactionManager bean would leave @Transactional on the servlet side ambiguous
+        this.transactions = TransactionalOperator.create(new R2dbcTransactionManager(client.getConnectionFactory()));
+        this.estimateCap = estimateCap;
+    }
+
+    //the code is reserved outside the transaction, a rolled back insert must not hand the block out again
+    @Override
+    public Mono<Product> create(final Product aProduct) {
+        return nextCode().flatMap(code -> {
+            final var created = copy(aProduct, code, aProduct.getVersion());
+            return bind(this.client.sql(ProductSql.INSERT), values(created)).fetch().rowsUpdated()
+                    .then(bumpCatalogVersion())
+                    .thenReturn(created)
+                    .as(this.transactions::transactional);
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteByCode(final Long code) {
+        return this.client.sql("DELETE FROM products WHERE code = :code")
+                .bind("code", code)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> deleted > 0 ? bumpCatalogVersion() : Mono.<Void>empty())
+                .as(this.transactions::transactional);
+    }
+
+    @Override
+    public Mono<Product> findByCode(final Long aCode) {
+        return this.client.sql("SELECT " + ProductSql.COLUMNS + " FROM products WHERE code = :code")
+                .bind("code", aCode)
+                .map((row, metadata) -> toAggregate(row))
+                .one();
+    }
+
+    //single conditional UPDATE, a miss is told apart as a stale version or a removed product with one more lookup
+    @Override
+    public Mono<Product> update(final Product aProduct) {
+        final var update = this.client.sql(ProductSql.UPDATE);
+        final var values = values(aProduct);
+        values.remove("id");
+        values.remove("createdAt");
+
+        return bind(update, values).fetch().rowsUpdated().flatMap(updated -> {
+            if (updated > 0) {
+                return bumpCatalogVersion().thenReturn(copy(aProduct, aProduct.getCode(), aProduct.getVersion() + 1));
+            }
+            return this.client.sql("SELECT code FROM products WHERE code = :code")
+                    .bind("code", aProduct.getCode())
+                    .fetch()
+                    .first()
+                    .hasElement()
+                    .flatMap(exists -> Mono.error(exists
+                            ? ConflictException.with(Product.class, aProduct.getCode())
+                            : NotFoundException.with(Product.class, aProduct.getCode())));
+        }).as(this.transactions::transactional);
+    }
+
+    //the same row the servlet gateways bump, so their list ETags and cached pages move on after a reactive write too
+    private Mono<Void> bumpCatalogVersion() {
+        return this.client.sql(ProductCatalogVersion.BUMP)
+                .bind("name", ProductCatalogVersion.NAME)
+                .then();
+    }
+
+    //LIKE search only, there is no FULLTEXT or in-process index on this stack so relevance falls back to code order
+    @Override
+    public Mono<Pagination<Product>> findAll(final ProductSearchQuery aQuery) {
+        final var sortField = RELEVANCE.equals(aQuery.sort()) ? ProductSortField.CODE : ProductSortField.of(aQuery.sort());
+        final var direction = Sort.Direction.fromString(aQuery.direction());
+
+        final var bindings = new LinkedHashMap<String, Object>();
+        final var countWhere = ProductSql.where(aQuery.terms(), false, bindings);
+        final var countBindings = new LinkedHashMap<>(bindings);
+
+        var where = countWhere;
+        if (aQuery.isKeyset()) {
+            where += (where.isEmpty() ? " WHERE " : " AND ") + ProductSql.after(aQuery, sortField, direction, bindings);
+        }
+        final var offset = aQuery.isKeyset() ? 0 : aQuery.page() * aQuery.perPage();
+
+        //one extra row tells whether there is a next page without counting
+        final var sql = "SELECT " + ProductSql.COLUMNS + " FROM products" + where
+                + ProductSql.orderBy(sortField, direction)
+                + " LIMIT " + (aQuery.perPage() + 1) + " OFFSET " + offset;
+        final var rows = bind(this.client.sql(sql), bindings)
+                .map((row, metadata) -> toAggregate(row))
+                .all()
+                .collectList();
+
+        return Mono.zip(rows, count(countWhere, countBindings, aQuery.count())).map(result -> {
+            final var hasNext = result.getT1().size() > aQuery.perPage();
+            final var items = result.getT1().stream().limit(aQuery.perPage()).toList();
+            return new Pagination<>(
+                    aQuery.page(),
+                    aQuery.perPage(),
+                    result.getT2().intValue(),
+                    items,
+                    hasNext,
+                    hasNext ? nextCursor(items.get(items.size() - 1), sortField, direction) : null
+            );
+        });
+    }
+
+    private Mono<Long> count(final String where, final Map<String, Object> bindings, final CountMode aMode) {
+        final var sql = ProductSql.count(where, aMode, this.estimateCap);
+        if (sql == null) {
+            return Mono.just((long) Pagination.UNKNOWN_TOTAL);
+        }
+        return bind(this.client.sql(sql), bindings)
+                .map((row, metadata) -> ((Number) row.get("total")).longValue())
+                .one();
+    }
+
+    private static String nextCursor(final Product last, final ProductSortField sortField, final Sort.Direction direction) {
+        return new ProductCursor(sortField.property(), direction.name(), last.getCode(), sortField.valueOf(last)).encode();
+    }
+
+    //codes come from the block of product_code_sequences this node reserved, the same table hibernate allocates from
+    private Mono<Long> nextCode() {
+        return Mono.defer(() -> {
+            final var code = this.codes.get().next();
+            if (code != null) {
+                return Mono.just(code);
+            }
+            return reserveCodes().map(last -> {
+                final var block = CodeBlock.endingAt(last);
+                final var reserved = block.next();
+                this.codes.set(block);
+                return reserved;
+            });
+        });
+    }
+
+    //compare-and-set on next_val like hibernate's table generator, a concurrent reservation makes it read again;
+    //hibernate keeps the last used value in the table, so the block it hands out ends one past the value read
+    private Mono<Long> reserveCodes() {
+        return this.client.sql("SELECT next_val FROM product_code_sequences WHERE sequence_name = :name")
+                .bind("name", CODE_SEQUENCE)
+                .map((row, metadata) -> ((Number) row.get("next_val")).longValue())
+                .one()
+                .flatMap(value -> this.client.sql("UPDATE product_code_sequences SET next_val = :next "
+                                + "WHERE sequence_name = :name AND next_val = :value")
+                        .bind("next", value + ProductJpaEntity.CODE_ALLOCATION_SIZE)
+                        .bind("name", CODE_SEQUENCE)
+                        .bind("value", value)
+                        .fetch()
+                        .rowsUpdated()
+                        .filter(updated -> updated == 1)
+                        .map(updated -> value + 1))
+                .repeatWhenEmpty(RESERVE_ATTEMPTS, attempts -> attempts)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("could not reserve a block of product codes")));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(
+            final DatabaseClient.GenericExecuteSpec spec,
+            final Map<String, ?> values
+    ) {
+        var bound = spec;
+        for (final var entry : values.entrySet()) {
+            bound = entry.getValue() instanceof Class<?> type
+                    ? bound.bindNull(entry.getKey(), type == Instant.class ? LocalDateTime.class : type)
+                    : bound.bind(entry.getKey(), entry.getValue() instanceof Instant instant
+                            ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC)
+                            : entry.getValue());
+        }
+        return bound;
+    }
+
+    //the DATETIME columns hold UTC, read and written as LocalDateTime since not every driver maps Instant
+    private static Instant instant(final Row row, final String column) {
+        final var value = row.get(column, LocalDateTime.class);
+        return value != null ? value.toInstant(ZoneOffset.UTC) : null;
+    }
+
+    //a null value is kept as its type, bindNull needs it
+    private static Map<String, Object> values(final Product aProduct) {
+        final var values = new LinkedHashMap<String, Object>();
+        values.put("id", ProductSql.binary(aProduct.getId()));
+        values.put("code", aProduct.getCode());
+        values.put("description", aProduct.getDescription());
+        values.put("fabricatedAt", orType(aProduct.getFabricatedAt(), Instant.class));
+        values.put("expiredAt", orType(aProduct.getExpiredAt(), Instant.class));
+        values.put("supplierCode", orType(aProduct.getSupplierCode(), String.class));
+        values.put("supplierDescription", orType(aProduct.getSupplierDescription(), String.class));
+        values.put("supplierCNPJ", orType(aProduct.getSupplierCNPJ(), String.class));
+        values.put("active", aProduct.isActive());
+        values.put("createdAt", aProduct.getCreatedAt());
+        values.put("updatedAt", aProduct.getUpdatedAt());
+        values.put("deletedAt", orType(aProduct.getDeletedAt(), Instant.class));
+        values.put("version", aProduct.getVersion());
+        return values;
+    }
+
+    private static Object orType(final Object value, final Class<?> type) {
+        return value != null ? value : type;
+    }
+
+    private static Product toAggregate(final Row row) {
+        return Product.with(
+                ((Number) Objects.requireNonNull(row.get("version"))).longValue(),
+                ProductSql.productId(Objects.requireNonNull(row.get("id", byte[].class))),
+                ((Number) Objects.requireNonNull(row.get("code"))).longValue(),
+                row.get("description", String.class),
+                instant(row, "fabricated_at"),
+                instant(row, "expired_at"),
+                row.get("supplier_code", String.class),
+                row.get("supplier_description", String.class),
+                row.get("supplier_cnpj", String.class),
+                Boolean.TRUE.equals(row.get("active", Boolean.class)),
+                instant(row, "created_at"),
+                instant(row, "updated_at"),
+                instant(row, "deleted_at")
+        );
+    }
+
+    private static Product copy(final Product aProduct, final Long aCode, final long aVersion) {
+        return Product.with(
+                aVersion,
+                aProduct.getId(),
+                aCode,
+                aProduct.getDescription(),
+                aProduct.getFabricatedAt(),
+                aProduct.getExpiredAt(),
+                aProduct.getSupplierCode(),
+                aProduct.getSupplierDescription(),
+                aProduct.getSupplierCNPJ(),
+                aProduct.isActive(),
+                aProduct.getCreatedAt(),
+                aProduct.getUpdatedAt(),
+                aProduct.getDeletedAt()
+        );
+    }
+
+    private record CodeBlock(AtomicLong cursor, long last) {
+
+        private static final CodeBlock EMPTY = new CodeBlock(new AtomicLong(1), 0);
+
+        private static CodeBlock endingAt(final long last) {
+            return new CodeBlock(new AtomicLong(last - ProductJpaEntity.CODE_ALLOCATION_SIZE + 1), last);
+        }
+
+        private Long next() {
+            final var code = this.cursor.getAndIncrement();
+            return code <= this.last ? code : null;
+        }
+    }
+}
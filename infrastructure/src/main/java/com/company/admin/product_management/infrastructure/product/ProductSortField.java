@@ -0,0 +1,72 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.validation.Error;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Function;
+
+//only fields backed by a (field, code) index in the migrations, anything else would sort the whole match set
+enum ProductSortField {
+    CODE("code", "code", Product::getCode, Long::valueOf),
+    ID("id", "id", Product::getId, ProductID::from),
+    DESCRIPTION("description", "description", Product::getDescription, Function.identity()),
+    FABRICATED_AT("fabricatedAt", "fabricated_at", Product::getFabricatedAt, Instant::parse),
+    EXPIRED_AT("expiredAt", "expired_at", Product::getExpiredAt, Instant::parse),
+    SUPPLIER_CNPJ("supplierCNPJ", "supplier_cnpj", Product::getSupplierCNPJ, Function.identity()),
+    ACTIVE("active", "active", Product::isActive, Boolean::valueOf),
+    CREATED_AT("createdAt", "created_at", Product::getCreatedAt, Instant::parse),
+    UPDATED_AT("updatedAt", "updated_at", Product::getUpdatedAt, Instant::parse);
+
+    private final String property;
+    private final String column;
+    private final Function<Product, Object> getter;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    ProductSortField(
+            final String property,
+            final String column,
+            final Function<Product, Object> getter,
+            final Function<String, ? extends Comparable<?>> parser
+    ) {
+        this.property = property;
+        this.column = column;
+        this.getter = getter;
+        this.parser = parser;
+    }
+
+    public static ProductSortField of(final String aProperty) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(aProperty))
+                .findFirst()
+                .orElseThrow(() -> DomainException.with(
+                        new Error("'sort' %s is not supported".formatted(aProperty))
+                ));
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public String valueOf(final Product aProduct) {
+        final var value = getter.apply(aProduct);
+        return value != null ? value.toString() : null;
+    }
+
+    public Comparable<?> parse(final String aValue) {
+        return aValue != null ? parser.apply(aValue) : null;
+    }
+
+    //the raw value, every getter answers a Comparable of the type parse gives back
+    @SuppressWarnings("unchecked")
+    Comparable<Object> key(final Product aProduct) {
+        return (Comparable<Object>) getter.apply(aProduct);
+    }
+}
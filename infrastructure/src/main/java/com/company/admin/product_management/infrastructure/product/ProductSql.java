@@ -0,0 +1,162 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.infrastructure.utils.SpecificationUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Map;
+
+//hand-written SQL of the gateways that skip JPA, same search, order and keyset rules as the criteria queries of ProductMySQLGateway
+final class ProductSql {
+
+    static final String COLUMNS = "id, code, description, fabricated_at, expired_at, supplier_code, "
+            + "supplier_description, supplier_cnpj, active, created_at, updated_at, deleted_at, version";
+
+    static final String INSERT = "INSERT INTO products (" + COLUMNS + ") VALUES (:id, :code, :description, "
+            + ":fabricatedAt, :expiredAt, :supplierCode, :supplierDescription, :supplierCNPJ, :active, "
+            + ":createdAt, :updatedAt, :deletedAt, :version)";
+
+    static final String UPDATE = "UPDATE products SET description = :description, fabricated_at = :fabricatedAt, "
+            + "expired_at = :expiredAt, supplier_code = :supplierCode, supplier_description = :supplierDescription, "
+            + "supplier_cnpj = :supplierCNPJ, active = :active, updated_at = :updatedAt, deleted_at = :deletedAt, "
+            + "version = version + 1 WHERE code = :code AND version = :version";
+
+    private static final String LIKE = "(UPPER(description) LIKE :terms OR UPPER(supplier_code) LIKE :terms "
+            + "OR UPPER(supplier_description) LIKE :terms OR UPPER(supplier_cnpj) LIKE :terms)";
+
+    //the columns of the ft_products_search index, in its order
+    static final String RELEVANCE = "MATCH (description, supplier_code, supplier_description, supplier_cnpj) "
+            + "AGAINST (:phrase IN BOOLEAN MODE)";
+
+    //reused for every row, straight into the aggregate without an entity in between
+    static final RowMapper<Product> PRODUCT = (rs, rowNum) -> Product.with(
+            rs.getLong("version"),
+            productId(rs.getBytes("id")),
+            rs.getLong("code"),
+            rs.getString("description"),
+            instant(rs, "fabricated_at"),
+            instant(rs, "expired_at"),
+            rs.getString("supplier_code"),
+            rs.getString("supplier_description"),
+            rs.getString("supplier_cnpj"),
+            rs.getBoolean("active"),
+            instant(rs, "created_at"),
+            instant(rs, "updated_at"),
+            instant(rs, "deleted_at")
+    );
+
+    private ProductSql() {
+    }
+
+    //the named parameters of INSERT and UPDATE
+    static SqlParameterSource parameters(final Product aProduct) {
+        return new MapSqlParameterSource()
+                .addValue("id", binary(aProduct.getId()), Types.BINARY)
+                .addValue("code", aProduct.getCode())
+                .addValue("description", aProduct.getDescription())
+                .addValue("fabricatedAt", timestamp(aProduct.getFabricatedAt()), Types.TIMESTAMP)
+                .addValue("expiredAt", timestamp(aProduct.getExpiredAt()), Types.TIMESTAMP)
+                .addValue("supplierCode", aProduct.getSupplierCode(), Types.VARCHAR)
+                .addValue("supplierDescription", aProduct.getSupplierDescription(), Types.VARCHAR)
+                .addValue("supplierCNPJ", aProduct.getSupplierCNPJ(), Types.VARCHAR)
+                .addValue("active", aProduct.isActive())
+                .addValue("createdAt", timestamp(aProduct.getCreatedAt()), Types.TIMESTAMP)
+                .addValue("updatedAt", timestamp(aProduct.getUpdatedAt()), Types.TIMESTAMP)
+                .addValue("deletedAt", timestamp(aProduct.getDeletedAt()), Types.TIMESTAMP)
+                .addValue("version", aProduct.getVersion());
+    }
+
+    //ids are stored as BINARY(16), most significant bits first so the bytes sort like the text form
+    static byte[] binary(final ProductID anId) {
+        return ByteBuffer.allocate(2 * Long.BYTES)
+                .putLong(anId.getMostSignificantBits())
+                .putLong(anId.getLeastSignificantBits())
+                .array();
+    }
+
+    static ProductID productId(final byte[] value) {
+        final var buffer = ByteBuffer.wrap(value);
+        return ProductID.from(buffer.getLong(), buffer.getLong());
+    }
+
+    static Instant instant(final ResultSet rs, final String column) throws SQLException {
+        final var value = rs.getTimestamp(column);
+        return value != null ? value.toInstant() : null;
+    }
+
+    private static Timestamp timestamp(final Instant value) {
+        return value != null ? Timestamp.from(value) : null;
+    }
+
+    //" WHERE ..." for the search terms, or an empty string when there are none
+    static String where(final String terms, final boolean fullText, final Map<String, Object> bindings) {
+        if (terms == null || terms.isBlank()) {
+            return "";
+        }
+        if (fullText) {
+            bindings.put("phrase", SpecificationUtils.phrase(terms));
+            return " WHERE " + RELEVANCE + " > 0";
+        }
+        bindings.put("terms", "%" + terms.toUpperCase() + "%");
+        return " WHERE " + LIKE;
+    }
+
+    static String orderBy(final ProductSortField sortField, final Sort.Direction direction) {
+        final var order = direction.isAscending() ? " ASC" : " DESC";
+        return " ORDER BY " + sortField.column() + order + ", code" + order;
+    }
+
+    static String count(final String where, final CountMode aMode, final int estimateCap) {
+        return switch (aMode) {
+            case EXACT -> "SELECT COUNT(*) AS total FROM products" + where;
+            case ESTIMATE -> "SELECT COUNT(*) AS total FROM (SELECT code FROM products" + where + " LIMIT " + estimateCap + ") matches";
+            case NONE -> null;
+        };
+    }
+
+    //same keyset predicate as SpecificationUtils.seek, nulls first on asc and last on desc
+    static String after(
+            final ProductSearchQuery aQuery,
+            final ProductSortField sortField,
+            final Sort.Direction direction,
+            final Map<String, Object> bindings
+    ) {
+        final var cursor = ProductCursor.decode(aQuery.after());
+        if (!cursor.matches(sortField.property(), direction.name())) {
+            throw DomainException.with(new Error("'after' cursor does not match the requested sort"));
+        }
+
+        final var column = sortField.column();
+        final var after = direction.isAscending() ? " > " : " < ";
+        final var codeAfter = "code" + after + ":afterCode";
+        bindings.put("afterCode", cursor.code());
+
+        if (sortField == ProductSortField.CODE) {
+            return codeAfter;
+        }
+
+        final var value = sortField.parse(cursor.value());
+        if (value == null) {
+            final var nullsAfter = "(" + column + " IS NULL AND " + codeAfter + ")";
+            return direction.isAscending() ? "(" + nullsAfter + " OR " + column + " IS NOT NULL)" : nullsAfter;
+        }
+
+        bindings.put("afterValue", value instanceof ProductID anId ? binary(anId) : value);
+        final var valuesAfter = column + after + ":afterValue OR (" + column + " = :afterValue AND " + codeAfter + ")";
+        return direction.isAscending() ? "(" + valuesAfter + ")" : "(" + valuesAfter + " OR " + column + " IS NULL)";
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.admin.product_management.infrastructure.product.export;
+
+import com.company.admin.product_management.infrastructure.product.models.ProductResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+//RFC 4180, same column names as the json fields
+public class CsvProductExportWriter implements ProductExportWriter {
+
+    private static final String HEADER = "id,code,description,fabricated_at,expired_at,supplier_code,supplier_description,"
+            + "supplier_cnpj,is_active,created_at,updated_at,deleted_at,version";
+
+    private final Writer writer;
+
+    public CsvProductExportWriter(final OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.writer.write(HEADER);
+        this.writer.write("\r\n");
+    }
+
+    @Override
+    public void write(final ProductResponse aProduct) {
+        final var line = Stream.of(
+                        aProduct.anId(),
+                        aProduct.aCode(),
+                        aProduct.aDescription(),
+                        aProduct.aFabricatedAt(),
+                        aProduct.anExpiredAt(),
+                        aProduct.anSupplierCode(),
+                        aProduct.aSupplierDescription(),
+                        aProduct.aSupplierCNPJ(),
+                        aProduct.isActive(),
+                        aProduct.aCreatedAt(),
+                        aProduct.aUpdatedAt(),
+                        aProduct.aDeletedAt(),
+                        aProduct.aVersion()
+                )
+                .map(CsvProductExportWriter::field)
+                .collect(Collectors.joining(","));
+        try {
+            this.writer.write(line);
+            this.writer.write("\r\n");
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.flush();
+    }
+
+    private static String field(final Object aValue) {
+        final var value = Objects.toString(aValue, "");
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
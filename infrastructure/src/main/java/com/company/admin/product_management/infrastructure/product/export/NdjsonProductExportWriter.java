@@ -0,0 +1,39 @@
+package com.company.admin.product_management.infrastructure.product.export;
+
+import com.company.admin.product_management.infrastructure.configuration.json.Json;
+import com.company.admin.product_management.infrastructure.product.models.ProductResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+public class NdjsonProductExportWriter implements ProductExportWriter {
+
+    private static final ObjectMapper MAPPER = Json.mapper();
+
+    private final JsonGenerator generator;
+
+    public NdjsonProductExportWriter(final OutputStream out) throws IOException {
+        this.generator = MAPPER.getFactory()
+                .createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(final ProductResponse aProduct) {
+        try {
+            this.generator.writeObject(aProduct);
+            this.generator.writeRaw('\n');
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.generator.close();
+    }
+}
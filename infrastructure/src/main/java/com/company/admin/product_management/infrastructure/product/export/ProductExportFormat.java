@@ -0,0 +1,44 @@
+package com.company.admin.product_management.infrastructure.product.export;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.validation.Error;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+public enum ProductExportFormat {
+    NDJSON(new MediaType("application", "x-ndjson")),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    ProductExportFormat(final MediaType aMediaType) {
+        this.mediaType = aMediaType;
+    }
+
+    public static ProductExportFormat from(final String aValue) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(aValue))
+                .findFirst()
+                .orElseThrow(() -> DomainException.with(
+                        new Error("'format' should be one of ndjson or csv")
+                ));
+    }
+
+    public ProductExportWriter open(final OutputStream out) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonProductExportWriter(out);
+            case CSV -> new CsvProductExportWriter(out);
+        };
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String fileName() {
+        return "products." + name().toLowerCase();
+    }
+}
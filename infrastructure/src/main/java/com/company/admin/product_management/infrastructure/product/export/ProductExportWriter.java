@@ -0,0 +1,11 @@
+package com.company.admin.product_management.infrastructure.product.export;
+
+import com.company.admin.product_management.infrastructure.product.models.ProductResponse;
+
+import java.io.Closeable;
+
+//writes one product per line, closing flushes what is buffered but leaves the response stream to the container
+public interface ProductExportWriter extends Closeable {
+
+    void write(ProductResponse aProduct);
+}
@@ -0,0 +1,173 @@
+package com.company.admin.product_management.infrastructure.product.imports;
+
+import com.company.admin.product_management.application.product.create.ImportProductCommand;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+//RFC 4180 with a header line, columns are matched by the json field names so an export can be imported back
+public class CsvProductImportReader extends ProductImportReader {
+
+    private Map<String, Integer> columns;
+    private long line;
+    private boolean tooLong;
+
+    public CsvProductImportReader(final BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    protected ImportProductCommand read() throws IOException {
+        if (this.columns == null) {
+            this.columns = header();
+        }
+
+        List<String> fields;
+        long start;
+        do {
+            start = this.line + 1;
+            fields = record();
+            if (fields == null) {
+                return null;
+            }
+        } while (!this.tooLong && fields.size() == 1 && fields.get(0).isBlank());
+
+        if (this.tooLong) {
+            return ImportProductCommand.with(start, lineTooLong());
+        }
+
+        final var notification = Notification.create();
+        final var fabricatedAt = instant(fields, "fabricated_at", notification);
+        final var expiredAt = instant(fields, "expired_at", notification);
+        final var isActive = bool(fields, "is_active", notification);
+        if (notification.hasError()) {
+            return ImportProductCommand.with(start, notification);
+        }
+
+        return ImportProductCommand.with(start, command(
+                value(fields, "description"),
+                fabricatedAt,
+                expiredAt,
+                value(fields, "supplier_code"),
+                value(fields, "supplier_description"),
+                value(fields, "supplier_cnpj"),
+                isActive
+        ));
+    }
+
+    private Map<String, Integer> header() throws IOException {
+        final var names = record();
+        final var header = new HashMap<String, Integer>();
+        if (names != null) {
+            for (var i = 0; i < names.size(); i++) {
+                header.put(names.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        return header;
+    }
+
+    //quoted fields may hold commas, doubled quotes and line breaks; past MAX_LINE_LENGTH characters the record is
+    //only read to its end, an unterminated quote then runs to the end of the input without keeping any of it
+    private List<String> record() throws IOException {
+        final var fields = new ArrayList<String>();
+        final var field = new StringBuilder();
+        var quoted = false;
+        var read = false;
+        var length = 0;
+        this.tooLong = false;
+
+        int c;
+        while ((c = this.reader.read()) != -1) {
+            read = true;
+            if (++length > MAX_LINE_LENGTH && !this.tooLong) {
+                this.tooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c == '"') {
+                    this.reader.mark(1);
+                    if (this.reader.read() == '"') {
+                        append(field, '"');
+                    } else {
+                        this.reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        this.line++;
+                    }
+                    append(field, c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                add(fields, field);
+            } else if (c == '\n') {
+                this.line++;
+                add(fields, field);
+                return fields;
+            } else if (c != '\r') {
+                append(field, c);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+        add(fields, field);
+        return fields;
+    }
+
+    private void append(final StringBuilder field, final int c) {
+        if (!this.tooLong) {
+            field.append((char) c);
+        }
+    }
+
+    private void add(final List<String> fields, final StringBuilder field) {
+        if (!this.tooLong) {
+            fields.add(field.toString());
+        }
+        field.setLength(0);
+    }
+
+    private String value(final List<String> fields, final String aColumn) {
+        final var index = this.columns.get(aColumn);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private Instant instant(final List<String> fields, final String aColumn, final Notification notification) {
+        final var value = value(fields, aColumn);
+        try {
+            return value == null ? null : Instant.parse(value.trim());
+        } catch (final DateTimeParseException ex) {
+            notification.append(new Error("'%s' should be an ISO-8601 instant".formatted(aColumn)));
+            return null;
+        }
+    }
+
+    private Boolean bool(final List<String> fields, final String aColumn, final Notification notification) {
+        final var value = value(fields, aColumn);
+        if (value == null) {
+            return null;
+        }
+        if (!"true".equalsIgnoreCase(value.trim()) && !"false".equalsIgnoreCase(value.trim())) {
+            notification.append(new Error("'%s' should be true or false".formatted(aColumn)));
+            return null;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+}
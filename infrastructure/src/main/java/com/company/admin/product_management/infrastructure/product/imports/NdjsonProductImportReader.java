@@ -0,0 +1,83 @@
+package com.company.admin.product_management.infrastructure.product.imports;
+
+import com.company.admin.product_management.application.product.create.ImportProductCommand;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import com.company.admin.product_management.infrastructure.configuration.json.Json;
+import com.company.admin.product_management.infrastructure.product.models.CreateProductRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+//one CreateProductRequest per line, blank lines are skipped
+public class NdjsonProductImportReader extends ProductImportReader {
+
+    private static final ObjectReader JSON = Json.mapper().readerFor(CreateProductRequest.class);
+
+    //compared by identity, never confused with a real line
+    private static final String TOO_LONG = new String("");
+
+    private long line;
+
+    public NdjsonProductImportReader(final BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    protected ImportProductCommand read() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+            this.line++;
+        } while (text != TOO_LONG && text.isBlank());
+
+        if (text == TOO_LONG) {
+            return ImportProductCommand.with(this.line, lineTooLong());
+        }
+
+        try {
+            final CreateProductRequest input = JSON.readValue(text);
+            return ImportProductCommand.with(this.line, command(
+                    input.aDescription(),
+                    input.aFabricatedAt(),
+                    input.anExpiredAt(),
+                    input.anSupplierCode(),
+                    input.aSupplierDescription(),
+                    input.aSupplierCNPJ(),
+                    input.isActive()
+            ));
+        } catch (final JsonProcessingException ex) {
+            return ImportProductCommand.with(this.line, Notification.create(new Error("invalid json: " + ex.getOriginalMessage())));
+        }
+    }
+
+    //BufferedReader.readLine keeps the whole line however long it is, past MAX_LINE_LENGTH this only looks for its end
+    private String readLine() throws IOException {
+        final var text = new StringBuilder();
+        var read = false;
+        var tooLong = false;
+
+        int c;
+        while ((c = this.reader.read()) != -1 && c != '\n') {
+            read = true;
+            if (c == '\r') {
+                continue;
+            }
+            if (text.length() < MAX_LINE_LENGTH) {
+                text.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+
+        if (!read && c == -1) {
+            return null;
+        }
+        return tooLong ? TOO_LONG : text.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.admin.product_management.infrastructure.product.imports;
+
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.validation.Error;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+public enum ProductImportFormat {
+    NDJSON,
+    CSV;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static ProductImportFormat from(final String aValue) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(aValue))
+                .findFirst()
+                .orElseThrow(() -> DomainException.with(
+                        new Error("'format' should be one of ndjson or csv")
+                ));
+    }
+
+    public ProductImportReader open(final InputStream in) throws IOException {
+        final var reader = new BufferedReader(new InputStreamReader(decompressed(in), StandardCharsets.UTF_8), BUFFER_SIZE);
+        return switch (this) {
+            case NDJSON -> new NdjsonProductImportReader(reader);
+            case CSV -> new CsvProductImportReader(reader);
+        };
+    }
+
+    //gzip is recognised by its magic number, so it works with or without a Content-Encoding header
+    private static InputStream decompressed(final InputStream in) throws IOException {
+        final var buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        final var isGzip = buffered.read() == 0x1f && buffered.read() == 0x8b;
+        buffered.reset();
+        return isGzip ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.admin.product_management.infrastructure.product.imports;
+
+import com.company.admin.product_management.application.product.create.CreateProductCommand;
+import com.company.admin.product_management.application.product.create.ImportProductCommand;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//reads one product at a time from the request body, nothing before the current line is kept
+public abstract class ProductImportReader implements Iterator<ImportProductCommand>, AutoCloseable {
+
+    //a longer line is read to its end without being kept and reported as an error, so one huge line cannot fill the heap
+    protected static final int MAX_LINE_LENGTH = 16_384;
+
+    protected final BufferedReader reader;
+    private ImportProductCommand next;
+
+    protected ProductImportReader(final BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    //null once the input is over
+    protected abstract ImportProductCommand read() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null) {
+            try {
+                this.next = read();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public ImportProductCommand next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final var current = this.next;
+        this.next = null;
+        return current;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.reader.close();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    protected static Notification lineTooLong() {
+        return Notification.create(new Error("line is longer than %d characters".formatted(MAX_LINE_LENGTH)));
+    }
+
+    protected static CreateProductCommand command(
+            final String aDescription,
+            final Instant aFabricatedAt,
+            final Instant anExpiredAt,
+            final String anSupplierCode,
+            final String aSupplierDescription,
+            final String aSupplierCNPJ,
+            final Boolean isActive
+    ) {
+        return CreateProductCommand.with(
+                aDescription,
+                aFabricatedAt,
+                anExpiredAt,
+                anSupplierCode,
+                aSupplierDescription,
+                aSupplierCNPJ,
+                isActive != null ? isActive : true
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.admin.product_management.infrastructure.product.models;
+
+import com.company.admin.product_management.domain.validation.Error;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record BatchItemResponse(
+        @JsonProperty("index") int anIndex,
+        @JsonProperty("code") String aCode,
+        @JsonProperty("errors") List<Error> errors
+) {
+}
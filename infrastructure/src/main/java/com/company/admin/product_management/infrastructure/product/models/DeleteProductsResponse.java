@@ -0,0 +1,8 @@
+package com.company.admin.product_management.infrastructure.product.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record DeleteProductsResponse(
+        @JsonProperty("deleted") long deleted
+) {
+}
@@ -0,0 +1,20 @@
+package com.company.admin.product_management.infrastructure.product.models;
+
+import com.company.admin.product_management.domain.validation.Error;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record ImportProductsResponse(
+        @JsonProperty("lines") long lines,
+        @JsonProperty("imported") long imported,
+        @JsonProperty("failed") long failed,
+        @JsonProperty("errors") List<LineErrors> errors
+) {
+
+    public record LineErrors(
+            @JsonProperty("line") long line,
+            @JsonProperty("errors") List<Error> errors
+    ) {
+    }
+}
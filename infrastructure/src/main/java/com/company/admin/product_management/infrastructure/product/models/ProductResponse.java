@@ -16,6 +16,7 @@ public record ProductResponse(
         @JsonProperty("is_active") Boolean isActive,
         @JsonProperty("created_at") Instant aCreatedAt,
         @JsonProperty("updated_at") Instant aUpdatedAt,
-        @JsonProperty("deleted_at") Instant aDeletedAt
+        @JsonProperty("deleted_at") Instant aDeletedAt,
+        @JsonProperty("version") Long aVersion
 ) {
 }
@@ -12,6 +12,7 @@ public record UpdateProductRequest(
         @JsonProperty("supplier_code") String anSupplierCode,
         @JsonProperty("supplier_description") String aSupplierDescription,
         @JsonProperty("supplier_cnpj") String aSupplierCNPJ,
-        @JsonProperty("is_active") Boolean isActive
+        @JsonProperty("is_active") Boolean isActive,
+        @JsonProperty("version") Long aVersion
 ){
 }
@@ -0,0 +1,81 @@
+package com.company.admin.product_management.infrastructure.product.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+//plain JDBC batches for the statements spring data cannot send in bulk; inserts go through jpa now that codes
+//come from the pooled table generator
+@Repository
+public class ProductBatchRepository {
+
+    private static final String UPDATE = "UPDATE products SET "
+            + "description = ?, fabricated_at = ?, expired_at = ?, supplier_code = ?, supplier_description = ?, "
+            + "supplier_cnpj = ?, active = ?, updated_at = ?, deleted_at = ?, version = version + 1 "
+            + "WHERE code = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductBatchRepository(
+            final JdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+    }
+
+    //sends every update as one JDBC batch in one transaction, returning the entities that matched a row and version
+    public List<ProductJpaEntity> updateAll(final List<ProductJpaEntity> entities) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+
+        return this.transactionTemplate.execute(status -> {
+            final var counts = this.jdbcTemplate.batchUpdate(UPDATE, entities, entities.size(), ProductBatchRepository::bind)[0];
+
+            final var updated = new ArrayList<ProductJpaEntity>(entities.size());
+            for (var i = 0; i < entities.size(); i++) {
+                //drivers may answer SUCCESS_NO_INFO (-2) for rewritten batches, only 0 means no row matched
+                if (counts[i] != 0) {
+                    final var entity = entities.get(i);
+                    entity.setVersion(entity.getVersion() + 1);
+                    updated.add(entity);
+                }
+            }
+            return updated;
+        });
+    }
+
+    private static void bind(final PreparedStatement ps, final ProductJpaEntity entity) throws SQLException {
+        ps.setString(1, entity.getDescription());
+        setInstant(ps, 2, entity.getFabricatedAt());
+        setInstant(ps, 3, entity.getExpiredAt());
+        ps.setString(4, entity.getSupplierCode());
+        ps.setString(5, entity.getSupplierDescription());
+        ps.setString(6, entity.getSupplierCNPJ());
+        ps.setBoolean(7, entity.isActive());
+        setInstant(ps, 8, entity.getUpdatedAt());
+        setInstant(ps, 9, entity.getDeletedAt());
+        ps.setLong(10, entity.getCode());
+        ps.setLong(11, entity.getVersion());
+    }
+
+    private static void setInstant(final PreparedStatement ps, final int index, final Instant value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.from(value));
+        }
+    }
+}
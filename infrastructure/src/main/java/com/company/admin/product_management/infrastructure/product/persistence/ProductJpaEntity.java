@@ -5,17 +5,30 @@ import com.company.admin.product_management.domain.product.ProductID;
 
 import javax.persistence.*;
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
 @Table(name = "products")
 public class ProductJpaEntity {
 
+    public static final int CODE_ALLOCATION_SIZE = 100;
+
+    //each node reserves a block of codes with a single row update, so inserts need no round trip for the key and can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_code")
+    @TableGenerator(
+            name = "product_code",
+            table = "product_code_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "products",
+            allocationSize = CODE_ALLOCATION_SIZE
+    )
     private Long code;
 
-    @Column (name = "id", length = 36, nullable = false)
-    private String id;
+    //the 16 bytes of the uuid, mapped by hibernate's uuid-binary type
+    @Column(name = "id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID id;
 
     @Column(name = "description", nullable = false)
     private String description;
@@ -47,11 +60,15 @@ public class ProductJpaEntity {
     @Column(name = "deleted_at", columnDefinition = "DATETIME(6)")
     private Instant deletedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public ProductJpaEntity() {}
 
     public static ProductJpaEntity from(final Product aProduct) {
         return new ProductJpaEntity(
-                aProduct.getId().getValue(),
+                aProduct.getId().toUUID(),
                 aProduct.getCode(),
                 aProduct.getDescription(),
                 aProduct.getFabricatedAt(),
@@ -62,12 +79,14 @@ public class ProductJpaEntity {
                 aProduct.isActive(),
                 aProduct.getCreatedAt(),
                 aProduct.getUpdatedAt(),
-                aProduct.getDeletedAt()
+                aProduct.getDeletedAt(),
+                aProduct.getVersion()
         );
     }
 
     public Product toAggregate() {
         return Product.with(
+                getVersion(),
                 ProductID.from(getId()),
                 getCode(),
                 getDescription(),
@@ -84,7 +103,7 @@ public class ProductJpaEntity {
     }
 
     private ProductJpaEntity(
-            String id,
+            UUID id,
             Long code,
             String description,
             Instant fabricatedAt,
@@ -95,7 +114,8 @@ public class ProductJpaEntity {
             boolean active,
             Instant createdAt,
             Instant updatedAt,
-            Instant deletedAt
+            Instant deletedAt,
+            long version
     ) {
         this.id = id;
         this.code = code;
@@ -109,10 +129,11 @@ public class ProductJpaEntity {
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
         this.deletedAt = deletedAt;
+        this.version = version;
     }
 
     private ProductJpaEntity(
-            String id,
+            UUID id,
             String description,
             Instant fabricatedAt,
             Instant expiredAt,
@@ -137,11 +158,11 @@ public class ProductJpaEntity {
         this.deletedAt = deletedAt;
     }
 
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -232,4 +253,12 @@ public class ProductJpaEntity {
     public void setDeletedAt(Instant deletedAt) {
         this.deletedAt = deletedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -1,11 +1,64 @@
 package com.company.admin.product_management.infrastructure.product.persistence;
 
+import com.company.admin.product_management.domain.product.ProductRevision;
+import com.company.admin.product_management.infrastructure.product.search.ProductSearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 public interface ProductRepository extends JpaRepository<ProductJpaEntity, Long > {
 
     Page<ProductJpaEntity> findAll(Specification<ProductJpaEntity> whereClause, Pageable page);
+
+    long count(Specification<ProductJpaEntity> whereClause);
+
+    @Query("select new com.company.admin.product_management.infrastructure.product.search.ProductSearchDocument("
+            + "p.code, p.description, p.supplierCode, p.supplierDescription, p.supplierCNPJ) "
+            + "from ProductJpaEntity p where p.code > :after order by p.code")
+    List<ProductSearchDocument> findSearchDocuments(@Param("after") Long after, Pageable page);
+
+    //served by uk_products_id
+    @Query("select p from ProductJpaEntity p where p.id = :id")
+    Optional<ProductJpaEntity> findByUuid(@Param("id") UUID id);
+
+    //covered by the primary key, so revalidation never reads the rest of the row
+    @Query("select new com.company.admin.product_management.domain.product.ProductRevision(p.code, p.version, p.updatedAt) "
+            + "from ProductJpaEntity p where p.code = :code")
+    Optional<ProductRevision> findRevisionByCode(@Param("code") Long code);
+
+    //single conditional UPDATE, the version check replaces the SELECT hibernate would run to merge a detached entity
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProductJpaEntity p set "
+            + "p.description = :#{#e.description}, p.fabricatedAt = :#{#e.fabricatedAt}, p.expiredAt = :#{#e.expiredAt}, "
+            + "p.supplierCode = :#{#e.supplierCode}, p.supplierDescription = :#{#e.supplierDescription}, "
+            + "p.supplierCNPJ = :#{#e.supplierCNPJ}, p.active = :#{#e.active}, p.updatedAt = :#{#e.updatedAt}, "
+            + "p.deletedAt = :#{#e.deletedAt}, p.version = p.version + 1 "
+            + "where p.code = :#{#e.code} and p.version = :#{#e.version}")
+    int updateIfVersion(@Param("e") ProductJpaEntity entity);
+
+    //the listing version shared by every node, bumped in the transaction of each write
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE catalog_versions SET version = version + 1 WHERE catalog_name = 'products'", nativeQuery = true)
+    int bumpCatalogVersion();
+
+    @Query(value = "SELECT version FROM catalog_versions WHERE catalog_name = 'products'", nativeQuery = true)
+    long findCatalogVersion();
+
+    //single DELETE statement, no lookup of the rows before removing them
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ProductJpaEntity p where p.code in :codes")
+    int deleteAllByCodes(@Param("codes") Collection<Long> codes);
 }
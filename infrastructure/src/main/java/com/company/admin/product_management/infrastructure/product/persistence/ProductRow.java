@@ -0,0 +1,58 @@
+package com.company.admin.product_management.infrastructure.product.persistence;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductID;
+
+import java.time.Instant;
+import java.util.UUID;
+
+//read-only row of a listing query, built by a constructor expression so nothing is attached to the persistence context
+public record ProductRow(
+        UUID id,
+        Long code,
+        String description,
+        Instant fabricatedAt,
+        Instant expiredAt,
+        String supplierCode,
+        String supplierDescription,
+        String supplierCNPJ,
+        boolean active,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant deletedAt,
+        long version
+) {
+    public static final String[] COLUMNS = {
+            "id",
+            "code",
+            "description",
+            "fabricatedAt",
+            "expiredAt",
+            "supplierCode",
+            "supplierDescription",
+            "supplierCNPJ",
+            "active",
+            "createdAt",
+            "updatedAt",
+            "deletedAt",
+            "version"
+    };
+
+    public Product toAggregate() {
+        return Product.with(
+                version,
+                ProductID.from(id),
+                code,
+                description,
+                fabricatedAt,
+                expiredAt,
+                supplierCode,
+                supplierDescription,
+                supplierCNPJ,
+                active,
+                createdAt,
+                updatedAt,
+                deletedAt
+        );
+    }
+}
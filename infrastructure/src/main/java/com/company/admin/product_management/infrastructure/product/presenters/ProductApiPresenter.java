@@ -1,9 +1,18 @@
 package com.company.admin.product_management.infrastructure.product.presenters;
 
+import com.company.admin.product_management.application.product.create.ImportProductsOutput;
 import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
 import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import com.company.admin.product_management.infrastructure.product.models.BatchItemResponse;
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
 import com.company.admin.product_management.infrastructure.product.models.ProductResponse;
 import com.company.admin.product_management.infrastructure.product.models.ProductListResponse;
+import io.vavr.control.Either;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 public interface ProductApiPresenter {
 
@@ -20,7 +29,8 @@ public interface ProductApiPresenter {
                 output.isActive(),
                 output.createdAt(),
                 output.updatedAt(),
-                output.deletedAt()
+                output.deletedAt(),
+                output.version()
         );
     }
 
@@ -39,4 +49,27 @@ public interface ProductApiPresenter {
                 output.deletedAt()
         );
     }
+
+    static ImportProductsResponse present(final ImportProductsOutput output) {
+        return new ImportProductsResponse(
+                output.lines(),
+                output.imported(),
+                output.failed(),
+                output.errors().stream()
+                        .map(line -> new ImportProductsResponse.LineErrors(line.line(), line.errors()))
+                        .toList()
+        );
+    }
+
+    static <T> List<BatchItemResponse> present(
+            final List<Either<Notification, T>> results,
+            final Function<T, Long> code
+    ) {
+        return IntStream.range(0, results.size())
+                .mapToObj(index -> results.get(index).fold(
+                        notification -> new BatchItemResponse(index, null, notification.getErrors()),
+                        output -> new BatchItemResponse(index, code.apply(output).toString(), List.of())
+                ))
+                .toList();
+    }
 }
@@ -0,0 +1,61 @@
+package com.company.admin.product_management.infrastructure.product.search;
+
+import java.util.Arrays;
+
+final class PostingList {
+
+    private int[] codes = new int[4];
+    private int[] frequencies = new int[4];
+    private int size;
+
+    void put(final int code, final int frequency) {
+        final var index = Arrays.binarySearch(codes, 0, size, code);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+
+        final var insertAt = -(index + 1);
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        System.arraycopy(codes, insertAt, codes, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+        codes[insertAt] = code;
+        frequencies[insertAt] = frequency;
+        size++;
+    }
+
+    void remove(final int code) {
+        final var index = Arrays.binarySearch(codes, 0, size, code);
+        if (index < 0) {
+            return;
+        }
+
+        System.arraycopy(codes, index + 1, codes, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+    }
+
+    int frequency(final int code) {
+        final var index = Arrays.binarySearch(codes, 0, size, code);
+        return index >= 0 ? frequencies[index] : 0;
+    }
+
+    boolean contains(final int code) {
+        return Arrays.binarySearch(codes, 0, size, code) >= 0;
+    }
+
+    int[] codes() {
+        return Arrays.copyOf(codes, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.admin.product_management.infrastructure.product.search;
+
+import com.company.admin.product_management.domain.product.Product;
+
+public record ProductSearchDocument(
+        Long code,
+        String description,
+        String supplierCode,
+        String supplierDescription,
+        String supplierCNPJ
+) {
+    public static ProductSearchDocument from(final Product aProduct) {
+        return new ProductSearchDocument(
+                aProduct.getCode(),
+                aProduct.getDescription(),
+                aProduct.getSupplierCode(),
+                aProduct.getSupplierDescription(),
+                aProduct.getSupplierCNPJ()
+        );
+    }
+}
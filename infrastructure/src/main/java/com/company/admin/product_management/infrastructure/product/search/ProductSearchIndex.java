@@ -0,0 +1,244 @@
+package com.company.admin.product_management.infrastructure.product.search;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+@Component
+@ConditionalOnProperty(name = "product.search.index.enabled", havingValue = "true")
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    private static final int LOAD_CHUNK_SIZE = 5_000;
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    //BM25 free parameters, the usual defaults
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ProductRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, String> documents = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private long totalLength;
+
+    public ProductSearchIndex(final ProductRepository repository) {
+        this.repository = Objects.requireNonNull(repository);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        this.lock.writeLock().lock();
+        try {
+            this.documents.clear();
+            this.postings.clear();
+            this.totalLength = 0;
+
+            var after = 0L;
+            var chunk = this.repository.findSearchDocuments(after, PageRequest.ofSize(LOAD_CHUNK_SIZE));
+            while (!chunk.isEmpty()) {
+                chunk.forEach(this::index);
+                after = chunk.get(chunk.size() - 1).code();
+                chunk = this.repository.findSearchDocuments(after, PageRequest.ofSize(LOAD_CHUNK_SIZE));
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void put(final Product aProduct) {
+        put(ProductSearchDocument.from(aProduct));
+    }
+
+    public void put(final ProductSearchDocument aDocument) {
+        this.lock.writeLock().lock();
+        try {
+            unindex(Math.toIntExact(aDocument.code()));
+            index(aDocument);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long aCode) {
+        this.lock.writeLock().lock();
+        try {
+            unindex(Math.toIntExact(aCode));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    //codes, ascending, of the products having terms as a substring of one of the indexed fields
+    public int[] search(final String terms) {
+        final var term = normalize(terms).strip();
+
+        this.lock.readLock().lock();
+        try {
+            if (term.length() < GRAM) {
+                return scan(term);
+            }
+
+            final var lists = grams(term).keySet().stream()
+                    .map(this.postings::get)
+                    .toList();
+            if (lists.stream().anyMatch(list -> list == null || list.isEmpty())) {
+                return new int[0];
+            }
+
+            final var smallest = lists.stream().min(Comparator.comparingInt(PostingList::size)).orElseThrow();
+            return Arrays.stream(smallest.codes())
+                    .filter(code -> lists.stream().allMatch(list -> list.contains(code)))
+                    .filter(code -> this.documents.get(code).contains(term))
+                    .toArray();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    //candidates ordered by BM25 over the term trigrams, best first
+    public int[] rank(final String terms, final int[] candidates) {
+        final var queryGrams = grams(normalize(terms).strip()).keySet();
+        if (queryGrams.isEmpty()) {
+            return candidates;
+        }
+
+        this.lock.readLock().lock();
+        try {
+            final var count = this.documents.size();
+            final var averageLength = count == 0 ? 1d : (double) this.totalLength / count;
+            final var scores = new double[candidates.length];
+
+            for (final var gram : queryGrams) {
+                final var list = this.postings.get(gram);
+                if (list == null) {
+                    continue;
+                }
+
+                final var idf = Math.log(1 + (count - list.size() + 0.5) / (list.size() + 0.5));
+                for (var i = 0; i < candidates.length; i++) {
+                    final var frequency = list.frequency(candidates[i]);
+                    final var document = this.documents.get(candidates[i]);
+                    if (frequency == 0 || document == null) {
+                        continue;
+                    }
+
+                    final var length = length(document);
+                    scores[i] += idf * frequency * (K1 + 1)
+                            / (frequency + K1 * (1 - B + B * length / averageLength));
+                }
+            }
+
+            return IntStream.range(0, candidates.length)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(i -> scores[i]).reversed()
+                            .thenComparingInt(i -> candidates[i]))
+                    .mapToInt(i -> candidates[i])
+                    .toArray();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private int[] scan(final String term) {
+        return this.documents.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(term))
+                .mapToInt(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    private void index(final ProductSearchDocument aDocument) {
+        final var code = Math.toIntExact(aDocument.code());
+        final var text = text(aDocument);
+
+        this.documents.put(code, text);
+        this.totalLength += length(text);
+        grams(text).forEach((gram, frequency) ->
+                this.postings.computeIfAbsent(gram, key -> new PostingList()).put(code, frequency[0])
+        );
+    }
+
+    private void unindex(final int code) {
+        final var text = this.documents.remove(code);
+        if (text == null) {
+            return;
+        }
+
+        this.totalLength -= length(text);
+        grams(text).keySet().forEach(gram -> {
+            final var list = this.postings.get(gram);
+            list.remove(code);
+            if (list.isEmpty()) {
+                this.postings.remove(gram);
+            }
+        });
+    }
+
+    private static Map<Long, int[]> grams(final String text) {
+        final var grams = new HashMap<Long, int[]>();
+        for (var i = 0; i + GRAM <= text.length(); i++) {
+            final var a = text.charAt(i);
+            final var b = text.charAt(i + 1);
+            final var c = text.charAt(i + 2);
+            if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) {
+                continue;
+            }
+
+            final var key = ((long) a << 32) | ((long) b << 16) | c;
+            grams.computeIfAbsent(key, k -> new int[1])[0]++;
+        }
+        return grams;
+    }
+
+    private static int length(final String text) {
+        return Math.max(text.length() - GRAM + 1, 1);
+    }
+
+    private static String text(final ProductSearchDocument aDocument) {
+        return String.join(
+                String.valueOf(FIELD_SEPARATOR),
+                normalize(aDocument.description()),
+                normalize(aDocument.supplierCode()),
+                normalize(aDocument.supplierDescription()),
+                normalize(aDocument.supplierCNPJ())
+        );
+    }
+
+    //same matching rules as the case and accent insensitive collation of the LIKE search
+    private static String normalize(final String value) {
+        if (value == null) {
+            return "";
+        }
+        final var decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
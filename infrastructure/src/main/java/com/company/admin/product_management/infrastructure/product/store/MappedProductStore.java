@@ -0,0 +1,388 @@
+package com.company.admin.product_management.infrastructure.product.store;
+
+import com.company.admin.product_management.domain.product.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+//products kept off-heap in memory-mapped files that outlive the process: fixed-size records in products.dat,
+//the record slot of each code in products.idx and every change logged to products.wal before it touches the mappings
+@Component
+@ConditionalOnProperty(name = "product.store.enabled", havingValue = "true")
+public class MappedProductStore {
+
+    private static final long MAGIC = 0x50524f4455435453L;
+    private static final int LAYOUT_VERSION = 4;
+
+    //a mapping cannot pass 2GB, so both files are mapped in fixed segments as they grow
+    private static final int RECORDS_PER_SEGMENT = 1 << 16;
+    private static final int CODES_PER_SEGMENT = 1 << 20;
+    private static final long DATA_SEGMENT_BYTES = (long) RECORDS_PER_SEGMENT * ProductRecord.SIZE;
+    private static final long INDEX_SEGMENT_BYTES = (long) CODES_PER_SEGMENT * Integer.BYTES;
+
+    //crc, code and slot ahead of the record image
+    private static final int ENTRY_HEADER = Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int ENTRY_BYTES = ENTRY_HEADER + ProductRecord.SIZE;
+
+    private static final int STRIPES = 64;
+
+    private final long checkpointBytes;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final FileChannel wal;
+    private final StampedLock[] stripes = new StampedLock[STRIPES];
+    private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final ReentrantLock walLock = new ReentrantLock();
+    private final ReentrantLock mapLock = new ReentrantLock();
+    private final AtomicLong nextSlot = new AtomicLong(1);
+    private volatile MappedByteBuffer[] dataSegments = new MappedByteBuffer[0];
+    private volatile MappedByteBuffer[] indexSegments = new MappedByteBuffer[0];
+    private volatile long walPosition;
+
+    public MappedProductStore(
+            @Value("${product.store.directory:#{null}}") final Path directory,
+            @Value("${product.store.checkpoint-size:64MB}") final DataSize checkpointSize
+    ) {
+        //the files must outlive restarts and temp cleaners, so there is no default to fall back on
+        if (directory == null || !directory.isAbsolute()) {
+            throw new IllegalStateException("product.store.directory must be set to an absolute path when product.store.enabled is true");
+        }
+        this.checkpointBytes = checkpointSize.toBytes();
+        Arrays.setAll(this.stripes, i -> new StampedLock());
+
+        try {
+            Files.createDirectories(directory);
+            this.data = FileChannel.open(directory.resolve("products.dat"), CREATE, READ, WRITE);
+            this.index = FileChannel.open(directory.resolve("products.idx"), CREATE, READ, WRITE);
+            this.wal = FileChannel.open(directory.resolve("products.wal"), CREATE, READ, WRITE);
+            open();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    //maps what is on disk and replays the log, the pages themselves are only read when a product is asked for
+    private void open() throws IOException {
+        final var header = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        if (this.data.read(header, 0) > 0) {
+            //a file of another layout is thrown away, the gateway loads its products again on demand
+            if (header.getLong(0) != MAGIC || header.getInt(Long.BYTES) != LAYOUT_VERSION) {
+                this.data.truncate(0);
+                this.index.truncate(0);
+                this.wal.truncate(0);
+            }
+        }
+
+        this.dataSegments = grow(this.data, this.dataSegments, segments(this.data.size(), DATA_SEGMENT_BYTES), DATA_SEGMENT_BYTES);
+        this.indexSegments = grow(this.index, this.indexSegments, segments(this.index.size(), INDEX_SEGMENT_BYTES), INDEX_SEGMENT_BYTES);
+        this.dataSegments[0].putLong(0, MAGIC).putInt(Long.BYTES, LAYOUT_VERSION);
+
+        //slot 0 holds the header, an index entry of 0 means no slot yet
+        for (final var segment : this.indexSegments) {
+            for (var offset = 0; offset < INDEX_SEGMENT_BYTES; offset += Integer.BYTES) {
+                this.nextSlot.accumulateAndGet(Integer.toUnsignedLong(segment.getInt(offset)) + 1, Math::max);
+            }
+        }
+
+        replay();
+        checkpoint();
+    }
+
+    public Optional<Product> get(final Long code) {
+        final var lock = stripe(code);
+        var stamp = lock.tryOptimisticRead();
+        var image = image(code);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                image = image(code);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return image != null && ProductRecord.state(image) == ProductRecord.LIVE
+                ? Optional.of(ProductRecord.product(image))
+                : Optional.empty();
+    }
+
+    //keeps a product unless the store already holds that version or a newer one, removed codes included
+    public void put(final Product aProduct) {
+        putAll(List.of(aProduct));
+    }
+
+    public void putAll(final Collection<Product> aProducts) {
+        changeAll(() -> aProducts.forEach(aProduct -> write(aProduct.getCode(), current -> {
+            if (current != null && ProductRecord.state(current) != ProductRecord.EMPTY
+                    && ProductRecord.version(current) >= aProduct.getVersion()) {
+                return null;
+            }
+            final var image = ProductRecord.live(aProduct);
+            return image != null ? image : ProductRecord.removed(aProduct.getCode(), aProduct.getVersion());
+        })), false);
+    }
+
+    //reads miss from here on and a read-through of the version being replaced is refused, logged durably
+    //because it has to be on disk before the database changes
+    public void evictAll(final Collection<Product> aProducts) {
+        changeAll(() -> aProducts.forEach(aProduct -> write(aProduct.getCode(), current -> ProductRecord.removed(
+                aProduct.getCode(),
+                current != null ? Math.max(ProductRecord.version(current), aProduct.getVersion()) : aProduct.getVersion()
+        ))), true);
+    }
+
+    //codes are never reused, a removed code refuses every later version
+    public void removeAll(final Collection<Long> codes) {
+        changeAll(() -> codes.forEach(code -> write(code, current -> ProductRecord.removed(code, Long.MAX_VALUE))), true);
+    }
+
+    //drops whatever is kept for the codes so a read-through can store them again
+    public void forgetAll(final Collection<Long> codes) {
+        changeAll(() -> codes.forEach(code -> write(code, current ->
+                current != null && ProductRecord.state(current) != ProductRecord.EMPTY ? ProductRecord.empty(code) : null
+        )), false);
+    }
+
+    //once the mappings are on disk the log is no longer needed
+    public void checkpoint() {
+        this.checkpointLock.writeLock().lock();
+        try {
+            for (final var segment : this.dataSegments) {
+                segment.force();
+            }
+            for (final var segment : this.indexSegments) {
+                segment.force();
+            }
+            this.walLock.lock();
+            try {
+                this.wal.truncate(0);
+                this.wal.force(false);
+                this.walPosition = 0;
+            } finally {
+                this.walLock.unlock();
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            this.checkpointLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        checkpoint();
+        try {
+            this.data.close();
+            this.index.close();
+            this.wal.close();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void changeAll(final Runnable changes, final boolean durable) {
+        this.checkpointLock.readLock().lock();
+        try {
+            changes.run();
+            if (durable) {
+                this.wal.force(false);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            this.checkpointLock.readLock().unlock();
+        }
+
+        if (this.walPosition >= this.checkpointBytes) {
+            checkpoint();
+        }
+    }
+
+    //the stripe lock keeps the log order of a code the same as the order its record is written in
+    private void write(final long code, final UnaryOperator<byte[]> change) {
+        final var lock = stripe(code);
+        final var stamp = lock.writeLock();
+        try {
+            var slot = slotOf(code);
+            final var next = change.apply(image(code));
+            if (next == null) {
+                return;
+            }
+            if (slot == 0) {
+                slot = this.nextSlot.getAndIncrement();
+            }
+            append(code, slot, next);
+            place(code, slot, next);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void append(final long code, final long slot, final byte[] image) {
+        final var entry = ByteBuffer.allocate(ENTRY_BYTES)
+                .putInt(0)
+                .putLong(code)
+                .putLong(slot)
+                .put(image);
+        entry.putInt(0, checksum(entry.array()));
+        entry.flip();
+
+        this.walLock.lock();
+        try {
+            var position = this.walPosition;
+            while (entry.hasRemaining()) {
+                position += this.wal.write(entry, position);
+            }
+            this.walPosition = position;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            this.walLock.unlock();
+        }
+    }
+
+    //entries carry the slot they were written to, so replaying one twice or over a flushed page changes nothing
+    private void replay() throws IOException {
+        final var entry = ByteBuffer.allocate(ENTRY_BYTES);
+        var position = 0L;
+        //a torn or corrupt entry is the tail of a write that never finished, nothing after it was acknowledged
+        while (read(entry, position) && entry.getInt(0) == checksum(entry.array())) {
+
+            final var code = entry.getLong(Integer.BYTES);
+            final var slot = entry.getLong(Integer.BYTES + Long.BYTES);
+            place(code, slot, Arrays.copyOfRange(entry.array(), ENTRY_HEADER, ENTRY_BYTES));
+            this.nextSlot.accumulateAndGet(slot + 1, Math::max);
+            position += ENTRY_BYTES;
+        }
+    }
+
+    private boolean read(final ByteBuffer entry, final long position) throws IOException {
+        entry.clear();
+        while (entry.hasRemaining()) {
+            if (this.wal.read(entry, position + entry.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //the record goes in before the index points at it
+    private void place(final long code, final long slot, final byte[] image) {
+        dataSegment((int) (slot / RECORDS_PER_SEGMENT))
+                .put((int) (slot % RECORDS_PER_SEGMENT) * ProductRecord.SIZE, image);
+        indexSegment((int) (code / CODES_PER_SEGMENT))
+                .putInt((int) (code % CODES_PER_SEGMENT) * Integer.BYTES, (int) slot);
+    }
+
+    //the record of a code, null when it has none or its slot holds another code after a crash; puts and forgets are
+    //not forced to the log, so a page torn by a power loss may have none to replay over it and fails its checksum,
+    //the gateway then loads the product from the database again
+    private byte[] image(final long code) {
+        final var slot = slotOf(code);
+        final var segments = this.dataSegments;
+        final var segment = (int) (slot / RECORDS_PER_SEGMENT);
+        if (slot == 0 || segment >= segments.length) {
+            return null;
+        }
+
+        final var image = new byte[ProductRecord.SIZE];
+        segments[segment].get((int) (slot % RECORDS_PER_SEGMENT) * ProductRecord.SIZE, image);
+        return ProductRecord.code(image) == code && ProductRecord.intact(image) ? image : null;
+    }
+
+    private long slotOf(final long code) {
+        final var segments = this.indexSegments;
+        final var segment = (int) (code / CODES_PER_SEGMENT);
+        if (code < 0 || segment >= segments.length) {
+            return 0;
+        }
+        return Integer.toUnsignedLong(segments[segment].getInt((int) (code % CODES_PER_SEGMENT) * Integer.BYTES));
+    }
+
+    private StampedLock stripe(final long code) {
+        return this.stripes[(int) Math.floorMod(code, (long) STRIPES)];
+    }
+
+    private MappedByteBuffer dataSegment(final int segment) {
+        if (segment >= this.dataSegments.length) {
+            this.mapLock.lock();
+            try {
+                this.dataSegments = grow(this.data, this.dataSegments, segment + 1, DATA_SEGMENT_BYTES);
+            } finally {
+                this.mapLock.unlock();
+            }
+        }
+        return this.dataSegments[segment];
+    }
+
+    private MappedByteBuffer indexSegment(final int segment) {
+        if (segment >= this.indexSegments.length) {
+            this.mapLock.lock();
+            try {
+                this.indexSegments = grow(this.index, this.indexSegments, segment + 1, INDEX_SEGMENT_BYTES);
+            } finally {
+                this.mapLock.unlock();
+            }
+        }
+        return this.indexSegments[segment];
+    }
+
+    private static MappedByteBuffer[] grow(
+            final FileChannel channel,
+            final MappedByteBuffer[] segments,
+            final int count,
+            final long segmentBytes
+    ) {
+        if (count <= segments.length) {
+            return segments;
+        }
+
+        final var grown = Arrays.copyOf(segments, count);
+        for (var i = segments.length; i < count; i++) {
+            grown[i] = map(channel, i, segmentBytes);
+        }
+        return grown;
+    }
+
+    private static MappedByteBuffer map(final FileChannel channel, final long segment, final long segmentBytes) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, segment * segmentBytes, segmentBytes);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static int segments(final long size, final long segmentBytes) {
+        return (int) Math.max(1, (size + segmentBytes - 1) / segmentBytes);
+    }
+
+    private static int checksum(final byte[] entry) {
+        final var crc = new CRC32();
+        crc.update(entry, Integer.BYTES, entry.length - Integer.BYTES);
+        return (int) crc.getValue();
+    }
+}
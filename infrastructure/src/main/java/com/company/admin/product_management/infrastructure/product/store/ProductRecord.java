@@ -0,0 +1,173 @@
+package com.company.admin.product_management.infrastructure.product.store;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductID;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+//fixed layout of one product in the data file, every record takes SIZE bytes whatever its contents
+final class ProductRecord {
+
+    static final int SIZE = 1_728;
+
+    static final byte EMPTY = 0;
+    static final byte LIVE = 1;
+    static final byte REMOVED = 2;
+
+    private static final int STATE = 0;
+    private static final int ACTIVE = 1;
+    //crc32 of every other byte, a record whose page was flushed halfway through a write no longer matches it
+    private static final int CHECKSUM = 4;
+    private static final int CODE = 8;
+    private static final int VERSION = 16;
+
+    //epoch second and nano of each instant, a negative nano stands for null
+    private static final int FABRICATED_AT = 24;
+    private static final int EXPIRED_AT = 36;
+    private static final int CREATED_AT = 48;
+    private static final int UPDATED_AT = 60;
+    private static final int DELETED_AT = 72;
+
+    //the two halves of the uuid
+    private static final int ID = 84;
+
+    //utf-8 strings behind a short length, -1 for null; the slots fit the VARCHAR columns at two bytes per char
+    private static final int DESCRIPTION = ID + 2 * Long.BYTES;
+    private static final int DESCRIPTION_BYTES = 510;
+    private static final int SUPPLIER_CODE = DESCRIPTION + Short.BYTES + DESCRIPTION_BYTES;
+    private static final int SUPPLIER_CODE_BYTES = 510;
+    private static final int SUPPLIER_DESCRIPTION = SUPPLIER_CODE + Short.BYTES + SUPPLIER_CODE_BYTES;
+    private static final int SUPPLIER_DESCRIPTION_BYTES = 510;
+    private static final int SUPPLIER_CNPJ = SUPPLIER_DESCRIPTION + Short.BYTES + SUPPLIER_DESCRIPTION_BYTES;
+    private static final int SUPPLIER_CNPJ_BYTES = 56;
+
+    private ProductRecord() {
+    }
+
+    //null when a string does not fit its slot, such a product is kept out of the store
+    static byte[] live(final Product aProduct) {
+        final var image = new byte[SIZE];
+        final var buffer = ByteBuffer.wrap(image)
+                .put(STATE, LIVE)
+                .put(ACTIVE, (byte) (aProduct.isActive() ? 1 : 0))
+                .putLong(CODE, aProduct.getCode())
+                .putLong(VERSION, aProduct.getVersion())
+                .putLong(ID, aProduct.getId().getMostSignificantBits())
+                .putLong(ID + Long.BYTES, aProduct.getId().getLeastSignificantBits());
+
+        putInstant(buffer, FABRICATED_AT, aProduct.getFabricatedAt());
+        putInstant(buffer, EXPIRED_AT, aProduct.getExpiredAt());
+        putInstant(buffer, CREATED_AT, aProduct.getCreatedAt());
+        putInstant(buffer, UPDATED_AT, aProduct.getUpdatedAt());
+        putInstant(buffer, DELETED_AT, aProduct.getDeletedAt());
+
+        final var fits = putString(buffer, DESCRIPTION, DESCRIPTION_BYTES, aProduct.getDescription())
+                && putString(buffer, SUPPLIER_CODE, SUPPLIER_CODE_BYTES, aProduct.getSupplierCode())
+                && putString(buffer, SUPPLIER_DESCRIPTION, SUPPLIER_DESCRIPTION_BYTES, aProduct.getSupplierDescription())
+                && putString(buffer, SUPPLIER_CNPJ, SUPPLIER_CNPJ_BYTES, aProduct.getSupplierCNPJ());
+
+        return fits ? sealed(image) : null;
+    }
+
+    //a code whose reads must miss until a newer version is stored
+    static byte[] removed(final long code, final long version) {
+        return sealed(ByteBuffer.allocate(SIZE)
+                .put(STATE, REMOVED)
+                .putLong(CODE, code)
+                .putLong(VERSION, version)
+                .array());
+    }
+
+    static byte[] empty(final long code) {
+        return sealed(ByteBuffer.allocate(SIZE)
+                .put(STATE, EMPTY)
+                .putLong(CODE, code)
+                .array());
+    }
+
+    static boolean intact(final byte[] image) {
+        return ByteBuffer.wrap(image).getInt(CHECKSUM) == checksum(image);
+    }
+
+    static byte state(final byte[] image) {
+        return image[STATE];
+    }
+
+    static long code(final byte[] image) {
+        return ByteBuffer.wrap(image).getLong(CODE);
+    }
+
+    static long version(final byte[] image) {
+        return ByteBuffer.wrap(image).getLong(VERSION);
+    }
+
+    static Product product(final byte[] image) {
+        final var buffer = ByteBuffer.wrap(image);
+        return Product.with(
+                buffer.getLong(VERSION),
+                ProductID.from(buffer.getLong(ID), buffer.getLong(ID + Long.BYTES)),
+                buffer.getLong(CODE),
+                getString(buffer, DESCRIPTION),
+                getInstant(buffer, FABRICATED_AT),
+                getInstant(buffer, EXPIRED_AT),
+                getString(buffer, SUPPLIER_CODE),
+                getString(buffer, SUPPLIER_DESCRIPTION),
+                getString(buffer, SUPPLIER_CNPJ),
+                buffer.get(ACTIVE) == 1,
+                getInstant(buffer, CREATED_AT),
+                getInstant(buffer, UPDATED_AT),
+                getInstant(buffer, DELETED_AT)
+        );
+    }
+
+    private static byte[] sealed(final byte[] image) {
+        ByteBuffer.wrap(image).putInt(CHECKSUM, checksum(image));
+        return image;
+    }
+
+    private static int checksum(final byte[] image) {
+        final var crc = new CRC32();
+        crc.update(image, 0, CHECKSUM);
+        crc.update(image, CHECKSUM + Integer.BYTES, SIZE - CHECKSUM - Integer.BYTES);
+        return (int) crc.getValue();
+    }
+
+    private static void putInstant(final ByteBuffer buffer, final int offset, final Instant value) {
+        buffer.putLong(offset, value != null ? value.getEpochSecond() : 0L);
+        buffer.putInt(offset + Long.BYTES, value != null ? value.getNano() : -1);
+    }
+
+    private static Instant getInstant(final ByteBuffer buffer, final int offset) {
+        final var nano = buffer.getInt(offset + Long.BYTES);
+        return nano >= 0 ? Instant.ofEpochSecond(buffer.getLong(offset), nano) : null;
+    }
+
+    private static boolean putString(final ByteBuffer buffer, final int offset, final int capacity, final String value) {
+        if (value == null) {
+            buffer.putShort(offset, (short) -1);
+            return true;
+        }
+
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > capacity) {
+            return false;
+        }
+        buffer.putShort(offset, (short) bytes.length);
+        buffer.put(offset + Short.BYTES, bytes);
+        return true;
+    }
+
+    private static String getString(final ByteBuffer buffer, final int offset) {
+        final var length = buffer.getShort(offset);
+        if (length < 0) {
+            return null;
+        }
+
+        final var bytes = new byte[length];
+        buffer.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
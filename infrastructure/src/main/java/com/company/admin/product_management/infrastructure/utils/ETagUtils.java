@@ -0,0 +1,43 @@
+package com.company.admin.product_management.infrastructure.utils;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+//conditional request checks shared by the servlet controllers and the reactive handlers
+public final class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    //accepts "3" and W/"3", the wildcard skips the check and a tag that is not a version never matches
+    public static Long versionOf(final String ifMatch) {
+        final var tag = ifMatch.trim();
+        if ("*".equals(tag)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.replaceFirst("^W/", "").replace("\"", ""));
+        } catch (final NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    //If-None-Match wins over If-Modified-Since, and the date is compared at the one second precision of the header
+    public static boolean isNotModified(final HttpHeaders headers, final long version, final Instant updatedAt) {
+        if (!headers.getIfNoneMatch().isEmpty()) {
+            return matches(headers.getIfNoneMatch(), "\"" + version + "\"");
+        }
+        return updatedAt.truncatedTo(ChronoUnit.SECONDS).toEpochMilli() <= headers.getIfModifiedSince();
+    }
+
+    //weak comparison, as allowed for GET
+    public static boolean matches(final List<String> ifNoneMatch, final String eTag) {
+        final var opaqueTag = eTag.replaceFirst("^W/", "");
+        return ifNoneMatch.stream()
+                .map(tag -> tag.replaceFirst("^W/", ""))
+                .anyMatch(tag -> "*".equals(tag) || opaqueTag.equals(tag));
+    }
+}
@@ -1,7 +1,14 @@
 package com.company.admin.product_management.infrastructure.utils;
 
+import com.company.admin.product_management.infrastructure.configuration.dialect.MySQLFullTextDialect;
 import org.springframework.data.jpa.domain.Specification;
 
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+
 public final class SpecificationUtils {
 
     private SpecificationUtils() {
@@ -11,6 +18,73 @@ public final class SpecificationUtils {
        return  (root, query, cb) -> cb.like(cb.upper(root.get(prop)), like(term.toUpperCase()));
     }
 
+    public static <T> Specification<T> match(final String term, final String... props) {
+        return (root, query, cb) -> cb.greaterThan(relevance(root, cb, term, props), 0d);
+    }
+
+    //full-text relevance over the FULLTEXT index covering props, the term is searched as an n-gram phrase
+    public static <T> Expression<Double> relevance(
+            final Root<T> root,
+            final CriteriaBuilder cb,
+            final String term,
+            final String... props
+    ) {
+        final var arguments = new ArrayList<Expression<?>>();
+        for (final var prop : props) {
+            arguments.add(root.get(prop));
+        }
+        arguments.add(cb.literal(phrase(term)));
+
+        return cb.function(MySQLFullTextDialect.MATCH_AGAINST, Double.class, arguments.toArray(Expression[]::new));
+    }
+
+    //the term as one quoted n-gram phrase of a boolean mode search
+    public static String phrase(final String term) {
+        return "\"" + term.replace("\"", " ").trim() + "\"";
+    }
+
+    //keyset predicate: rows strictly after (value, tieValue) in "prop, tieProp" order.
+    //nulls follow the MySQL default, first on asc and last on desc.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static <T> Specification<T> seek(
+            final String prop,
+            final Comparable value,
+            final String tieProp,
+            final Comparable tieValue,
+            final boolean ascending
+    ) {
+        return (root, query, cb) -> {
+            final Expression<Comparable> path = root.get(prop);
+            final Expression<Comparable> tie = root.get(tieProp);
+            final Predicate tieAfter = after(cb, tie, tieValue, ascending);
+
+            if (prop.equals(tieProp)) {
+                return tieAfter;
+            }
+
+            if (value == null) {
+                final var nullsAfter = cb.and(cb.isNull(path), tieAfter);
+                return ascending ? cb.or(nullsAfter, cb.isNotNull(path)) : nullsAfter;
+            }
+
+            final var valuesAfter = cb.or(
+                    after(cb, path, value, ascending),
+                    cb.and(cb.equal(path, value), tieAfter)
+            );
+            return ascending ? valuesAfter : cb.or(valuesAfter, cb.isNull(path));
+        };
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate after(
+            final CriteriaBuilder cb,
+            final Expression<Comparable> path,
+            final Comparable value,
+            final boolean ascending
+    ) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
     private static String like(String term) {
         return "%" + term + "%";
     }
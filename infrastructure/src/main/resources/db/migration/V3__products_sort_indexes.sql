@@ -0,0 +1,8 @@
+CREATE UNIQUE INDEX uk_products_id ON products (id);
+CREATE INDEX idx_products_description_code ON products (description, code);
+CREATE INDEX idx_products_fabricated_at_code ON products (fabricated_at, code);
+CREATE INDEX idx_products_expired_at_code ON products (expired_at, code);
+CREATE INDEX idx_products_supplier_cnpj_code ON products (supplier_cnpj, code);
+CREATE INDEX idx_products_active_code ON products (active, code);
+CREATE INDEX idx_products_created_at_code ON products (created_at, code);
+CREATE INDEX idx_products_updated_at_code ON products (updated_at, code);
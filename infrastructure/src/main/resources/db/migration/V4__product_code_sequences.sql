@@ -0,0 +1,9 @@
+CREATE TABLE product_code_sequences(
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- O otimizador pooled do Hibernate usa os códigos (next_val - 99) até next_val do bloco lido,
+-- por isso a semente é o maior código existente somado ao allocationSize (100) de ProductJpaEntity.
+INSERT INTO product_code_sequences (sequence_name, next_val)
+SELECT 'products', COALESCE(MAX(code), 0) + 100 FROM products;
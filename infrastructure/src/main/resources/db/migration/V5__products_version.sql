@@ -0,0 +1,2 @@
+-- Controle de concorrência otimista: cada UPDATE confere e incrementa a versão na mesma instrução.
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- Jobs do POST /products/import-jobs. processed_lines é a última linha do arquivo já gravada,
+-- a retomada depois de um restart continua a partir dela.
+CREATE TABLE product_import_jobs(
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    format VARCHAR(16) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    total_bytes BIGINT NOT NULL,
+    processed_bytes BIGINT NOT NULL DEFAULT 0,
+    processed_lines BIGINT NOT NULL DEFAULT 0,
+    imported BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    errors MEDIUMTEXT,
+    message VARCHAR(255),
+    run_started_at DATETIME(6),
+    run_start_rows BIGINT NOT NULL DEFAULT 0,
+    run_start_bytes BIGINT NOT NULL DEFAULT 0,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    finished_at DATETIME(6)
+);
+
+CREATE INDEX idx_product_import_jobs_status_created_at ON product_import_jobs (status, created_at);
@@ -0,0 +1,8 @@
+CREATE TABLE catalog_versions(
+    catalog_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- Versão da listagem compartilhada por todos os nós: cada escrita em products a incrementa na própria
+-- transação, então o ETag muda em todos os nós no mesmo instante em que as linhas mudam.
+INSERT INTO catalog_versions (catalog_name, version) VALUES ('products', 0);
@@ -0,0 +1,92 @@
+package com.company.admin.product_management.infrastructure.api;
+
+import com.company.admin.product_management.infrastructure.ControllerTest;
+import com.company.admin.product_management.infrastructure.importjob.ImportJobService;
+import com.company.admin.product_management.infrastructure.importjob.persistence.ImportJobJpaEntity;
+import com.company.admin.product_management.infrastructure.product.imports.ProductImportFormat;
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
+import com.company.admin.product_management.domain.validation.Error;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ControllerTest(controllers = ImportJobAPI.class)
+public class ImportJobAPITest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ImportJobService importJobService;
+
+    @Test
+    public void givenACsvBody_whenCallsCreateImportJobApi_thenShouldReturnAcceptedWithTheJobLocation() throws Exception {
+        final var aJob = ImportJobJpaEntity.newJob("job-1", "CSV", 120);
+
+        when(importJobService.submit(eq(ProductImportFormat.CSV), any())).thenReturn(Optional.of(aJob));
+
+        final var request = MockMvcRequestBuilders.post("/products/import-jobs")
+                .queryParam("format", "csv")
+                .contentType("text/csv")
+                .content("description\nfirst product.\n");
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/products/import-jobs/job-1"))
+                .andExpect(jsonPath("$.id", equalTo("job-1")))
+                .andExpect(jsonPath("$.status", equalTo("queued")))
+                .andExpect(jsonPath("$.total_bytes", equalTo(120)));
+    }
+
+    @Test
+    public void givenAFullQueue_whenCallsCreateImportJobApi_thenShouldReturnServiceUnavailable() throws Exception {
+        when(importJobService.submit(any(), any())).thenReturn(Optional.empty());
+
+        this.mvc.perform(MockMvcRequestBuilders.post("/products/import-jobs").content("{}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"));
+    }
+
+    @Test
+    public void givenARunningJob_whenCallsGetImportJobApi_thenShouldReportProgressRateAndEta() throws Exception {
+        final var aJob = ImportJobJpaEntity.newJob("job-1", "NDJSON", 1_000)
+                .start()
+                .advance(10, 250, 9, List.of(new ImportProductsResponse.LineErrors(3, List.of(new Error("invalid json")))), 10);
+
+        when(importJobService.findById(eq("job-1"))).thenReturn(Optional.of(aJob));
+
+        this.mvc.perform(MockMvcRequestBuilders.get("/products/import-jobs/job-1"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", equalTo("running")))
+                .andExpect(jsonPath("$.rows_processed", equalTo(10)))
+                .andExpect(jsonPath("$.imported", equalTo(9)))
+                .andExpect(jsonPath("$.failed", equalTo(1)))
+                .andExpect(jsonPath("$.errors[0].line", equalTo(3)))
+                .andExpect(jsonPath("$.rows_per_second", notNullValue()))
+                .andExpect(jsonPath("$.eta_seconds", notNullValue()));
+    }
+
+    @Test
+    public void givenAnUnknownJob_whenCallsGetImportJobApi_thenShouldReturnNotFound() throws Exception {
+        when(importJobService.findById(any())).thenReturn(Optional.empty());
+
+        this.mvc.perform(MockMvcRequestBuilders.get("/products/import-jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
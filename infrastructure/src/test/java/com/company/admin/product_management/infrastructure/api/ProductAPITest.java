@@ -2,15 +2,29 @@ package com.company.admin.product_management.infrastructure.api;
 
 import com.company.admin.product_management.application.product.create.CreateProductOutput;
 import com.company.admin.product_management.application.product.create.CreateProductUseCase;
+import com.company.admin.product_management.application.product.create.CreateProductsUseCase;
+import com.company.admin.product_management.application.product.create.ImportProductCommand;
+import com.company.admin.product_management.application.product.create.ImportProductsOutput;
+import com.company.admin.product_management.application.product.create.ImportProductsUseCase;
 import com.company.admin.product_management.application.product.delete.DeleteProductUseCase;
+import com.company.admin.product_management.application.product.delete.DeleteProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.count.CountProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.export.ExportProductsUseCase;
 import com.company.admin.product_management.application.product.retrieve.get.GetProductByCodeUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.GetProductByIdUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.GetProductRevisionUseCase;
+import com.company.admin.product_management.application.product.retrieve.get.ProductRevisionOutput;
 import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+import com.company.admin.product_management.application.product.retrieve.list.GetCatalogVersionUseCase;
 import com.company.admin.product_management.application.product.retrieve.list.ListProductsUseCase;
 import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
 import com.company.admin.product_management.application.product.update.UpdateProductOutput;
 import com.company.admin.product_management.application.product.update.UpdateProductUseCase;
+import com.company.admin.product_management.application.product.update.UpdateProductsUseCase;
 import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.ConflictException;
 import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
 import com.company.admin.product_management.domain.pagination.Pagination;
 import com.company.admin.product_management.domain.product.Product;
 import com.company.admin.product_management.domain.product.ProductID;
@@ -21,25 +35,36 @@ import com.company.admin.product_management.infrastructure.product.models.Create
 import com.company.admin.product_management.infrastructure.product.models.UpdateProductRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import static io.vavr.API.*;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ControllerTest(controllers = ProductAPI.class)
@@ -54,18 +79,45 @@ public class ProductAPITest {
     @MockBean
     private CreateProductUseCase createProductUseCase;
 
+    @MockBean
+    private CreateProductsUseCase createProductsUseCase;
+
     @MockBean
     private GetProductByCodeUseCase getProductByCodeUseCase;
 
+    @MockBean
+    private GetProductByIdUseCase getProductByIdUseCase;
+
+    @MockBean
+    private GetProductRevisionUseCase getProductRevisionUseCase;
+
     @MockBean
     private UpdateProductUseCase updateProductUseCase;
 
+    @MockBean
+    private UpdateProductsUseCase updateProductsUseCase;
+
     @MockBean
     private DeleteProductUseCase deleteProductUseCase;
 
+    @MockBean
+    private DeleteProductsUseCase deleteProductsUseCase;
+
     @MockBean
     private ListProductsUseCase listProductsUseCase;
 
+    @MockBean
+    private GetCatalogVersionUseCase getCatalogVersionUseCase;
+
+    @MockBean
+    private CountProductsUseCase countProductsUseCase;
+
+    @MockBean
+    private ExportProductsUseCase exportProductsUseCase;
+
+    @MockBean
+    private ImportProductsUseCase importProductsUseCase;
+
     @Test
     public void givenAValidInput_whenCallCreateProductApi_thenReturnCreatedProduct() throws Exception{
         final var expectedDescription = "A normal product description.";
@@ -247,8 +299,68 @@ public class ProductAPITest {
                         .andExpect(jsonPath("$.created_at", equalTo(aProduct.getCreatedAt().toString())))
                         .andExpect(jsonPath("$.updated_at", equalTo(aProduct.getUpdatedAt().toString())))
                         .andExpect(jsonPath("$.deleted_at", equalTo(aProduct.getDeletedAt())))
-                        .andExpect(jsonPath("$.code", equalTo(expectedCode.toString())));
+                        .andExpect(jsonPath("$.code", equalTo(expectedCode.toString())))
+                        .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
         verify(getProductByCodeUseCase, times(1)).execute(eq(expectedCode));
+        verify(getProductRevisionUseCase, times(0)).execute(any());
+    }
+
+    @Test
+    public void givenAMatchingIfNoneMatch_whenCallsGetProductByCodeApi_thenShouldReturnNotModifiedWithoutLoadingIt() throws Exception{
+        final Long expectedCode = 123L;
+        final var expectedUpdatedAt = Instant.parse("2024-01-10T10:15:30.123456Z");
+
+        when(getProductRevisionUseCase.execute(any()))
+                .thenReturn(new ProductRevisionOutput(expectedCode, 3L, expectedUpdatedAt));
+
+        final var request = MockMvcRequestBuilders
+                .get("/products/code/{code}", expectedCode.toString())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\", W/\"3\"");
+        final var response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        response.andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(getProductRevisionUseCase, times(1)).execute(eq(expectedCode));
+        verify(getProductByCodeUseCase, times(0)).execute(any());
+    }
+
+    @Test
+    public void givenAnIfModifiedSince_whenCallsGetProductByCodeApi_thenShouldCompareItWithTheLastUpdate() throws Exception{
+        final var aProduct = Product.newProduct(
+                123L,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+        final var updatedAt = aProduct.getUpdatedAt();
+
+        when(getProductRevisionUseCase.execute(any()))
+                .thenReturn(new ProductRevisionOutput(123L, 0L, updatedAt));
+        when(getProductByCodeUseCase.execute(any()))
+                .thenReturn(ProductOutput.from(aProduct));
+
+        final var notModified = MockMvcRequestBuilders
+                .get("/products/code/{code}", "123")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(updatedAt.atZone(ZoneOffset.UTC)));
+        this.mvc.perform(notModified).andExpect(status().isNotModified());
+
+        final var modified = MockMvcRequestBuilders
+                .get("/products/code/{code}", "123")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(updatedAt.minusSeconds(60).atZone(ZoneOffset.UTC)));
+        this.mvc.perform(modified)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.id", equalTo(aProduct.getId().getValue())));
+
+        verify(getProductRevisionUseCase, times(2)).execute(eq(123L));
+        verify(getProductByCodeUseCase, times(1)).execute(eq(123L));
     }
 
     @Test
@@ -267,6 +379,46 @@ public class ProductAPITest {
 
     }
 
+    @Test
+    public void givenAProductId_whenCallsGetProductByIdApi_thenShouldReturnProduct() throws Exception{
+        final var aProduct = Product.newProduct(
+                123L,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+        final var expectedId = aProduct.getId().getValue();
+
+        when(getProductByIdUseCase.execute(any())).thenReturn(ProductOutput.from(aProduct));
+
+        final var request = MockMvcRequestBuilders.get("/products/id/{id}", expectedId);
+        final var response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", equalTo(expectedId)))
+                .andExpect(jsonPath("$.code", equalTo("123")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        verify(getProductByIdUseCase, times(1)).execute(eq(expectedId));
+    }
+
+    @Test
+    public void givenAMalformedProductId_whenCallsGetProductByIdApi_thenShouldReturnUnprocessableEntity() throws Exception{
+        final var expectedErrorMessage = "'id' should be a valid UUID";
+
+        when(getProductByIdUseCase.execute(any()))
+                .thenThrow(DomainException.with(new Error(expectedErrorMessage)));
+
+        final var request = MockMvcRequestBuilders.get("/products/id/{id}", "not-a-uuid");
+        final var response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        response.andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errors[0].message", equalTo(expectedErrorMessage)));
+    }
+
     @Test
     public void givenAValidCommand_whenCallsUpdateProduct_shouldReturnProductId() throws Exception{
 
@@ -291,7 +443,8 @@ public class ProductAPITest {
                 expectedSupplierCode,
                 expectedSupplierDescription,
                 expectedSupplierCNPJ,
-                expectedIsActive
+                expectedIsActive,
+                null
         );
 
         final var request = MockMvcRequestBuilders
@@ -341,7 +494,8 @@ public class ProductAPITest {
                 expectedSupplierCode,
                 expectedSupplierDescription,
                 expectedSupplierCNPJ,
-                expectedIsActive
+                expectedIsActive,
+                null
         );
 
         final var request = MockMvcRequestBuilders
@@ -391,7 +545,8 @@ public class ProductAPITest {
                 expectedSupplierCode,
                 expectedSupplierDescription,
                 expectedSupplierCNPJ,
-                expectedIsActive
+                expectedIsActive,
+                null
         );
 
         final var request = MockMvcRequestBuilders
@@ -419,6 +574,74 @@ public class ProductAPITest {
 
     }
 
+    @Test
+    public void givenAnIfMatchHeader_whenCallsUpdateProductApi_thenShouldSendTheVersionAndReturnTheNewETag() throws Exception{
+        final Long expectedCode = 1234L;
+
+        when(updateProductUseCase.execute(any()))
+                .thenReturn(Right(new UpdateProductOutput(expectedCode, 4L)));
+
+        final var aInput = new UpdateProductRequest(
+                expectedCode,
+                "A updated normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "updated-code",
+                "A updated normal supplier description.",
+                "59456277000100",
+                true,
+                null
+        );
+
+        final var request = MockMvcRequestBuilders
+                .put("/products")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(aInput));
+
+        final var response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version", equalTo(4)));
+
+        verify(updateProductUseCase, times(1)).execute(argThat(cmd -> Objects.equals(3L, cmd.expectedVersion())));
+    }
+
+    @Test
+    public void givenAStaleIfMatchHeader_whenCallsUpdateProductApi_thenShouldReturnPreconditionFailed() throws Exception{
+        final Long expectedCode = 1234L;
+        final var expectedErrorMessage = "Product with code 1234 was changed by another request";
+
+        when(updateProductUseCase.execute(any()))
+                .thenThrow(ConflictException.with(Product.class, expectedCode));
+
+        final var aInput = new UpdateProductRequest(
+                expectedCode,
+                "A updated normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "updated-code",
+                "A updated normal supplier description.",
+                "59456277000100",
+                true,
+                null
+        );
+
+        final var request = MockMvcRequestBuilders
+                .put("/products")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(aInput));
+
+        final var response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        response.andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", equalTo(expectedErrorMessage)));
+    }
+
     @Test
     public void givenAValidProductCode_whenCallsDeleteProductByCodeApi_thenShouldReturnNoContent() throws Exception{
         final Long expectedCode = 123L;
@@ -502,4 +725,295 @@ public class ProductAPITest {
                 ));
 
     }
+
+    @Test
+    public void givenAnUnchangedCatalog_whenCallsListProductsApiWithItsETag_thenShouldReturnNotModifiedWithoutQuerying() throws Exception{
+        when(getCatalogVersionUseCase.execute()).thenReturn(7L);
+        when(listProductsUseCase.execute(any()))
+                .thenReturn(new Pagination<>(0, 10, 0, List.<ProductListOutput>of()));
+
+        final var firstResponse = this.mvc.perform(MockMvcRequestBuilders.get("/products").queryParam("search", "first product"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final var eTag = firstResponse.getHeader(HttpHeaders.ETAG);
+        Assertions.assertTrue(eTag.startsWith("W/\"7-"));
+
+        final var sameQuery = MockMvcRequestBuilders
+                .get("/products")
+                .queryParam("search", "  first   product ")
+                .queryParam("dir", "ASC")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag);
+        this.mvc.perform(sameQuery)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        verify(listProductsUseCase, times(1)).execute(any());
+
+        when(getCatalogVersionUseCase.execute()).thenReturn(8L);
+
+        this.mvc.perform(MockMvcRequestBuilders.get("/products").queryParam("search", "first product").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(equalTo(eTag))));
+
+        verify(listProductsUseCase, times(2)).execute(any());
+    }
+
+    @Test
+    public void givenAListReadFromAReplica_whenCallsListProductsApi_thenShouldAnswerWithoutETagEvenIfOneIsSent() throws Exception{
+        when(getCatalogVersionUseCase.execute()).thenReturn(null);
+        when(listProductsUseCase.execute(any()))
+                .thenReturn(new Pagination<>(0, 10, 0, List.<ProductListOutput>of()));
+
+        this.mvc.perform(MockMvcRequestBuilders.get("/products").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        verify(listProductsUseCase, times(1)).execute(any());
+    }
+
+    @Test
+    public void givenAValidSearch_whenCallsHeadProductsApi_thenShouldReturnTotalCountHeader() throws Exception{
+        final var expectedTerms = "first";
+        final var expectedTotal = 37L;
+
+        when(countProductsUseCase.execute(any())).thenReturn(expectedTotal);
+
+        final var request = MockMvcRequestBuilders
+                .head("/products")
+                .queryParam("search", expectedTerms)
+                .queryParam("count", "estimate");
+
+        final var response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        response.andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", String.valueOf(expectedTotal)));
+
+        verify(listProductsUseCase, times(0)).execute(any());
+        verify(countProductsUseCase, times(1)).execute(argThat(query ->
+                Objects.equals(expectedTerms, query.terms())
+                        && Objects.equals(CountMode.ESTIMATE, query.count())
+        ));
+    }
+
+    @Test
+    public void givenAnInvalidCountMode_whenCallsListProductsApi_thenShouldReturnUnprocessableEntity() throws Exception{
+        final var request = MockMvcRequestBuilders
+                .get("/products")
+                .queryParam("count", "approximately")
+                .accept(MediaType.APPLICATION_JSON);
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errors[0].message", equalTo("'count' should be one of exact, estimate or none")));
+
+        verify(listProductsUseCase, times(0)).execute(any());
+    }
+
+    @Test
+    public void givenValidAndInvalidItems_whenCallCreateProductsApi_thenReturnOneResultPerItem() throws Exception {
+        final var expectedErrorMessage = "'description' should not be null";
+
+        final var aInput = List.of(
+                new CreateProductRequest("first product.", Instant.now(), Instant.now(), "first", "first supplier.", "11111111111111", true),
+                new CreateProductRequest(null, Instant.now(), Instant.now(), "second", "second supplier.", "22222222222222", null)
+        );
+
+        when(createProductsUseCase.execute(any()))
+                .thenReturn(List.of(
+                        Right(CreateProductOutput.from(123L)),
+                        Left(Notification.create(new Error(expectedErrorMessage)))
+                ));
+
+        final var request = MockMvcRequestBuilders.post("/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.mapper.writeValueAsString(aInput));
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index", equalTo(0)))
+                .andExpect(jsonPath("$[0].code", equalTo("123")))
+                .andExpect(jsonPath("$[0].errors", hasSize(0)))
+                .andExpect(jsonPath("$[1].index", equalTo(1)))
+                .andExpect(jsonPath("$[1].code", Matchers.nullValue()))
+                .andExpect(jsonPath("$[1].errors[0].message", equalTo(expectedErrorMessage)));
+
+        verify(createProductsUseCase, times(1)).execute(argThat(commands ->
+                commands.size() == 2
+                        && Objects.equals("first product.", commands.get(0).aDescription())
+                        && commands.get(1).aDescription() == null
+                        && commands.get(1).isActive()
+        ));
+    }
+
+    @Test
+    public void givenExistingAndMissingItems_whenCallUpdateProductsApi_thenReturnOneResultPerItem() throws Exception {
+        final var expectedErrorMessage = "Product with code 999 was not found";
+
+        final var aInput = List.of(
+                new UpdateProductRequest(1L, "first product.", Instant.now(), Instant.now(), "first", "first supplier.", "11111111111111", false, null),
+                new UpdateProductRequest(999L, "missing product.", Instant.now(), Instant.now(), "missing", "missing supplier.", "22222222222222", null, null)
+        );
+
+        when(updateProductsUseCase.execute(any()))
+                .thenReturn(List.of(
+                        Right(UpdateProductOutput.from(1L)),
+                        Left(Notification.create(new Error(expectedErrorMessage)))
+                ));
+
+        final var request = MockMvcRequestBuilders.put("/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.mapper.writeValueAsString(aInput));
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].code", equalTo("1")))
+                .andExpect(jsonPath("$[0].errors", hasSize(0)))
+                .andExpect(jsonPath("$[1].index", equalTo(1)))
+                .andExpect(jsonPath("$[1].errors[0].message", equalTo(expectedErrorMessage)));
+
+        verify(updateProductsUseCase, times(1)).execute(argThat(commands ->
+                commands.size() == 2
+                        && Objects.equals(1L, commands.get(0).code())
+                        && !commands.get(0).isActive()
+                        && Objects.equals(999L, commands.get(1).code())
+                        && commands.get(1).isActive()
+        ));
+    }
+
+    @Test
+    public void givenSomeCodes_whenCallsDeleteProductsApi_thenShouldReturnTheDeletedCount() throws Exception {
+        final var expectedDeleted = 2L;
+
+        when(deleteProductsUseCase.execute(any())).thenReturn(expectedDeleted);
+
+        final var request = MockMvcRequestBuilders.delete("/products")
+                .queryParam("codes", "1,2,3");
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", equalTo(2)));
+
+        verify(deleteProductsUseCase, times(1)).execute(eq(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    public void givenStoredProducts_whenCallsExportProductsApi_thenShouldStreamOneJsonPerLine() throws Exception {
+        final var products = List.of(
+                Product.newProduct(1L, "first product.", Instant.now(), Instant.now(), "s-1", "supplier.", "59456277000176", true),
+                Product.newProduct(2L, "second product.", Instant.now(), Instant.now(), "s-2", "supplier.", "59456277000176", false)
+        );
+
+        when(exportProductsUseCase.execute(any())).thenAnswer(invocation -> {
+            final Consumer<ProductOutput> aConsumer = invocation.getArgument(0);
+            products.forEach(aProduct -> aConsumer.accept(ProductOutput.from(aProduct)));
+            return 2L;
+        });
+
+        final var asyncResult = this.mvc.perform(MockMvcRequestBuilders.get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final var response = this.mvc.perform(asyncDispatch(asyncResult))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\""))
+                .andReturn()
+                .getResponse();
+
+        final var lines = response.getContentAsString().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals("first product.", this.mapper.readTree(lines[0]).get("description").asText());
+        Assertions.assertEquals("2", this.mapper.readTree(lines[1]).get("code").asText());
+        Assertions.assertFalse(this.mapper.readTree(lines[1]).get("is_active").asBoolean());
+        verify(exportProductsUseCase, times(1)).execute(any());
+    }
+
+    @Test
+    public void givenStoredProducts_whenCallsExportProductsApiAsCsv_thenShouldQuoteFieldsWhenNeeded() throws Exception {
+        final var aProduct = Product.newProduct(1L, "chair, \"blue\".", Instant.now(), Instant.now(), "s-1", "supplier.", "59456277000176", true);
+
+        when(exportProductsUseCase.execute(any())).thenAnswer(invocation -> {
+            final Consumer<ProductOutput> aConsumer = invocation.getArgument(0);
+            aConsumer.accept(ProductOutput.from(aProduct));
+            return 1L;
+        });
+
+        final var asyncResult = this.mvc.perform(MockMvcRequestBuilders.get("/products/export").queryParam("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final var lines = this.mvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\r\n");
+
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("id,code,description,"));
+        Assertions.assertTrue(lines[1].startsWith(aProduct.getId().getValue() + ",1,\"chair, \"\"blue\"\".\","));
+        Assertions.assertTrue(lines[1].contains(",s-1,supplier.,59456277000176,true,"));
+        Assertions.assertTrue(lines[1].endsWith(",0"));
+    }
+
+    @Test
+    public void givenAnInvalidFormat_whenCallsExportProductsApi_thenShouldReturnUnprocessableEntity() throws Exception {
+        this.mvc.perform(MockMvcRequestBuilders.get("/products/export").queryParam("format", "xml"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errors[0].message", equalTo("'format' should be one of ndjson or csv")));
+
+        verify(exportProductsUseCase, times(0)).execute(any());
+    }
+
+    @Test
+    public void givenAGzippedNdjsonBody_whenCallsImportProductsApi_thenShouldHandOverEveryLineAndReturnTheSummary() throws Exception {
+        final var body = new ByteArrayOutputStream();
+        try (final var gzip = new GZIPOutputStream(body)) {
+            gzip.write("""
+                    {"description":"first product.","supplier_code":"s-1","supplier_cnpj":"59456277000176"}
+
+                    {"description":"second product.","is_active":false}
+                    not json
+                    """.getBytes());
+        }
+
+        final var actualCommands = new ArrayList<ImportProductCommand>();
+        when(importProductsUseCase.execute(any())).thenAnswer(invocation -> {
+            final Iterator<ImportProductCommand> lines = invocation.getArgument(0);
+            lines.forEachRemaining(actualCommands::add);
+            return new ImportProductsOutput(3, 2, 1, List.of(
+                    new ImportProductsOutput.LineErrors(4, List.of(new Error("invalid json")))
+            ));
+        });
+
+        final var request = MockMvcRequestBuilders.post("/products/import")
+                .contentType("application/x-ndjson")
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .content(body.toByteArray());
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines", equalTo(3)))
+                .andExpect(jsonPath("$.imported", equalTo(2)))
+                .andExpect(jsonPath("$.failed", equalTo(1)))
+                .andExpect(jsonPath("$.errors[0].line", equalTo(4)))
+                .andExpect(jsonPath("$.errors[0].errors[0].message", equalTo("invalid json")));
+
+        Assertions.assertEquals(List.of(1L, 3L, 4L), actualCommands.stream().map(ImportProductCommand::line).toList());
+        Assertions.assertEquals("first product.", actualCommands.get(0).command().get().aDescription());
+        Assertions.assertTrue(actualCommands.get(0).command().get().isActive());
+        Assertions.assertFalse(actualCommands.get(1).command().get().isActive());
+        Assertions.assertTrue(actualCommands.get(2).command().isLeft());
+    }
 }
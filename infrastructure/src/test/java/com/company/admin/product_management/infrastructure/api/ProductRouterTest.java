@@ -0,0 +1,197 @@
+package com.company.admin.product_management.infrastructure.api;
+
+import com.company.admin.product_management.application.product.create.CreateProductOutput;
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.validation.Error;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import com.company.admin.product_management.infrastructure.api.controllers.ProductHandler;
+import com.company.admin.product_management.infrastructure.configuration.json.Json;
+import com.company.admin.product_management.infrastructure.product.models.CreateProductRequest;
+import com.company.admin.product_management.infrastructure.product.models.UpdateProductRequest;
+import com.company.admin.product_management.reactive.product.create.ReactiveCreateProductUseCase;
+import com.company.admin.product_management.reactive.product.delete.ReactiveDeleteProductUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.get.ReactiveGetProductByCodeUseCase;
+import com.company.admin.product_management.reactive.product.retrieve.list.ReactiveListProductsUseCase;
+import com.company.admin.product_management.reactive.product.update.ReactiveUpdateProductUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static io.vavr.API.Left;
+import static io.vavr.API.Right;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductRouterTest {
+
+    private ReactiveCreateProductUseCase createProductUseCase;
+    private ReactiveGetProductByCodeUseCase getProductByCodeUseCase;
+    private ReactiveUpdateProductUseCase updateProductUseCase;
+    private ReactiveDeleteProductUseCase deleteProductUseCase;
+    private ReactiveListProductsUseCase listProductsUseCase;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        createProductUseCase = mock(ReactiveCreateProductUseCase.class);
+        getProductByCodeUseCase = mock(ReactiveGetProductByCodeUseCase.class);
+        updateProductUseCase = mock(ReactiveUpdateProductUseCase.class);
+        deleteProductUseCase = mock(ReactiveDeleteProductUseCase.class);
+        listProductsUseCase = mock(ReactiveListProductsUseCase.class);
+
+        final var handler = new ProductHandler(createProductUseCase, getProductByCodeUseCase, updateProductUseCase,
+                deleteProductUseCase, listProductsUseCase);
+        final var strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(Json.mapper()));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(Json.mapper()));
+                })
+                .build();
+
+        client = WebTestClient.bindToRouterFunction(new ProductRouter().productRoutes(handler))
+                .handlerStrategies(strategies)
+                .build();
+    }
+
+    @Test
+    public void givenAValidCommand_whenCallsCreateProduct_thenShouldReturnTheLocation() {
+        when(createProductUseCase.execute(any())).thenReturn(Mono.just(Right(CreateProductOutput.from(123L))));
+
+        client.post().uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Json.writeValueAsString(aCreateRequest("A normal product description.")))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "/products/123");
+
+        verify(createProductUseCase).execute(argThat(cmd -> "A normal product description.".equals(cmd.aDescription())
+                && cmd.isActive()));
+    }
+
+    @Test
+    public void givenAnInvalidCommand_whenCallsCreateProduct_thenShouldReturnTheNotification() {
+        final var expectedErrorMessage = "'description' should not be null";
+        when(createProductUseCase.execute(any()))
+                .thenReturn(Mono.just(Left(Notification.create(new Error(expectedErrorMessage)))));
+
+        client.post().uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Json.writeValueAsString(aCreateRequest(null)))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectHeader().doesNotExist(HttpHeaders.LOCATION)
+                .expectBody()
+                .jsonPath("$.errors[0].message").isEqualTo(expectedErrorMessage);
+    }
+
+    @Test
+    public void givenAStoredProduct_whenCallsGetByCode_thenShouldReturnItWithItsValidators() {
+        final var aProduct = Product.newProduct(1234L, "A normal product description.", Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS), "supplier-code", null, "59456277000176", true);
+        when(getProductByCodeUseCase.execute(eq(1234L))).thenReturn(Mono.just(ProductOutput.from(aProduct)));
+
+        client.get().uri("/products/code/{code}", 1234)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("1234")
+                .jsonPath("$.description").isEqualTo("A normal product description.")
+                .jsonPath("$.supplier_cnpj").isEqualTo("59456277000176");
+
+        client.get().uri("/products/{code}", 1234)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    public void givenAnUnknownCode_whenCallsGetByCode_thenShouldReturnNotFound() {
+        when(getProductByCodeUseCase.execute(any()))
+                .thenReturn(Mono.error(NotFoundException.with(Product.class, 1234L)));
+
+        client.get().uri("/products/{code}", 1234)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Product with code 1234 was not found");
+    }
+
+    @Test
+    public void givenAStaleIfMatch_whenCallsUpdateProduct_thenShouldReturnPreconditionFailed() {
+        when(updateProductUseCase.execute(any()))
+                .thenReturn(Mono.error(ConflictException.with(Product.class, 1234L)));
+
+        client.put().uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .bodyValue(Json.writeValueAsString(new UpdateProductRequest(1234L, "An updated description.",
+                        Instant.now(), Instant.now().plus(50, ChronoUnit.DAYS), "supplier-code", null,
+                        "59456277000176", true, null)))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Product with code 1234 was changed by another request");
+
+        verify(updateProductUseCase).execute(argThat(cmd -> cmd.code() == 1234L && cmd.expectedVersion() == 3L));
+    }
+
+    @Test
+    public void givenAValidCode_whenCallsDeleteProduct_thenShouldReturnNoContent() {
+        when(deleteProductUseCase.execute(eq(1234L))).thenReturn(Mono.empty());
+
+        client.delete().uri("/products/{code}", 1234)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(deleteProductUseCase).execute(eq(1234L));
+    }
+
+    @Test
+    public void givenValidParams_whenCallsListProducts_thenShouldReturnThePage() {
+        final var aProduct = Product.newProduct(1L, "A first product.", Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS), "supplier-code", null, "59456277000176", true);
+        when(listProductsUseCase.execute(any()))
+                .thenReturn(Mono.just(new Pagination<>(0, 10, 1, List.of(ProductListOutput.from(aProduct)))));
+
+        client.get().uri("/products?page=0&perPage=10&search=first&sort=description&dir=desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.current_page").isEqualTo(0)
+                .jsonPath("$.per_page").isEqualTo(10)
+                .jsonPath("$.total").isEqualTo(1)
+                .jsonPath("$.items[0].description").isEqualTo("A first product.")
+                .jsonPath("$.items[0].code").isEqualTo("1");
+
+        verify(listProductsUseCase).execute(argThat(query -> "first".equals(query.terms())
+                && "description".equals(query.sort()) && "desc".equals(query.direction())));
+    }
+
+    private static CreateProductRequest aCreateRequest(final String aDescription) {
+        return new CreateProductRequest(aDescription, Instant.now(), Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code", null, "59456277000176", null);
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.admin.product_management.infrastructure.configuration;
+
+import com.company.admin.product_management.infrastructure.configuration.json.Json;
+import com.company.admin.product_management.infrastructure.product.models.CreateProductRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+//run with ./gradlew :infrastructure:benchmark, the default test task skips it
+//both stacks share one in-memory H2 database, H2 over R2DBC stands in for r2dbc-mysql
+@Tag("benchmark")
+public class ReactiveStackBenchmarkTest {
+
+    private static final String DATABASE = "stack;MODE=MYSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int PRODUCTS = 1_000;
+    private static final int REQUESTS = 10_000;
+    private static final int IN_FLIGHT = 256;
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+    private static HttpClient http;
+
+    @BeforeAll
+    static void start() throws Exception {
+        servlet = new SpringApplicationBuilder(WebServerConfig.class)
+                .profiles("test")
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:" + DATABASE);
+        reactive = new SpringApplicationBuilder(WebServerConfig.class)
+                .profiles("test", "reactive")
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + DATABASE,
+                        "--product.r2dbc.url=r2dbc:h2:mem:///" + DATABASE.replaceFirst(";", "?options=")
+                );
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+        final var now = Instant.now();
+        for (var i = 0; i < PRODUCTS; i++) {
+            final var body = Json.writeValueAsString(new CreateProductRequest("Product " + i + (i % 2 == 0 ? " chair" : " lamp"),
+                    now, now.plus(30, ChronoUnit.DAYS), "supplier-" + i, null, "59456277000176", true));
+            final var created = http.send(HttpRequest.newBuilder(uri(i % 2 == 0 ? servlet : reactive, "/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(201, created.statusCode(), created.body());
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        reactive.close();
+        servlet.close();
+    }
+
+    //an uncached page of matches, the read both stacks answer from the database
+    @Test
+    public void givenTheSameCatalog_whenBothStacksServeTheSameSearch_thenCompareThroughputAndLatency() throws Exception {
+        final var path = "/products?search=chair&perPage=20&sort=description&count=none";
+
+        run("warm-up servlet", servlet, path);
+        run("warm-up reactive", reactive, path);
+        final var servletCompleted = run("servlet, jdbc", servlet, path);
+        final var reactiveCompleted = run("reactive, r2dbc", reactive, path);
+
+        Assertions.assertEquals(REQUESTS, servletCompleted);
+        Assertions.assertEquals(REQUESTS, reactiveCompleted);
+    }
+
+    private static int run(final String aStack, final ConfigurableApplicationContext anApp, final String aPath) throws Exception {
+        final var request = HttpRequest.newBuilder(uri(anApp, aPath)).GET().build();
+        final var permits = new Semaphore(IN_FLIGHT);
+        final var futures = new ArrayList<CompletableFuture<Long>>(REQUESTS);
+        final var start = System.nanoTime();
+        for (var i = 0; i < REQUESTS; i++) {
+            permits.acquire();
+            final var sent = System.nanoTime();
+            futures.add(http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        Assertions.assertEquals(200, response.statusCode());
+                        return System.nanoTime() - sent;
+                    })
+                    .whenComplete((latency, error) -> permits.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        final var elapsed = System.nanoTime() - start;
+
+        final var latencies = futures.stream().mapToLong(CompletableFuture::join).toArray();
+        Arrays.sort(latencies);
+        System.out.printf("%-18s %8.0f req/s  p50 %6.1f ms  p99 %6.1f ms%n",
+                aStack,
+                REQUESTS / (elapsed / 1e9),
+                latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6);
+        return latencies.length;
+    }
+
+    private static URI uri(final ConfigurableApplicationContext anApp, final String aPath) {
+        return URI.create("http://localhost:" + ((WebServerApplicationContext) anApp).getWebServer().getPort() + aPath);
+    }
+}
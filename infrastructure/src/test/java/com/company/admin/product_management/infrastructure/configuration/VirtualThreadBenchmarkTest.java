@@ -0,0 +1,145 @@
+package com.company.admin.product_management.infrastructure.configuration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+//run with ./gradlew :infrastructure:benchmark on java 21, the default test task skips it
+//the whole application is started once per mode on h2, only the virtual-threads profile changes between them
+@Tag("benchmark")
+public class VirtualThreadBenchmarkTest {
+
+    private static final int PRODUCTS = 5_000;
+    private static final int REQUESTS = 20_000;
+    private static final int IN_FLIGHT = 256;
+    private static final int WORKERS = 16;
+    private static final int CONNECTIONS = 4;
+
+    @TempDir
+    private Path directory;
+
+    //one request in five is a search the page cache has never seen and scans the table on one of few connections,
+    //the others get the same first page back from the cache
+    @Test
+    public void givenMostlyCachedRequestsAndSomeSearches_whenAllArriveAtOnce_thenCompareWorkerPoolAndVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(VirtualThreadConfig.isSupported(), "virtual threads need Java 21 or newer");
+
+        final var platform = run("platform, " + WORKERS + " workers", "platform", "test");
+        final var virtual = run("virtual threads", "virtual", "test", "virtual-threads");
+
+        Assertions.assertEquals(REQUESTS, platform);
+        Assertions.assertEquals(REQUESTS, virtual);
+    }
+
+    private int run(final String aMode, final String aDatabase, final String... profiles) throws Exception {
+        try (final var context = new SpringApplicationBuilder(WebServerConfig.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "server.undertow.threads.worker=" + WORKERS,
+                        "spring.datasource.url=jdbc:h2:mem:" + aDatabase + ";MODE=MYSQL;DATABASE_TO_LOWER=TRUE",
+                        "spring.datasource.hikari.maximum-pool-size=" + CONNECTIONS,
+                        "spring.datasource.hikari.minimum-idle=" + CONNECTIONS,
+                        "spring.datasource.hikari.connection-timeout=60000",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=warn",
+                        "product.store.directory=" + this.directory.resolve(aDatabase + "-store"),
+                        "product.import.jobs.spool-directory=" + this.directory.resolve(aDatabase + "-jobs")
+                )
+                .run()) {
+            final var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final var products = URI.create("http://localhost:" + port + "/products");
+            final var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+            seed(client, products);
+            send(client, products, 1, "warm-up");
+            send(client, products, REQUESTS / 10, "warm-up");
+
+            final var start = System.nanoTime();
+            final var outcomes = send(client, products, REQUESTS, aMode);
+            final var elapsed = System.nanoTime() - start;
+
+            final var cached = new ArrayList<Long>();
+            final var searches = new ArrayList<Long>();
+            for (final var outcome : outcomes) {
+                Assertions.assertEquals(200, outcome[2], "every request should succeed");
+                (outcome[0] == 1 ? searches : cached).add(outcome[1]);
+            }
+
+            System.out.printf(
+                    "%-24s %8.0f req/s | cached p50 %6d ms p99 %6d ms | search p50 %6d ms p99 %6d ms%n",
+                    aMode,
+                    REQUESTS / (elapsed / 1e9),
+                    percentile(cached, 50), percentile(cached, 99),
+                    percentile(searches, 50), percentile(searches, 99)
+            );
+            return cached.size() + searches.size();
+        }
+    }
+
+    private static void seed(final HttpClient client, final URI products) throws Exception {
+        final var body = IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> "{\"description\":\"benchmark product " + i + ".\",\"fabricated_at\":\"2024-01-01T00:00:00Z\","
+                        + "\"expired_at\":\"2030-01-01T00:00:00Z\",\"supplier_code\":\"s-" + i + "\","
+                        + "\"supplier_description\":\"A benchmark supplier.\",\"supplier_cnpj\":\"59456277000176\"}")
+                .collect(Collectors.joining("\n"));
+        final var response = client.send(
+                HttpRequest.newBuilder(URI.create(products + "/import?format=ndjson"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()
+        );
+        Assertions.assertEquals(200, response.statusCode());
+    }
+
+    //{search ? 1 : 0, nanos from submit to response, status}, at most IN_FLIGHT requests open at once
+    private static List<long[]> send(final HttpClient client, final URI products, final int requests, final String aRun) throws Exception {
+        final var slots = new Semaphore(IN_FLIGHT);
+        final var futures = new ArrayList<CompletableFuture<long[]>>(requests);
+        for (var i = 0; i < requests; i++) {
+            final var search = i % 5 == 0;
+            final var uri = search
+                    ? URI.create(products + "?search=" + URLEncoder.encode(aRun + " " + i, StandardCharsets.UTF_8))
+                    : products;
+            slots.acquire();
+            final var submitted = System.nanoTime();
+            futures.add(client.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> new long[]{search ? 1 : 0, System.nanoTime() - submitted, response.statusCode()})
+                    .whenComplete((response, error) -> slots.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static long percentile(final List<Long> someNanos, final int aPercentile) {
+        if (someNanos.isEmpty()) {
+            return 0;
+        }
+        final var sorted = someNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        final var index = Math.min(sorted.length - 1, (int) Math.ceil(aPercentile / 100.0 * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.admin.product_management.infrastructure.configuration.datasource;
+
+import com.company.admin.product_management.application.product.retrieve.list.GetCatalogVersionUseCase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        jdbcTemplate = new JdbcTemplate(new ReplicaRoutingDataSource(primary, List.of(replica)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    public void givenTwoDatabases_whenReadsOnReplica_thenOnlyThoseReadsShouldLeaveThePrimary() {
+        Assertions.assertEquals("primary", whereAmI());
+        Assertions.assertEquals("replica", DataSourceRoute.onReplica(this::whereAmI));
+        Assertions.assertEquals("primary", whereAmI());
+    }
+
+    @Test
+    public void givenAClientThatJustWrote_whenItReads_thenShouldStayOnThePrimaryUntilTheWindowEnds() throws Exception {
+        final var filter = new ReadYourWritesFilter(Duration.ofMillis(300));
+        final var readFrom = new ArrayList<String>();
+
+        filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(), (req, res) -> readFrom.add(DataSourceRoute.onReplica(this::whereAmI)));
+        filter.doFilter(request("PUT", "writer"), new MockHttpServletResponse(), (req, res) -> readFrom.add(whereAmI()));
+        filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(), (req, res) -> readFrom.add(DataSourceRoute.onReplica(this::whereAmI)));
+        filter.doFilter(request("GET", "another"), new MockHttpServletResponse(), (req, res) -> readFrom.add(DataSourceRoute.onReplica(this::whereAmI)));
+        Thread.sleep(400);
+        filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(), (req, res) -> readFrom.add(DataSourceRoute.onReplica(this::whereAmI)));
+
+        Assertions.assertEquals(List.of("replica", "primary", "primary", "replica", "replica"), readFrom);
+    }
+
+    @Test
+    public void givenAClientWithoutAKey_whenItReadsAfterAWrite_thenShouldNotBePinnedByItsAddress() throws Exception {
+        final var filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        final var readFrom = new ArrayList<String>();
+
+        filter.doFilter(request("PUT", null), new MockHttpServletResponse(), (req, res) -> readFrom.add(whereAmI()));
+        filter.doFilter(request("GET", null), new MockHttpServletResponse(), (req, res) -> readFrom.add(DataSourceRoute.onReplica(this::whereAmI)));
+
+        final var withSession = request("PUT", null);
+        final var session = withSession.getSession(true);
+        filter.doFilter(withSession, new MockHttpServletResponse(), (req, res) -> readFrom.add(whereAmI()));
+        final var sameSession = request("GET", null);
+        sameSession.setSession(session);
+        filter.doFilter(sameSession, new MockHttpServletResponse(), (req, res) -> readFrom.add(DataSourceRoute.onReplica(this::whereAmI)));
+
+        Assertions.assertEquals(List.of("primary", "replica", "primary", "primary"), readFrom);
+    }
+
+    @Test
+    public void givenListsReadFromReplicas_whenAsksForTheCatalogVersion_thenShouldOnlyAnswerForAClientPinnedToThePrimary() throws Exception {
+        final var filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        final var getCatalogVersionUseCase = new ReplicaGetCatalogVersionUseCase(new GetCatalogVersionUseCase() {
+            @Override
+            public Long execute() {
+                return 7L;
+            }
+        });
+        final var versions = new ArrayList<Long>();
+
+        filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(), (req, res) -> versions.add(getCatalogVersionUseCase.execute()));
+        filter.doFilter(request("PUT", "writer"), new MockHttpServletResponse(), (req, res) -> {});
+        filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(), (req, res) -> versions.add(getCatalogVersionUseCase.execute()));
+
+        Assertions.assertEquals(Arrays.asList(null, 7L), versions);
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static MockHttpServletRequest request(final String method, final String client) {
+        final var request = new MockHttpServletRequest(method, "/products");
+        if (client != null) {
+            request.addHeader(ReadYourWritesFilter.CLIENT_HEADER, client);
+        }
+        return request;
+    }
+
+    private static HikariDataSource h2(final String name) {
+        final var dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        final var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node(name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
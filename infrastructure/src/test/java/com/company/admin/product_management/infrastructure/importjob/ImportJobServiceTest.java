@@ -0,0 +1,288 @@
+package com.company.admin.product_management.infrastructure.importjob;
+
+import com.company.admin.product_management.application.product.create.DefaultCreateProductsUseCase;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.infrastructure.importjob.persistence.ImportJobJpaEntity;
+import com.company.admin.product_management.infrastructure.importjob.persistence.ImportJobRepository;
+import com.company.admin.product_management.infrastructure.product.imports.ProductImportFormat;
+import com.company.admin.product_management.infrastructure.product.models.ImportProductsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+//no test transaction, the jobs run on their own threads and only see what was committed
+//showSql gives this test its own cached context, the gateway tests add beans through a scan the cache key does not see
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ImportJobServiceTest {
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private ProductGateway productGateway;
+    private List<String> createdDescriptions;
+    private ImportJobService importJobService;
+
+    @BeforeEach
+    void setUp() {
+        importJobRepository.deleteAll();
+        createdDescriptions = new CopyOnWriteArrayList<>();
+        productGateway = Mockito.mock(ProductGateway.class);
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> {
+            final List<Product> products = invocation.getArgument(0);
+            products.forEach(aProduct -> createdDescriptions.add(aProduct.getDescription()));
+            return products;
+        });
+        importJobService = service(2, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importJobService.shutdown();
+        importJobRepository.deleteAll();
+    }
+
+    @Test
+    public void givenAnNdjsonBody_whenSubmitted_thenShouldImportItInChunksAndRecordTheFailedLines() throws Exception {
+        final var body = """
+                {"description":"first product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":
+                {"description":"third product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"fifth product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                """;
+
+        final var job = importJobService.submit(ProductImportFormat.NDJSON, stream(body)).get();
+        final var actualJob = awaitFinished(job.getId());
+
+        Assertions.assertEquals(ImportJobStatus.COMPLETED, actualJob.getStatus());
+        Assertions.assertEquals(5, actualJob.getProcessedLines());
+        Assertions.assertEquals(3, actualJob.getImported());
+        Assertions.assertEquals(2, actualJob.getFailed());
+        Assertions.assertEquals(actualJob.getTotalBytes(), actualJob.getProcessedBytes());
+        Assertions.assertEquals(List.of(2L, 4L), actualJob.errorList().stream().map(ImportProductsResponse.LineErrors::line).toList());
+        Assertions.assertEquals("'description' should not be null", actualJob.errorList().get(1).errors().get(0).message());
+        Assertions.assertEquals(List.of("first product.", "third product.", "fifth product."), createdDescriptions);
+        Assertions.assertFalse(Files.exists(spoolDirectory.resolve(job.getId())));
+    }
+
+    @Test
+    public void givenAJobCutAfterACommittedChunk_whenResumed_thenShouldOnlyImportTheLinesAfterIt() throws Exception {
+        final var body = """
+                {"description":"first product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"second product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"third product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"fourth product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                """;
+        final var id = "0c6f4a5e-1111-4a7e-9a57-0d6e0f3f7a10";
+        Files.writeString(spoolDirectory.resolve(id), body);
+        importJobRepository.save(ImportJobJpaEntity.newJob(id, "NDJSON", body.length())
+                .start()
+                .advance(2, 64, 2, List.of(), 10));
+
+        importJobService.resume();
+        final var actualJob = awaitFinished(id);
+
+        Assertions.assertEquals(ImportJobStatus.COMPLETED, actualJob.getStatus());
+        Assertions.assertEquals(4, actualJob.getImported());
+        Assertions.assertEquals(List.of("third product.", "fourth product."), createdDescriptions);
+    }
+
+    @Test
+    public void givenEveryWorkerAndQueueSlotTaken_whenSubmitted_thenShouldRejectTheJobAndKeepNothing() throws Exception {
+        final var running = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        final var body = "{\"description\":\"a product.\",\"fabricated_at\":\"2024-01-01T00:00:00Z\",\"expired_at\":\"2025-01-01T00:00:00Z\",\"supplier_cnpj\":\"59456277000176\"}\n";
+
+        final var first = importJobService.submit(ProductImportFormat.NDJSON, stream(body));
+        Assertions.assertTrue(running.await(10, TimeUnit.SECONDS));
+        final var second = importJobService.submit(ProductImportFormat.NDJSON, stream(body));
+        final var third = importJobService.submit(ProductImportFormat.NDJSON, new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("the body of a rejected job should not be read");
+            }
+        });
+
+        Assertions.assertTrue(first.isPresent());
+        Assertions.assertTrue(second.isPresent());
+        Assertions.assertTrue(third.isEmpty());
+        Assertions.assertEquals(2, importJobRepository.count());
+
+        release.countDown();
+        Assertions.assertEquals(ImportJobStatus.COMPLETED, awaitFinished(first.get().getId()).getStatus());
+        Assertions.assertEquals(ImportJobStatus.COMPLETED, awaitFinished(second.get().getId()).getStatus());
+    }
+
+    @Test
+    public void givenAChunkWhoseTransactionRollsBack_whenImported_thenShouldRecordItsLinesAndGoOn() throws Exception {
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> {
+            final List<Product> products = invocation.getArgument(0);
+            if (products.stream().anyMatch(aProduct -> "broken product.".equals(aProduct.getDescription()))) {
+                //a gateway joining the chunk transaction marks it rollback-only before the use case sees the error
+                return new TransactionTemplate(transactionManager).execute(status -> {
+                    throw new IllegalStateException("Gateway Error");
+                });
+            }
+            products.forEach(aProduct -> createdDescriptions.add(aProduct.getDescription()));
+            return products;
+        });
+        final var body = """
+                {"description":"first product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"broken product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"third product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                """;
+
+        final var job = importJobService.submit(ProductImportFormat.NDJSON, stream(body)).get();
+        final var actualJob = awaitFinished(job.getId());
+
+        Assertions.assertEquals(ImportJobStatus.COMPLETED, actualJob.getStatus());
+        Assertions.assertEquals(3, actualJob.getProcessedLines());
+        Assertions.assertEquals(1, actualJob.getImported());
+        Assertions.assertEquals(2, actualJob.getFailed());
+        Assertions.assertEquals(List.of(1L, 2L), actualJob.errorList().stream().map(ImportProductsResponse.LineErrors::line).toList());
+        Assertions.assertEquals("Gateway Error", actualJob.errorList().get(0).errors().get(0).message());
+        Assertions.assertEquals(List.of("third product."), createdDescriptions);
+    }
+
+    @Test
+    public void givenAChunk_whenItsInsertsCommit_thenTheJobProgressShouldHaveCommittedWithThem() throws Exception {
+        final var committedProgress = new CopyOnWriteArrayList<Long>();
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> {
+            final List<Product> products = invocation.getArgument(0);
+            final var id = importJobRepository.findAll().get(0).getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committedProgress.add(jdbcTemplate.queryForObject(
+                            "SELECT processed_lines FROM product_import_jobs WHERE id = ?", Long.class, id));
+                }
+            });
+            return products;
+        });
+        final var body = """
+                {"description":"first product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"second product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                {"description":"third product.","fabricated_at":"2024-01-01T00:00:00Z","expired_at":"2025-01-01T00:00:00Z","supplier_cnpj":"59456277000176"}
+                """;
+
+        final var job = importJobService.submit(ProductImportFormat.NDJSON, stream(body)).get();
+
+        Assertions.assertEquals(ImportJobStatus.COMPLETED, awaitFinished(job.getId()).getStatus());
+        Assertions.assertEquals(List.of(2L, 3L), committedProgress);
+    }
+
+    @Test
+    public void givenARunningJob_whenShutDown_thenShouldLeaveItRunningForTheNextStart() throws Exception {
+        final var running = new CountDownLatch(1);
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> {
+            running.countDown();
+            new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        final var body = "{\"description\":\"a product.\",\"fabricated_at\":\"2024-01-01T00:00:00Z\",\"expired_at\":\"2025-01-01T00:00:00Z\",\"supplier_cnpj\":\"59456277000176\"}\n";
+
+        final var job = importJobService.submit(ProductImportFormat.NDJSON, stream(body)).get();
+        Assertions.assertTrue(running.await(10, TimeUnit.SECONDS));
+        importJobService.shutdown();
+
+        final var actualJob = importJobRepository.findById(job.getId()).orElseThrow();
+        Assertions.assertEquals(ImportJobStatus.RUNNING, actualJob.getStatus());
+        Assertions.assertEquals(0, actualJob.getProcessedLines());
+        Assertions.assertTrue(Files.exists(spoolDirectory.resolve(job.getId())));
+
+        when(productGateway.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        importJobService = service(2, 1, 1);
+        importJobService.resume();
+
+        Assertions.assertEquals(ImportJobStatus.COMPLETED, awaitFinished(job.getId()).getStatus());
+    }
+
+    @Test
+    public void givenAJobThatCannotBeRead_whenResumed_thenShouldFailItAndDropItsSpool() throws Exception {
+        final var id = "6a1b0f8e-2222-4c1d-8e0a-5b7d3c9f1e20";
+        Files.writeString(spoolDirectory.resolve(id), "<products/>");
+        importJobRepository.save(ImportJobJpaEntity.newJob(id, "XML", 11));
+
+        importJobService.resume();
+        final var actualJob = awaitFinished(id);
+
+        Assertions.assertEquals(ImportJobStatus.FAILED, actualJob.getStatus());
+        Assertions.assertFalse(Files.exists(spoolDirectory.resolve(id)));
+    }
+
+    private ImportJobService service(final int chunkSize, final int workers, final int queueCapacity) {
+        return new ImportJobService(
+                importJobRepository,
+                new DefaultCreateProductsUseCase(productGateway),
+                transactionManager,
+                spoolDirectory,
+                chunkSize,
+                workers,
+                queueCapacity,
+                10
+        );
+    }
+
+    private ImportJobJpaEntity awaitFinished(final String anId) throws InterruptedException {
+        final var deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (Instant.now().isBefore(deadline)) {
+            final var job = importJobRepository.findById(anId).orElseThrow();
+            //a finished job drops its spool right after being saved, so wait for both
+            if (job.getStatus().isFinished() && !Files.exists(spoolDirectory.resolve(anId))) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("job " + anId + " did not finish");
+    }
+
+    private static ByteArrayInputStream stream(final String aBody) {
+        return new ByteArrayInputStream(aBody.getBytes(StandardCharsets.UTF_8));
+    }
+}
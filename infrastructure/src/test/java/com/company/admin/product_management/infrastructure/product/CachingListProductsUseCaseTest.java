@@ -0,0 +1,70 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.application.product.retrieve.list.ListProductsUseCase;
+import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingListProductsUseCaseTest {
+
+    @Mock
+    private ListProductsUseCase listProductsUseCase;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    private CachingListProductsUseCase useCase;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(listProductsUseCase, productGateway);
+        useCase = new CachingListProductsUseCase(listProductsUseCase, productGateway, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void givenEquivalentQueries_whenCallsListProducts_thenShouldQueryOnlyOnce() {
+        final var expectedPage = new Pagination<ProductListOutput>(0, 10, 0, List.of());
+
+        when(productGateway.catalogVersion()).thenReturn(1L);
+        when(listProductsUseCase.execute(any())).thenReturn(expectedPage);
+
+        final var firstPage = useCase.execute(new ProductSearchQuery(0, 10, "Blue Chair", "code", "asc"));
+        final var secondPage = useCase.execute(new ProductSearchQuery(0, 10, "  blue   chair ", "code", "ASC"));
+        useCase.execute(new ProductSearchQuery(1, 10, "blue chair", "code", "asc"));
+
+        Assertions.assertSame(expectedPage, firstPage);
+        Assertions.assertSame(expectedPage, secondPage);
+        Mockito.verify(listProductsUseCase, times(2)).execute(any());
+    }
+
+    @Test
+    public void givenACatalogChange_whenCallsListProducts_thenShouldNotServeThePreviousPage() {
+        final var outdatedPage = new Pagination<ProductListOutput>(0, 10, 0, List.of());
+        final var currentPage = new Pagination<ProductListOutput>(0, 10, 1, List.of());
+        final var aQuery = new ProductSearchQuery(0, 10, "chair", "code", "asc");
+
+        when(productGateway.catalogVersion()).thenReturn(1L, 1L, 2L);
+        when(listProductsUseCase.execute(any())).thenReturn(outdatedPage, currentPage);
+
+        Assertions.assertSame(outdatedPage, useCase.execute(aQuery));
+        Assertions.assertSame(outdatedPage, useCase.execute(aQuery));
+        Assertions.assertSame(currentPage, useCase.execute(aQuery));
+        Mockito.verify(listProductsUseCase, times(2)).execute(any());
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.infrastructure.configuration.datasource.DataSourceRoute;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingProductGatewayTest {
+
+    @Mock
+    private ProductGateway productGateway;
+
+    private CachingProductGateway cachingGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+        cachingGateway = new CachingProductGateway(productGateway, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void givenACachedProduct_whenCallsFindByCodeAgain_thenShouldNotReachTheDelegate() {
+        final var aProduct = aProduct(123L);
+
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct));
+
+        final var firstProduct = cachingGateway.findByCode(123L).get();
+        final var secondProduct = cachingGateway.findByCode(123L).get();
+        cachingGateway.findByCode(456L);
+        cachingGateway.findByCode(456L);
+
+        Assertions.assertEquals(aProduct.getId(), secondProduct.getId());
+        Assertions.assertNotSame(firstProduct, secondProduct);
+        Assertions.assertEquals(1, cachingGateway.stats().hitCount());
+        Assertions.assertEquals(3, cachingGateway.stats().missCount());
+        verify(productGateway, times(1)).findByCode(eq(123L));
+        verify(productGateway, times(2)).findByCode(eq(456L));
+    }
+
+    @Test
+    public void givenACachedProduct_whenTheCallerMutatesIt_thenShouldKeepTheCachedSnapshot() {
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct(123L)));
+
+        cachingGateway.findByCode(123L).get()
+                .update(123L, "changed but not saved.", Instant.now(), Instant.now(), "code", "supplier.", "", false);
+
+        final var actualProduct = cachingGateway.findByCode(123L).get();
+
+        Assertions.assertEquals("A normal product description.", actualProduct.getDescription());
+        Assertions.assertTrue(actualProduct.isActive());
+    }
+
+    @Test
+    public void givenACachedProduct_whenCallsUpdateOrDelete_thenShouldLoadItAgain() {
+        final var aProduct = aProduct(123L);
+
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct));
+        when(productGateway.update(any())).thenAnswer(returnsFirstArg());
+
+        cachingGateway.findByCode(123L);
+        cachingGateway.update(Product.with(aProduct));
+        cachingGateway.findByCode(123L);
+        cachingGateway.deleteAllByCodes(List.of(123L));
+        cachingGateway.findByCode(123L);
+
+        verify(productGateway, times(3)).findByCode(eq(123L));
+    }
+
+    @Test
+    public void givenACachedProduct_whenCallsFindRevisionByCode_thenShouldAnswerFromTheCache() {
+        final var aProduct = aProduct(123L);
+
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct));
+
+        cachingGateway.findByCode(123L);
+        final var actualRevision = cachingGateway.findRevisionByCode(123L).get();
+
+        Assertions.assertEquals(123L, actualRevision.code());
+        Assertions.assertEquals(aProduct.getUpdatedAt(), actualRevision.updatedAt());
+        verify(productGateway, times(0)).findRevisionByCode(any());
+    }
+
+    @Test
+    public void givenAReadOnAReplica_whenCallsFindByCode_thenShouldServeTheCacheButNotFillIt() {
+        final var aProduct = aProduct(123L);
+
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct));
+
+        DataSourceRoute.onReplica(() -> cachingGateway.findByCode(123L));
+        DataSourceRoute.onReplica(() -> cachingGateway.findByCode(123L));
+        verify(productGateway, times(2)).findByCode(eq(123L));
+
+        cachingGateway.findByCode(123L);
+        final var actualProduct = DataSourceRoute.onReplica(() -> cachingGateway.findByCode(123L)).get();
+
+        Assertions.assertEquals(aProduct.getId(), actualProduct.getId());
+        verify(productGateway, times(3)).findByCode(eq(123L));
+    }
+
+    private static Product aProduct(final Long aCode) {
+        return Product.newProduct(
+                aCode,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+    }
+}
@@ -0,0 +1,239 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.application.product.update.DefaultUpdateProductUseCase;
+import com.company.admin.product_management.application.product.update.UpdateProductCommand;
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.infrastructure.MySQLGatewayTest;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductJpaEntity;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+//no test transaction, the write-behind flush commits on its own connection
+@MySQLGatewayTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InMemoryProductGatewayTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<InMemoryProductGateway> gateways = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        gateways.forEach(InMemoryProductGateway::shutdown);
+        productRepository.deleteAll();
+    }
+
+    @Test
+    public void givenStoredProducts_whenLoaded_thenShouldAnswerReadsWithoutTheDatabase() {
+        final var aProducts = new ArrayList<ProductJpaEntity>();
+        for (var i = 0; i < 40; i++) {
+            aProducts.add(ProductJpaEntity.from(aProduct("product %02d %s.".formatted(i, i % 2 == 0 ? "chair" : "lamp"), Instant.now())));
+        }
+        final var storedCodes = productRepository.saveAllAndFlush(aProducts).stream().map(ProductJpaEntity::getCode).toList();
+
+        final var aGateway = newGateway();
+        productRepository.deleteAllInBatch();
+
+        Assertions.assertEquals("product 07 lamp.", aGateway.findByCode(storedCodes.get(7)).get().getDescription());
+        Assertions.assertEquals(40, aGateway.count(new ProductSearchQuery(0, 10, "", "code", "asc", null, CountMode.EXACT)));
+        Assertions.assertEquals(20, aGateway.count(new ProductSearchQuery(0, 10, "CHAIR", "code", "asc", null, CountMode.EXACT)));
+
+        final var seen = new ArrayList<String>();
+        String after = null;
+        do {
+            final var page = aGateway.findAll(new ProductSearchQuery(0, 6, "chair", "description", "desc", after, CountMode.EXACT));
+            Assertions.assertEquals(20, page.total());
+            page.items().forEach(item -> seen.add(item.getDescription()));
+            after = page.nextCursor();
+        } while (after != null);
+
+        Assertions.assertEquals(20, seen.size());
+        Assertions.assertEquals("product 38 chair.", seen.get(0));
+        Assertions.assertEquals("product 00 chair.", seen.get(19));
+
+        final var byOffset = aGateway.findAll(new ProductSearchQuery(3, 6, "chair", "description", "desc", null, CountMode.NONE));
+
+        Assertions.assertEquals(seen.subList(18, 20), byOffset.items().stream().map(Product::getDescription).toList());
+        Assertions.assertFalse(byOffset.hasNext());
+    }
+
+    @Test
+    public void givenManyWritesToTheSameProduct_whenFlushed_thenShouldPersistOnlyTheLatestState() {
+        final var aGateway = newGateway();
+
+        final var created = aGateway.create(aProduct("first product.", Instant.now()));
+        final var removed = aGateway.create(aProduct("removed product.", Instant.now()));
+        final var firstUpdate = aGateway.update(Product.with(created).update(created.getCode(), "first update.",
+                Instant.now(), Instant.now(), "supplier-code", null, "59456277000176", true));
+        final var secondUpdate = aGateway.update(Product.with(firstUpdate).update(created.getCode(), "second update.",
+                Instant.now(), Instant.now(), "supplier-code", null, "59456277000176", true));
+        aGateway.deleteByCode(removed.getCode());
+
+        Assertions.assertEquals(0, productRepository.count());
+        Assertions.assertEquals(2, aGateway.pendingWrites());
+        Assertions.assertEquals("second update.", aGateway.findByCode(created.getCode()).get().getDescription());
+
+        aGateway.flush();
+
+        Assertions.assertEquals(0, aGateway.pendingWrites());
+        Assertions.assertEquals(1, productRepository.count());
+        final var actualEntity = productRepository.findById(created.getCode()).get();
+        Assertions.assertEquals("second update.", actualEntity.getDescription());
+        Assertions.assertEquals(2, actualEntity.getVersion());
+        Assertions.assertEquals(created.getId().toUUID(), actualEntity.getId());
+        Assertions.assertEquals(2, secondUpdate.getVersion());
+
+        final var reloaded = newGateway();
+
+        Assertions.assertEquals(2, reloaded.findByCode(created.getCode()).get().getVersion());
+        Assertions.assertTrue(reloaded.findByCode(removed.getCode()).isEmpty());
+    }
+
+    @Test
+    public void givenAStaleOrMissingProduct_whenCallsUpdate_thenShouldThrowAndKeepTheStoredOne() {
+        final var aGateway = newGateway();
+        final var created = aGateway.create(aProduct("first product.", Instant.now()));
+        final var stale = Product.with(created).update(created.getCode(), "stale update.",
+                Instant.now(), Instant.now(), "supplier-code", null, "59456277000176", true);
+
+        aGateway.update(Product.with(created));
+
+        final var actualException = Assertions.assertThrows(ConflictException.class, () -> aGateway.update(stale));
+        Assertions.assertEquals("Product with code %s was changed by another request".formatted(created.getCode()), actualException.getMessage());
+        Assertions.assertEquals("first product.", aGateway.findByCode(created.getCode()).get().getDescription());
+        Assertions.assertEquals(1, aGateway.findRevisionByCode(created.getCode()).get().version());
+
+        final var aMissingProduct = Product.newProduct(999_999L, "missing product.", Instant.now(), Instant.now(), "missing.", "missing.", "", true);
+        Assertions.assertThrows(NotFoundException.class, () -> aGateway.update(aMissingProduct));
+        Assertions.assertEquals(List.of(), aGateway.updateAll(List.of(stale, aMissingProduct)));
+    }
+
+    @Test
+    public void givenUpdatesThroughTheUseCase_whenOneFailsValidation_thenShouldLeaveTheStoredProductUntouched() {
+        final var aGateway = newGateway();
+        final var created = aGateway.create(aProduct("first product.", Instant.now()));
+        final var useCase = new DefaultUpdateProductUseCase(aGateway);
+
+        final var invalid = useCase.execute(UpdateProductCommand.with(created.getCode(), null,
+                Instant.now(), Instant.now(), "supplier-code", null, "59456277000176", true));
+
+        Assertions.assertTrue(invalid.isLeft());
+        Assertions.assertEquals("first product.", aGateway.findByCode(created.getCode()).get().getDescription());
+        Assertions.assertEquals(0, aGateway.findByCode(created.getCode()).get().getVersion());
+
+        final var valid = useCase.execute(UpdateProductCommand.with(created.getCode(), "updated product.",
+                Instant.now(), Instant.now(), "supplier-code", null, "59456277000176", true));
+
+        Assertions.assertTrue(valid.isRight());
+        Assertions.assertEquals(1, valid.get().version());
+        Assertions.assertEquals(
+                List.of("updated product."),
+                aGateway.findAll(new ProductSearchQuery(0, 10, "", "description", "asc", null, CountMode.EXACT))
+                        .items().stream().map(Product::getDescription).toList()
+        );
+
+        aGateway.flush();
+
+        Assertions.assertEquals("updated product.", productRepository.findById(created.getCode()).get().getDescription());
+    }
+
+    @Test
+    public void givenABatchWithARowTheDatabaseRejects_whenFlushed_thenShouldStoreTheOthersAndSetItAside() {
+        final var aGateway = newGateway();
+        final var first = aGateway.create(aProduct("first product.", Instant.now()));
+        final var rejected = aGateway.create(aProduct("x".repeat(300), Instant.now()));
+        final var third = aGateway.create(aProduct("third product.", Instant.now()));
+
+        aGateway.flush();
+
+        Assertions.assertEquals(0, aGateway.pendingWrites());
+        Assertions.assertEquals(1, aGateway.setAsideWrites());
+        Assertions.assertEquals(2, aGateway.flushFailures());
+        Assertions.assertTrue(productRepository.existsById(first.getCode()));
+        Assertions.assertTrue(productRepository.existsById(third.getCode()));
+        Assertions.assertFalse(productRepository.existsById(rejected.getCode()));
+
+        aGateway.update(Product.with(rejected).update(rejected.getCode(), "fixed product.",
+                Instant.now(), Instant.now(), "supplier-code", null, "59456277000176", true));
+
+        Assertions.assertEquals(0, aGateway.setAsideWrites());
+
+        aGateway.shutdown();
+
+        Assertions.assertEquals("fixed product.", productRepository.findById(rejected.getCode()).get().getDescription());
+    }
+
+    @Test
+    public void givenANullableSortColumn_whenWalkingTheCursor_thenShouldReturnEveryProductOnceWithNullsFirstOnAsc() {
+        final var aGateway = newGateway();
+        final var expectedFabricatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        final var aProduct1 = aGateway.create(aProduct("first product.", null));
+        final var aProduct2 = aGateway.create(aProduct("second product.", expectedFabricatedAt));
+        final var aProduct3 = aGateway.create(aProduct("third product.", null));
+        final var aProduct4 = aGateway.create(aProduct("fourth product.", expectedFabricatedAt.minusSeconds(60)));
+
+        for (final var direction : List.of("asc", "desc")) {
+            final var actualIds = new ArrayList<ProductID>();
+            String after = null;
+            do {
+                final var page = aGateway.findAll(new ProductSearchQuery(0, 1, "", "fabricatedAt", direction, after));
+                page.items().forEach(aProduct -> actualIds.add(aProduct.getId()));
+                after = page.nextCursor();
+            } while (after != null && actualIds.size() <= 4);
+
+            final var expectedIds = new ArrayList<>(List.of(aProduct1.getId(), aProduct3.getId(), aProduct4.getId(), aProduct2.getId()));
+            if ("desc".equals(direction)) {
+                Collections.reverse(expectedIds);
+            }
+            Assertions.assertEquals(expectedIds, actualIds);
+        }
+    }
+
+    private InMemoryProductGateway newGateway() {
+        final var aGateway = new InMemoryProductGateway(jdbcTemplate, transactionManager, 1000, Optional.empty(),
+                Duration.ofHours(1), 1000, 2);
+        gateways.add(aGateway);
+        aGateway.load();
+        return aGateway;
+    }
+
+    private static Product aProduct(final String aDescription, final Instant aFabricatedAt) {
+        return Product.newProduct(
+                aDescription,
+                aFabricatedAt,
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                null,
+                "59456277000176",
+                true
+        );
+    }
+}
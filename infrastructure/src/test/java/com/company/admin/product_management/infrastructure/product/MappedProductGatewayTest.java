@@ -0,0 +1,139 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
+import com.company.admin.product_management.infrastructure.product.store.MappedProductStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MappedProductGatewayTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ProductGateway productGateway;
+
+    private MappedProductStore productStore;
+
+    private MappedProductGateway mappedGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+        productStore = new MappedProductStore(directory, DataSize.ofMegabytes(1));
+        mappedGateway = new MappedProductGateway(productGateway, productStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productStore.close();
+    }
+
+    @Test
+    public void givenALoadedProduct_whenTheNodeRestarts_thenShouldServeItWithoutTheDelegate() {
+        final var aProduct = aProduct(123L, 0L);
+
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct));
+        when(productGateway.findAllByCodes(eq(List.of(456L)))).thenReturn(List.of(aProduct(456L, 0L)));
+
+        mappedGateway.findByCode(123L);
+        mappedGateway.findByCode(789L);
+        productStore.close();
+
+        productStore = new MappedProductStore(directory, DataSize.ofMegabytes(1));
+        mappedGateway = new MappedProductGateway(productGateway, productStore);
+
+        final var actualProduct = mappedGateway.findByCode(123L).get();
+        final var actualProducts = mappedGateway.findAllByCodes(List.of(123L, 456L));
+
+        Assertions.assertEquals(aProduct.getId(), actualProduct.getId());
+        Assertions.assertEquals(aProduct.getDescription(), actualProduct.getDescription());
+        Assertions.assertEquals(0, mappedGateway.findRevisionByCode(123L).get().version());
+        Assertions.assertEquals(List.of(123L, 456L), actualProducts.stream().map(Product::getCode).toList());
+        verify(productGateway, times(1)).findByCode(eq(123L));
+        verify(productGateway, times(1)).findByCode(eq(789L));
+        verify(productGateway, times(0)).findRevisionByCode(any());
+    }
+
+    @Test
+    public void givenAStoredProduct_whenCallsUpdate_thenShouldServeTheUpdatedVersion() {
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct(123L, 0L)));
+        when(productGateway.update(any())).thenReturn(aProduct(123L, 1L));
+
+        mappedGateway.findByCode(123L);
+        mappedGateway.update(aProduct(123L, 0L));
+
+        Assertions.assertEquals(1, mappedGateway.findByCode(123L).get().getVersion());
+        verify(productGateway, times(1)).findByCode(eq(123L));
+    }
+
+    @Test
+    public void givenAFailedUpdate_whenCallsFindByCode_thenShouldLoadItAgain() {
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct(123L, 0L)));
+        when(productGateway.update(any())).thenThrow(ConflictException.with(Product.class, 123L));
+
+        mappedGateway.findByCode(123L);
+        Assertions.assertThrows(ConflictException.class, () -> mappedGateway.update(aProduct(123L, 0L)));
+
+        Assertions.assertEquals(0, mappedGateway.findByCode(123L).get().getVersion());
+        Assertions.assertEquals(0, mappedGateway.findByCode(123L).get().getVersion());
+        verify(productGateway, times(2)).findByCode(eq(123L));
+    }
+
+    @Test
+    public void givenADeletedProduct_whenAReadLoadsItFromTheDelegate_thenShouldNotStoreItAgain() {
+        when(productGateway.findByCode(eq(123L))).thenReturn(Optional.of(aProduct(123L, 0L)));
+        mappedGateway.findByCode(123L);
+        mappedGateway.deleteByCode(123L);
+
+        Assertions.assertTrue(mappedGateway.findByCode(123L).isPresent());
+        Assertions.assertTrue(mappedGateway.findByCode(123L).isPresent());
+        verify(productGateway, times(3)).findByCode(eq(123L));
+
+        doThrow(new IllegalStateException("database is down")).when(productGateway).deleteByCode(eq(456L));
+        Assertions.assertThrows(IllegalStateException.class, () -> mappedGateway.deleteByCode(456L));
+    }
+
+    private static Product aProduct(final Long aCode, final long aVersion) {
+        return Product.with(
+                aVersion,
+                ProductID.from("0e3b1c52-7f0c-4a1c-9a55-6f0e9a1d2b11"),
+                aCode,
+                "A normal product description.",
+                Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS),
+                Instant.now().plus(10, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS),
+                "supplier-code",
+                "supplier.",
+                "59456277000176",
+                true,
+                Instant.now(),
+                Instant.now(),
+                null
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.infrastructure.product.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Optional;
+
+//runs every ProductMySQLGatewayTest scenario against the plain JDBC gateway
+public class ProductJdbcGatewayTest extends ProductMySQLGatewayTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    //rows seeded through the repository reach the connection only once flushed, and the JPA reads of the
+    //assertions must not come from the persistence context, as the repository's own update clears it
+    @Override
+    protected ProductGateway newGateway(final int estimateCap, final boolean fullText, final Optional<ProductSearchIndex> searchIndex) {
+        final var aGateway = new ProductJdbcGateway(jdbcTemplate, transactionManager, estimateCap, fullText, searchIndex, 1000);
+        return (ProductGateway) Proxy.newProxyInstance(
+                ProductGateway.class.getClassLoader(),
+                new Class<?>[]{ProductGateway.class},
+                (proxy, method, args) -> {
+                    entityManager.flush();
+                    entityManager.clear();
+                    try {
+                        return method.invoke(aGateway, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+
+    //every read goes to the database, which keeps microseconds
+    @Override
+    protected Instant readBack(final Instant anInstant) {
+        return micros(anInstant);
+    }
+}
@@ -1,26 +1,56 @@
 package com.company.admin.product_management.infrastructure.product;
 
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.DomainException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.pagination.Pagination;
 import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductGateway;
+import com.company.admin.product_management.domain.product.ProductID;
 import com.company.admin.product_management.domain.product.ProductSearchQuery;
 import com.company.admin.product_management.infrastructure.MySQLGatewayTest;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductBatchRepository;
 import com.company.admin.product_management.infrastructure.product.persistence.ProductJpaEntity;
 import com.company.admin.product_management.infrastructure.product.persistence.ProductRepository;
+import com.company.admin.product_management.infrastructure.product.search.ProductSearchIndex;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.persistence.EntityManager;
+
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @MySQLGatewayTest
 public class ProductMySQLGatewayTest {
 
+    protected ProductGateway productGateway;
+
+    @Autowired
+    protected ProductRepository productRepository;
+
     @Autowired
-    private ProductMySQLGateway productGateway;
+    private ProductBatchRepository productBatchRepository;
 
     @Autowired
-    private ProductRepository productRepository;
+    protected EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        productGateway = newGateway(1000, false, Optional.empty());
+    }
+
+    //the same scenarios run against every ProductGateway implementation, subclasses hand over their own
+    protected ProductGateway newGateway(final int estimateCap, final boolean fullText, final Optional<ProductSearchIndex> searchIndex) {
+        return new ProductMySQLGateway(productRepository, productBatchRepository, entityManager, estimateCap, fullText, searchIndex, 1000);
+    }
 
     @Test
     public void givenAValidProduct_whenCallsCreate_thenShouldReturnANewProduct()
@@ -64,17 +94,17 @@ public class ProductMySQLGatewayTest {
         final var actualEntity = productRepository.findById(actualProduct.getCode()).get();
 
         Assertions.assertEquals(expectedDescription, actualEntity.getDescription());
-        Assertions.assertEquals(expectedFabricatedAt, actualEntity.getFabricatedAt());
-        Assertions.assertEquals(expectedExpiredAt, actualEntity.getExpiredAt());
+        Assertions.assertEquals(readBack(expectedFabricatedAt), actualEntity.getFabricatedAt());
+        Assertions.assertEquals(readBack(expectedExpiredAt), actualEntity.getExpiredAt());
         Assertions.assertEquals(expectedSupplierCode, actualEntity.getSupplierCode());
         Assertions.assertEquals(expectedSupplierDescription, actualEntity.getSupplierDescription());
         Assertions.assertEquals(expectedSupplierCNPJ, actualEntity.getSupplierCNPJ());
         Assertions.assertEquals(expectedIsActive, actualEntity.isActive());
-        Assertions.assertEquals(aProduct.getCreatedAt(), actualEntity.getCreatedAt());
-        Assertions.assertEquals(aProduct.getUpdatedAt(), actualEntity.getUpdatedAt());
+        Assertions.assertEquals(readBack(aProduct.getCreatedAt()), actualEntity.getCreatedAt());
+        Assertions.assertEquals(readBack(aProduct.getUpdatedAt()), actualEntity.getUpdatedAt());
         Assertions.assertNull(actualEntity.getDeletedAt());
 
-        Assertions.assertEquals(aProduct.getId().getValue(), actualEntity.getId());
+        Assertions.assertEquals(aProduct.getId().toUUID(), actualEntity.getId());
         Assertions.assertEquals(actualProduct.getCode(), actualEntity.getCode());
 
     }
@@ -141,23 +171,85 @@ public class ProductMySQLGatewayTest {
         Assertions.assertEquals(aProduct.getId(), actualProduct.getId());
         Assertions.assertNotNull(actualProduct.getCode());
 
+        //the single UPDATE clears the persistence context, so the entity is read back with the column precision
         final var actualEntity = productRepository.findById(actualProduct.getCode()).get();
 
         Assertions.assertEquals(expectedDescription, actualEntity.getDescription());
-        Assertions.assertEquals(expectedFabricatedAt, actualEntity.getFabricatedAt());
-        Assertions.assertEquals(expectedExpiredAt, actualEntity.getExpiredAt());
+        Assertions.assertEquals(micros(expectedFabricatedAt), actualEntity.getFabricatedAt());
+        Assertions.assertEquals(micros(expectedExpiredAt), actualEntity.getExpiredAt());
         Assertions.assertEquals(expectedSupplierCode, actualEntity.getSupplierCode());
         Assertions.assertEquals(expectedSupplierDescription, actualEntity.getSupplierDescription());
         Assertions.assertEquals(expectedSupplierCNPJ, actualEntity.getSupplierCNPJ());
         Assertions.assertEquals(expectedIsActive, actualEntity.isActive());
-        Assertions.assertEquals(aProduct.getCreatedAt(), actualEntity.getCreatedAt());
+        Assertions.assertEquals(micros(aProduct.getCreatedAt()), actualEntity.getCreatedAt());
         Assertions.assertTrue(aProduct.getUpdatedAt().isBefore(actualEntity.getUpdatedAt()));
+        Assertions.assertEquals(1, actualEntity.getVersion());
         Assertions.assertNull(actualEntity.getDeletedAt());
 
-        Assertions.assertEquals(aProduct.getId().getValue(), actualEntity.getId());
+        Assertions.assertEquals(aProduct.getId().toUUID(), actualEntity.getId());
         Assertions.assertEquals(actualProduct.getCode(), actualEntity.getCode());
     }
 
+    @Test
+    public void givenAPrePersistedProduct_whenCallsUpdateTwice_thenShouldIncrementTheVersionAndRejectTheStaleCopy() {
+        final var aProduct = productGateway.create(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true));
+        entityManager.flush();
+        Assertions.assertEquals(0, aProduct.getVersion());
+
+        final var aStaleCopy = Product.with(aProduct).update(aProduct.getCode(), "stale update.", Instant.now(), Instant.now(), "stale.", "stale.", "", true);
+        final var actualProduct = productGateway.update(Product.with(aProduct).update(aProduct.getCode(), "first updated.", Instant.now(), Instant.now(), "first-updated.", "first updated.", "", true));
+
+        Assertions.assertEquals(1, actualProduct.getVersion());
+        Assertions.assertEquals(1, productRepository.findById(aProduct.getCode()).get().getVersion());
+
+        final var actualException = Assertions.assertThrows(ConflictException.class, () -> productGateway.update(aStaleCopy));
+        Assertions.assertEquals("Product with code %s was changed by another request".formatted(aProduct.getCode()), actualException.getMessage());
+        Assertions.assertEquals("first updated.", productRepository.findById(aProduct.getCode()).get().getDescription());
+
+        Assertions.assertEquals(2, productGateway.update(Product.with(actualProduct)).getVersion());
+    }
+
+    @Test
+    public void givenAPrePersistedProduct_whenCallsFindRevisionByCode_thenShouldReturnItsVersionAndLastUpdate() {
+        final var aProduct = productGateway.create(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true));
+        final var actualProduct = productGateway.update(Product.with(aProduct).update(aProduct.getCode(), "first updated.", Instant.now(), Instant.now(), "first-updated.", "first updated.", "", true));
+
+        final var actualRevision = productGateway.findRevisionByCode(aProduct.getCode()).get();
+
+        Assertions.assertEquals(aProduct.getCode(), actualRevision.code());
+        Assertions.assertEquals(1, actualRevision.version());
+        Assertions.assertEquals(micros(actualProduct.getUpdatedAt()), actualRevision.updatedAt());
+        Assertions.assertTrue(productGateway.findRevisionByCode(999_999L).isEmpty());
+    }
+
+    @Test
+    public void givenWrites_whenCallsCatalogVersion_thenShouldChangeOnlyWhenRowsChanged() {
+        final var initialVersion = productGateway.catalogVersion();
+
+        final var aProduct = productGateway.create(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true));
+        final var afterCreate = productGateway.catalogVersion();
+        Assertions.assertTrue(afterCreate > initialVersion);
+        Assertions.assertEquals(afterCreate, newGateway(1000, false, Optional.empty()).catalogVersion());
+
+        productGateway.findAll(new ProductSearchQuery(0, 10, "first", "code", "asc"));
+        productGateway.deleteAllByCodes(List.of(999_999L));
+        Assertions.assertEquals(afterCreate, productGateway.catalogVersion());
+
+        productGateway.update(Product.with(aProduct).update(aProduct.getCode(), "first updated.", Instant.now(), Instant.now(), "first-updated.", "first updated.", "", true));
+        final var afterUpdate = productGateway.catalogVersion();
+        Assertions.assertTrue(afterUpdate > afterCreate);
+
+        productGateway.deleteByCode(aProduct.getCode());
+        Assertions.assertTrue(productGateway.catalogVersion() > afterUpdate);
+    }
+
+    @Test
+    public void givenAMissingProduct_whenCallsUpdate_thenShouldThrowNotFound() {
+        final var aMissingProduct = Product.newProduct(999_999L, "missing product.", Instant.now(), Instant.now(), "missing.", "missing.", "", true);
+
+        Assertions.assertThrows(NotFoundException.class, () -> productGateway.update(aMissingProduct));
+    }
+
     @Test
     public void givenAPrePersistedProductAndValidProductCode_whenTryToDeleteIt_thenShouldDelete() {
         final var aProduct = Product.newProduct(
@@ -212,14 +304,14 @@ public class ProductMySQLGatewayTest {
         final var actualProduct = productGateway.findByCode(savedProductCode).get();
 
         Assertions.assertEquals(expectedDescription, actualProduct.getDescription());
-        Assertions.assertEquals(expectedFabricatedAt, actualProduct.getFabricatedAt());
-        Assertions.assertEquals(expectedExpiredAt, actualProduct.getExpiredAt());
+        Assertions.assertEquals(readBack(expectedFabricatedAt), actualProduct.getFabricatedAt());
+        Assertions.assertEquals(readBack(expectedExpiredAt), actualProduct.getExpiredAt());
         Assertions.assertEquals(expectedSupplierCode, actualProduct.getSupplierCode());
         Assertions.assertEquals(expectedSupplierDescription, actualProduct.getSupplierDescription());
         Assertions.assertEquals(expectedSupplierCNPJ, actualProduct.getSupplierCNPJ());
         Assertions.assertEquals(expectedIsActive, actualProduct.isActive());
-        Assertions.assertEquals(aProduct.getCreatedAt(), actualProduct.getCreatedAt());
-        Assertions.assertEquals(aProduct.getUpdatedAt(), actualProduct.getUpdatedAt());
+        Assertions.assertEquals(readBack(aProduct.getCreatedAt()), actualProduct.getCreatedAt());
+        Assertions.assertEquals(readBack(aProduct.getUpdatedAt()), actualProduct.getUpdatedAt());
         Assertions.assertNull(actualProduct.getDeletedAt());
     }
 
@@ -231,6 +323,28 @@ public class ProductMySQLGatewayTest {
         Assertions.assertTrue(actualProduct.isEmpty());
     }
 
+    @Test
+    public void givenAPrePersistedProduct_whenCallsFindById_thenShouldReturnProduct()
+    {
+        final var aProduct = Product.newProduct(
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+        final var savedProductCode = productRepository.saveAndFlush(ProductJpaEntity.from(aProduct)).getCode();
+
+        final var actualProduct = productGateway.findById(aProduct.getId()).get();
+
+        Assertions.assertEquals(aProduct.getId(), actualProduct.getId());
+        Assertions.assertEquals(aProduct.getId().getValue(), actualProduct.getId().getValue());
+        Assertions.assertEquals(savedProductCode, actualProduct.getCode());
+        Assertions.assertTrue(productGateway.findById(ProductID.unique()).isEmpty());
+    }
+
     @Test
     public void givenPrePersistedProducts_whenCallsFindAll_thenShouldReturnPaginated() {
         final var expectedPage = 0;
@@ -501,4 +615,403 @@ public class ProductMySQLGatewayTest {
         Assertions.assertEquals(aProduct1.getId(), actualResult.items().get(0).getId());
         Assertions.assertEquals(aProduct3.getId(), actualResult.items().get(1).getId());
     }
+
+    @Test
+    public void givenPrePersistedProducts_whenCallsFindAllFollowingCursor_thenShouldSeekEachPage() {
+        final var expectedPerPage = 2;
+        final var expectedTotal = 5;
+
+        final var descriptions = List.of("e product.", "a product.", "d product.", "b product.", "c product.");
+        productRepository.saveAllAndFlush(descriptions.stream()
+                .map(description -> Product.newProduct(
+                        description,
+                        Instant.now(),
+                        Instant.now().plus(50, ChronoUnit.DAYS),
+                        "supplier-code",
+                        "supplier description.",
+                        "11111111111111",
+                        true
+                ))
+                .map(ProductJpaEntity::from)
+                .toList());
+
+        Assertions.assertEquals(expectedTotal, productRepository.count());
+
+        var query = new ProductSearchQuery(0, expectedPerPage, "", "description", "desc");
+        var actualResult = productGateway.findAll(query);
+
+        Assertions.assertEquals(expectedTotal, actualResult.total());
+        Assertions.assertEquals(List.of("e product.", "d product."), actualResult.items().stream().map(Product::getDescription).toList());
+        Assertions.assertNotNull(actualResult.nextCursor());
+
+        query = new ProductSearchQuery(0, expectedPerPage, "", "description", "desc", actualResult.nextCursor());
+        actualResult = productGateway.findAll(query);
+
+        Assertions.assertEquals(expectedTotal, actualResult.total());
+        Assertions.assertEquals(List.of("c product.", "b product."), actualResult.items().stream().map(Product::getDescription).toList());
+        Assertions.assertNotNull(actualResult.nextCursor());
+
+        query = new ProductSearchQuery(0, expectedPerPage, "", "description", "desc", actualResult.nextCursor());
+        actualResult = productGateway.findAll(query);
+
+        Assertions.assertEquals(expectedTotal, actualResult.total());
+        Assertions.assertEquals(List.of("a product."), actualResult.items().stream().map(Product::getDescription).toList());
+        Assertions.assertNull(actualResult.nextCursor());
+    }
+
+    @Test
+    public void givenNullableSortColumn_whenCallsFindAllFollowingCursor_thenShouldReturnEveryProductOnce() {
+        final var expectedPerPage = 1;
+
+        final var expectedFabricatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        final var aProduct1 = Product.newProduct("first product.", null, Instant.now(), "first-product.", "first product.", "11111111111111", true);
+        final var aProduct2 = Product.newProduct("second product.", expectedFabricatedAt, Instant.now(), "second-product.", "second product.", "22222222222222", true);
+        final var aProduct3 = Product.newProduct("third product.", null, Instant.now(), "third-product.", "third product.", "33333333333333", true);
+
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(aProduct1),
+                ProductJpaEntity.from(aProduct2),
+                ProductJpaEntity.from(aProduct3)
+        ));
+
+        for (final var direction : List.of("asc", "desc")) {
+            final var actualIds = new ArrayList<ProductID>();
+            String after = null;
+            do {
+                final var actualResult = productGateway.findAll(
+                        new ProductSearchQuery(0, expectedPerPage, "", "fabricatedAt", direction, after)
+                );
+                actualResult.items().forEach(aProduct -> actualIds.add(aProduct.getId()));
+                after = actualResult.nextCursor();
+            } while (after != null && actualIds.size() <= 3);
+
+            Assertions.assertEquals(3, actualIds.size());
+            Assertions.assertTrue(actualIds.containsAll(List.of(aProduct1.getId(), aProduct2.getId(), aProduct3.getId())));
+        }
+    }
+
+    @Test
+    public void givenACursorFromAnotherSort_whenCallsFindAll_thenShouldThrowDomainException() {
+        final var expectedErrorMessage = "'after' cursor does not match the requested sort";
+
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true)),
+                ProductJpaEntity.from(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true))
+        ));
+
+        final var aCursor = productGateway.findAll(new ProductSearchQuery(0, 1, "", "code", "asc")).nextCursor();
+        final var query = new ProductSearchQuery(0, 1, "", "description", "asc", aCursor);
+
+        final var actualException = Assertions.assertThrows(DomainException.class, () -> productGateway.findAll(query));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getErrors().get(0).message());
+    }
+
+    @Test
+    public void givenAMalformedCursor_whenCallsFindAll_thenShouldThrowDomainException() {
+        final var expectedErrorMessage = "'after' cursor is invalid";
+        final var query = new ProductSearchQuery(0, 1, "", "code", "asc", "not-a-cursor");
+
+        final var actualException = Assertions.assertThrows(DomainException.class, () -> productGateway.findAll(query));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getErrors().get(0).message());
+    }
+
+    @Test
+    public void givenCountModeNone_whenCallsFindAll_thenShouldSkipTotalAndReportHasNext() {
+        final var expectedPerPage = 2;
+
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true)),
+                ProductJpaEntity.from(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true)),
+                ProductJpaEntity.from(Product.newProduct("third product.", Instant.now(), Instant.now(), "third-product.", "third product.", "33333333333333", true))
+        ));
+
+        var actualResult = productGateway.findAll(new ProductSearchQuery(0, expectedPerPage, "", "code", "asc", null, CountMode.NONE));
+
+        Assertions.assertEquals(Pagination.UNKNOWN_TOTAL, actualResult.total());
+        Assertions.assertEquals(expectedPerPage, actualResult.items().size());
+        Assertions.assertTrue(actualResult.hasNext());
+
+        actualResult = productGateway.findAll(new ProductSearchQuery(1, expectedPerPage, "", "code", "asc", null, CountMode.NONE));
+
+        Assertions.assertEquals(Pagination.UNKNOWN_TOTAL, actualResult.total());
+        Assertions.assertEquals(1, actualResult.items().size());
+        Assertions.assertFalse(actualResult.hasNext());
+        Assertions.assertNull(actualResult.nextCursor());
+    }
+
+    @Test
+    public void givenCountModeEstimate_whenMatchesExceedTheCap_thenShouldReturnTheCap() {
+        final var expectedCap = 2;
+        final var aGateway = newGateway(expectedCap, false, Optional.empty());
+
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true)),
+                ProductJpaEntity.from(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true)),
+                ProductJpaEntity.from(Product.newProduct("third product.", Instant.now(), Instant.now(), "third-product.", "third product.", "33333333333333", true))
+        ));
+
+        final var estimateQuery = new ProductSearchQuery(0, 10, "product", "code", "asc", null, CountMode.ESTIMATE);
+        final var exactQuery = new ProductSearchQuery(0, 10, "product", "code", "asc", null, CountMode.EXACT);
+
+        Assertions.assertEquals(expectedCap, aGateway.count(estimateQuery));
+        Assertions.assertEquals(expectedCap, aGateway.findAll(estimateQuery).total());
+        Assertions.assertEquals(3, aGateway.count(exactQuery));
+        Assertions.assertEquals(1, aGateway.count(new ProductSearchQuery(0, 10, "third", "code", "asc", null, CountMode.ESTIMATE)));
+    }
+
+    @Test
+    public void givenFullTextDisabled_whenCallsFindAllSortedByRelevance_thenShouldFallBackToLikeAndCodeOrder() {
+        final var aProduct1 = Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product supplier.", "11111111111111", true);
+        final var aProduct2 = Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true);
+        final var aProduct3 = Product.newProduct("third product.", Instant.now(), Instant.now(), "third-product.", "third product supplier.", "33333333333333", true);
+
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(aProduct1),
+                ProductJpaEntity.from(aProduct2),
+                ProductJpaEntity.from(aProduct3)
+        ));
+
+        final var actualResult = productGateway.findAll(new ProductSearchQuery(0, 10, "supplier", "relevance", "asc"));
+
+        Assertions.assertEquals(2, actualResult.total());
+        Assertions.assertEquals(aProduct1.getId(), actualResult.items().get(0).getId());
+        Assertions.assertEquals(aProduct3.getId(), actualResult.items().get(1).getId());
+    }
+
+    @Test
+    public void givenASearchIndex_whenCallsFindAllByCodeWithCursor_thenShouldWalkTheMatchesFromTheIndex() {
+        final var aSearchIndex = new ProductSearchIndex(productRepository);
+        final var aGateway = newGateway(1000, false, Optional.of(aSearchIndex));
+
+        final var aProduct1 = Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first supplier.", "11111111111111", true);
+        final var aProduct2 = Product.newProduct("second item.", Instant.now(), Instant.now(), "second-item.", "second supplier.", "22222222222222", true);
+        final var aProduct3 = Product.newProduct("third product.", Instant.now(), Instant.now(), "third-product.", "third supplier.", "33333333333333", true);
+        final var aProduct4 = Product.newProduct("fourth Prod\u00fact.", Instant.now(), Instant.now(), "fourth-item.", "fourth supplier.", "44444444444444", true);
+
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(aProduct1),
+                ProductJpaEntity.from(aProduct2),
+                ProductJpaEntity.from(aProduct3),
+                ProductJpaEntity.from(aProduct4)
+        ));
+        aSearchIndex.rebuild();
+
+        var actualResult = aGateway.findAll(new ProductSearchQuery(0, 2, "product", "code", "desc"));
+
+        Assertions.assertEquals(3, actualResult.total());
+        Assertions.assertEquals(aProduct4.getId(), actualResult.items().get(0).getId());
+        Assertions.assertEquals(aProduct3.getId(), actualResult.items().get(1).getId());
+        Assertions.assertTrue(actualResult.hasNext());
+
+        actualResult = aGateway.findAll(new ProductSearchQuery(0, 2, "product", "code", "desc", actualResult.nextCursor()));
+
+        Assertions.assertEquals(1, actualResult.items().size());
+        Assertions.assertEquals(aProduct1.getId(), actualResult.items().get(0).getId());
+        Assertions.assertFalse(actualResult.hasNext());
+        Assertions.assertNull(actualResult.nextCursor());
+    }
+
+    @Test
+    public void givenASearchIndex_whenCallsFindAllByRelevance_thenShouldRankTheBestMatchFirst() {
+        final var aSearchIndex = new ProductSearchIndex(productRepository);
+        final var aGateway = newGateway(1000, false, Optional.of(aSearchIndex));
+
+        final var aProduct1 = Product.newProduct("a chair.", Instant.now(), Instant.now(), "chair.", "furniture supplier.", "11111111111111", true);
+        final var aProduct2 = Product.newProduct("chair, chair cushion and chair cover.", Instant.now(), Instant.now(), "chair-kit.", "chair supplier.", "22222222222222", true);
+
+        productRepository.saveAllAndFlush(List.of(ProductJpaEntity.from(aProduct1), ProductJpaEntity.from(aProduct2)));
+        aSearchIndex.rebuild();
+
+        final var actualResult = aGateway.findAll(new ProductSearchQuery(0, 10, "chair", "relevance", "asc"));
+
+        Assertions.assertEquals(2, actualResult.total());
+        Assertions.assertEquals(aProduct2.getId(), actualResult.items().get(0).getId());
+        Assertions.assertEquals(aProduct1.getId(), actualResult.items().get(1).getId());
+    }
+
+    @Test
+    public void givenASearchIndex_whenCallsCreateAndDelete_thenShouldKeepTheIndexInSync() {
+        final var aSearchIndex = new ProductSearchIndex(productRepository);
+        final var aGateway = newGateway(1000, false, Optional.of(aSearchIndex));
+
+        final var aProduct = aGateway.create(
+                Product.newProduct("indexed product.", Instant.now(), Instant.now(), "indexed.", "indexed supplier.", "11111111111111", true)
+        );
+
+        Assertions.assertEquals(1, aGateway.findAll(new ProductSearchQuery(0, 10, "indexed", "code", "asc")).total());
+        Assertions.assertEquals(1, aGateway.count(new ProductSearchQuery(0, 10, "indexed", "code", "asc")));
+
+        aGateway.deleteByCode(aProduct.getCode());
+
+        Assertions.assertEquals(0, aGateway.findAll(new ProductSearchQuery(0, 10, "indexed", "code", "asc")).total());
+        Assertions.assertEquals(0, aSearchIndex.size());
+    }
+
+    @Test
+    public void givenAnUnindexedSort_whenCallsFindAll_thenShouldThrowDomainException() {
+        final var expectedErrorMessage = "'sort' supplierDescription is not supported";
+        final var query = new ProductSearchQuery(0, 10, "", "supplierDescription", "asc");
+
+        final var actualException = Assertions.assertThrows(DomainException.class, () -> productGateway.findAll(query));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getErrors().get(0).message());
+    }
+
+    @Test
+    public void givenPrePersistedProducts_whenCallsFindAll_thenShouldNotAttachEntitiesToThePersistenceContext() {
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true)),
+                ProductJpaEntity.from(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true))
+        ));
+        entityManager.clear();
+
+        final var actualResult = productGateway.findAll(new ProductSearchQuery(0, 10, "", "code", "asc"));
+
+        Assertions.assertEquals(2, actualResult.items().size());
+        Assertions.assertEquals("first product.", actualResult.items().get(0).getDescription());
+        Assertions.assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    public void givenValidProducts_whenCallsCreateAll_thenShouldInsertThemAndAssignCodes() {
+        final var aProduct1 = Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true);
+        final var aProduct2 = Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "", false);
+        final var aProduct3 = Product.newProduct("third product.", Instant.now(), null, "third-product.", "third product.", "33333333333333", true);
+
+        Assertions.assertEquals(0, productRepository.count());
+
+        final var actualProducts = productGateway.createAll(List.of(aProduct1, aProduct2, aProduct3));
+
+        Assertions.assertEquals(3, productRepository.count());
+        Assertions.assertEquals(3, actualProducts.size());
+        Assertions.assertEquals(aProduct1.getId(), actualProducts.get(0).getId());
+        Assertions.assertEquals(aProduct2.getId(), actualProducts.get(1).getId());
+        Assertions.assertEquals(aProduct3.getId(), actualProducts.get(2).getId());
+        Assertions.assertTrue(actualProducts.get(0).getCode() < actualProducts.get(1).getCode());
+        Assertions.assertTrue(actualProducts.get(1).getCode() < actualProducts.get(2).getCode());
+
+        final var actualEntity = productRepository.findById(actualProducts.get(1).getCode()).get();
+
+        Assertions.assertEquals(aProduct2.getId().toUUID(), actualEntity.getId());
+        Assertions.assertEquals("second product.", actualEntity.getDescription());
+        Assertions.assertFalse(actualEntity.isActive());
+        Assertions.assertEquals(readBack(aProduct2.getCreatedAt()), actualEntity.getCreatedAt());
+        Assertions.assertNull(productRepository.findById(actualProducts.get(2).getCode()).get().getExpiredAt());
+    }
+
+    @Test
+    public void givenMoreProductsThanOneCodeBlock_whenCallsCreateAll_thenShouldReserveBlocksWithoutCollisions() {
+        final var expectedCount = ProductJpaEntity.CODE_ALLOCATION_SIZE + 50;
+
+        final var aProducts = new ArrayList<Product>();
+        for (var i = 0; i < expectedCount; i++) {
+            aProducts.add(Product.newProduct("product %d.".formatted(i), Instant.now(), Instant.now(), "code-%d".formatted(i), "supplier.", "", true));
+        }
+
+        final var actualCodes = productGateway.createAll(aProducts).stream()
+                .map(Product::getCode)
+                .toList();
+        final var reservedUpTo = ((Number) entityManager
+                .createNativeQuery("SELECT next_val FROM product_code_sequences WHERE sequence_name = 'products'")
+                .getSingleResult()).longValue();
+
+        Assertions.assertEquals(expectedCount, productRepository.count());
+        Assertions.assertEquals(expectedCount, actualCodes.stream().distinct().count());
+        Assertions.assertTrue(actualCodes.stream().allMatch(code -> code > 0 && code <= reservedUpTo));
+    }
+
+    @Test
+    public void givenPrePersistedProducts_whenCallsFindAllByCodes_thenShouldReturnOnlyTheExistingOnes() {
+        final var aProduct1 = productGateway.create(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true));
+        final var aProduct2 = productGateway.create(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true));
+        productGateway.create(Product.newProduct("third product.", Instant.now(), Instant.now(), "third-product.", "third product.", "33333333333333", true));
+
+        final var actualProducts = productGateway.findAllByCodes(List.of(aProduct1.getCode(), aProduct2.getCode(), 999_999L));
+
+        Assertions.assertEquals(2, actualProducts.size());
+        Assertions.assertTrue(actualProducts.stream().anyMatch(aProduct -> aProduct.getId().equals(aProduct1.getId())));
+        Assertions.assertTrue(actualProducts.stream().anyMatch(aProduct -> aProduct.getId().equals(aProduct2.getId())));
+        Assertions.assertEquals(List.of(), productGateway.findAllByCodes(List.of()));
+    }
+
+    @Test
+    public void givenPrePersistedProducts_whenCallsUpdateAll_thenShouldUpdateThemAndSkipMissingCodes() {
+        final var aProduct1 = productGateway.create(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true));
+        final var aProduct2 = productGateway.create(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true));
+        final var aMissingProduct = Product.newProduct(999_999L, "missing product.", Instant.now(), Instant.now(), "missing.", "missing.", "", true);
+        entityManager.flush();
+
+        final var updated1 = Product.with(aProduct1).update(aProduct1.getCode(), "first updated.", Instant.now(), Instant.now(), "first-updated.", "first updated.", "", false);
+        final var updated2 = Product.with(aProduct2).update(aProduct2.getCode(), "second updated.", Instant.now(), null, "second-updated.", "second updated.", "99999999999999", true);
+
+        final var actualProducts = productGateway.updateAll(List.of(updated1, updated2, aMissingProduct));
+        entityManager.clear();
+
+        Assertions.assertEquals(2, actualProducts.size());
+        Assertions.assertEquals(2, productRepository.count());
+
+        final var actualEntity1 = productRepository.findById(aProduct1.getCode()).get();
+        Assertions.assertEquals("first updated.", actualEntity1.getDescription());
+        Assertions.assertFalse(actualEntity1.isActive());
+        Assertions.assertNotNull(actualEntity1.getDeletedAt());
+        Assertions.assertEquals(aProduct1.getId().toUUID(), actualEntity1.getId());
+
+        Assertions.assertEquals(1, actualEntity1.getVersion());
+
+        final var actualEntity2 = productRepository.findById(aProduct2.getCode()).get();
+        Assertions.assertEquals("second updated.", actualEntity2.getDescription());
+        Assertions.assertEquals("99999999999999", actualEntity2.getSupplierCNPJ());
+        Assertions.assertNull(actualEntity2.getExpiredAt());
+        Assertions.assertTrue(actualEntity2.isActive());
+    }
+
+    @Test
+    public void givenPrePersistedProducts_whenCallsDeleteAllByCodes_thenShouldDeleteThemAndReturnTheCount() {
+        final var aProduct1 = productGateway.create(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true));
+        final var aProduct2 = productGateway.create(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", true));
+        final var aProduct3 = productGateway.create(Product.newProduct("third product.", Instant.now(), Instant.now(), "third-product.", "third product.", "33333333333333", true));
+
+        final var actualCount = productGateway.deleteAllByCodes(List.of(aProduct1.getCode(), aProduct3.getCode(), 999_999L));
+
+        Assertions.assertEquals(2, actualCount);
+        Assertions.assertEquals(1, productRepository.count());
+        Assertions.assertTrue(productGateway.findByCode(aProduct2.getCode()).isPresent());
+        Assertions.assertTrue(productGateway.findByCode(aProduct1.getCode()).isEmpty());
+    }
+
+    @Test
+    public void givenPrePersistedProducts_whenCallsStreamAll_thenShouldHandOverEveryProductInCodeOrderWithoutAttachingThem() {
+        productRepository.saveAllAndFlush(List.of(
+                ProductJpaEntity.from(Product.newProduct("first product.", Instant.now(), Instant.now(), "first-product.", "first product.", "11111111111111", true)),
+                ProductJpaEntity.from(Product.newProduct("second product.", Instant.now(), Instant.now(), "second-product.", "second product.", "22222222222222", false)),
+                ProductJpaEntity.from(Product.newProduct("third product.", Instant.now(), Instant.now(), "third-product.", "third product.", "33333333333333", true))
+        ));
+        entityManager.clear();
+
+        final var actualProducts = new ArrayList<Product>();
+        final var actualCount = productGateway.streamAll(aProduct -> {
+            Assertions.assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            actualProducts.add(aProduct);
+        });
+
+        Assertions.assertEquals(3, actualCount);
+        Assertions.assertEquals(
+                List.of("first product.", "second product.", "third product."),
+                actualProducts.stream().map(Product::getDescription).toList()
+        );
+        Assertions.assertTrue(actualProducts.get(0).getCode() < actualProducts.get(1).getCode());
+        Assertions.assertFalse(actualProducts.get(1).isActive());
+    }
+
+    //hibernate answers these reads from the persistence context, so they keep the nanoseconds that were written
+    protected Instant readBack(final Instant anInstant) {
+        return anInstant;
+    }
+
+    protected static Instant micros(final Instant anInstant) {
+        return Instant.ofEpochSecond(anInstant.getEpochSecond(), Math.round(anInstant.getNano() / 1_000d) * 1_000);
+    }
 }
@@ -0,0 +1,53 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.application.product.delete.DefaultDeleteProductUseCase;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.infrastructure.MySQLGatewayTest;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductJpaEntity;
+import com.company.admin.product_management.infrastructure.product.persistence.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+//no test transaction, the writes go through the gateway bean and only its own transactions can hold them
+@MySQLGatewayTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductMySQLGatewayTransactionTest {
+
+    @Autowired
+    private ProductMySQLGateway productGateway;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    public void givenAPrePersistedProduct_whenDeletedThroughTheUseCase_thenShouldDeleteItAndBumpTheCatalogVersion() {
+        final var aProduct = Product.newProduct(
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+        final var savedProduct = productRepository.saveAndFlush(ProductJpaEntity.from(aProduct));
+        final var initialVersion = productGateway.catalogVersion();
+
+        new DefaultDeleteProductUseCase(productGateway).execute(savedProduct.getCode());
+
+        Assertions.assertEquals(0, productRepository.count());
+        Assertions.assertTrue(productGateway.catalogVersion() > initialVersion);
+    }
+}
@@ -0,0 +1,167 @@
+package com.company.admin.product_management.infrastructure.product;
+
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.pagination.CountMode;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.infrastructure.configuration.datasource.R2dbcDataSourceConfig;
+import io.r2dbc.pool.ConnectionPool;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+//H2 over R2DBC stands in for MySQL, the schema comes from the same flyway migrations
+public class ProductR2dbcGatewayTest {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:reactive;MODE=MYSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String R2DBC_URL = "r2dbc:h2:mem:///reactive?options=MODE=MYSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool connectionPool;
+    private DatabaseClient client;
+    private ProductR2dbcGateway productGateway;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(JDBC_URL, "root", "123456")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        connectionPool = new R2dbcDataSourceConfig().connectionPool(R2DBC_URL, "root", "123456", 1, 4, Duration.ofSeconds(5));
+        client = DatabaseClient.create(connectionPool);
+        client.sql("DELETE FROM products").then().block();
+        productGateway = new ProductR2dbcGateway(client, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionPool.dispose();
+    }
+
+    @Test
+    public void givenAValidProduct_whenCallsCreate_thenShouldAssignACodeAndReadItBack() {
+        final var aProduct = aProduct("A normal product description.", "supplier-code");
+
+        final var first = productGateway.create(aProduct).block();
+        final var second = productGateway.create(aProduct("Another product.", "supplier-code")).block();
+        final var actualProduct = productGateway.findByCode(first.getCode()).block();
+
+        Assertions.assertEquals(first.getCode() + 1, second.getCode());
+        Assertions.assertEquals(aProduct.getId(), actualProduct.getId());
+        Assertions.assertEquals(aProduct.getDescription(), actualProduct.getDescription());
+        Assertions.assertEquals(aProduct.getFabricatedAt(), actualProduct.getFabricatedAt());
+        Assertions.assertEquals(aProduct.getExpiredAt(), actualProduct.getExpiredAt());
+        Assertions.assertEquals(aProduct.getSupplierCode(), actualProduct.getSupplierCode());
+        Assertions.assertNull(actualProduct.getSupplierDescription());
+        Assertions.assertEquals(aProduct.getSupplierCNPJ(), actualProduct.getSupplierCNPJ());
+        Assertions.assertTrue(actualProduct.isActive());
+        //the column keeps microseconds, rounded by the database
+        Assertions.assertTrue(Duration.between(aProduct.getCreatedAt(), actualProduct.getCreatedAt()).abs().toNanos() < 1_000);
+        Assertions.assertNull(actualProduct.getDeletedAt());
+        Assertions.assertEquals(0, actualProduct.getVersion());
+    }
+
+    @Test
+    public void givenAStoredProduct_whenCallsUpdateAndDelete_thenShouldCheckTheVersionAndTheExistence() {
+        final var created = productGateway.create(aProduct("A normal product description.", "supplier-code")).block();
+        final var stale = Product.with(created);
+
+        final var updated = productGateway.update(Product.with(created)
+                .update(created.getCode(), "An updated description.", created.getFabricatedAt(), created.getExpiredAt(),
+                        "supplier-code", null, "59456277000176", false)).block();
+
+        Assertions.assertEquals(1, updated.getVersion());
+        Assertions.assertEquals("An updated description.", productGateway.findByCode(created.getCode()).block().getDescription());
+        Assertions.assertNotNull(productGateway.findByCode(created.getCode()).block().getDeletedAt());
+        Assertions.assertThrows(ConflictException.class, () -> productGateway.update(stale).block());
+
+        productGateway.deleteByCode(created.getCode()).block();
+
+        Assertions.assertNull(productGateway.findByCode(created.getCode()).block());
+        Assertions.assertThrows(NotFoundException.class, () -> productGateway.update(updated).block());
+    }
+
+    @Test
+    public void givenWrites_whenTheyChangeRows_thenShouldBumpTheCatalogVersionTheServletSideReads() {
+        final var initialVersion = catalogVersion();
+
+        final var created = productGateway.create(aProduct("A normal product description.", "supplier-code")).block();
+        final var afterCreate = catalogVersion();
+        Assertions.assertTrue(afterCreate > initialVersion);
+
+        final var updated = productGateway.update(Product.with(created)
+                .update(created.getCode(), "An updated description.", created.getFabricatedAt(), created.getExpiredAt(),
+                        "supplier-code", null, "59456277000176", true)).block();
+        final var afterUpdate = catalogVersion();
+        Assertions.assertTrue(afterUpdate > afterCreate);
+
+        Assertions.assertThrows(ConflictException.class, () -> productGateway.update(created).block());
+        productGateway.deleteByCode(999_999L).block();
+        Assertions.assertEquals(afterUpdate, catalogVersion());
+
+        productGateway.deleteByCode(updated.getCode()).block();
+        Assertions.assertTrue(catalogVersion() > afterUpdate);
+    }
+
+    @Test
+    public void givenStoredProducts_whenCallsFindAllWithTheAfterCursor_thenShouldWalkEveryMatchOnce() {
+        for (final var supplier : new String[]{"b-chair", "a-chair", "c-lamp", "a-chair", "d-chair"}) {
+            productGateway.create(aProduct("Product of " + supplier + ".", supplier)).block();
+        }
+
+        final var seen = new ArrayList<String>();
+        String after = null;
+        var pages = 0;
+        do {
+            final var page = productGateway.findAll(new ProductSearchQuery(0, 2, "CHAIR", "description", "desc", after, CountMode.EXACT)).block();
+            Assertions.assertEquals(4, page.total());
+            page.items().forEach(item -> seen.add(item.getSupplierCode()));
+            after = page.nextCursor();
+            pages++;
+        } while (after != null);
+
+        Assertions.assertEquals(2, pages);
+        Assertions.assertEquals(List.of("d-chair", "b-chair", "a-chair", "a-chair"), seen);
+
+        final var byOffset = productGateway.findAll(new ProductSearchQuery(1, 3, "", "code", "asc", null, CountMode.NONE)).block();
+
+        Assertions.assertEquals(-1, byOffset.total());
+        Assertions.assertEquals(2, byOffset.items().size());
+        Assertions.assertFalse(byOffset.hasNext());
+    }
+
+    private long catalogVersion() {
+        return client.sql("SELECT version FROM catalog_versions WHERE catalog_name = 'products'")
+                .map((row, metadata) -> ((Number) row.get("version")).longValue())
+                .one()
+                .block();
+    }
+
+    private static Product aProduct(final String aDescription, final String aSupplierCode) {
+        final var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        return Product.newProduct(
+                aDescription,
+                now,
+                now.plus(10, ChronoUnit.DAYS),
+                aSupplierCode,
+                null,
+                "59456277000176",
+                true
+        );
+    }
+}
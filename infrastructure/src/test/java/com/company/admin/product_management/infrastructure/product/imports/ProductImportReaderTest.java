@@ -0,0 +1,125 @@
+package com.company.admin.product_management.infrastructure.product.imports;
+
+import com.company.admin.product_management.application.product.create.CreateProductCommand;
+import com.company.admin.product_management.application.product.create.ImportProductCommand;
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.infrastructure.product.export.CsvProductExportWriter;
+import com.company.admin.product_management.infrastructure.product.presenters.ProductApiPresenter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportReaderTest {
+
+    @Test
+    public void givenACsvWithQuotedFields_whenReading_thenShouldParseEveryRecordWithItsFirstLine() throws IOException {
+        final var csv = """
+                supplier_code,description,fabricated_at,is_active\r
+                s-1,"chair, ""blue""\",2024-01-02T03:04:05Z,false\r
+                \r
+                s-2,"a table
+                on two lines",,\r
+                s-3,lamp,yesterday,maybe\r
+                """;
+
+        final var actualLines = read(ProductImportFormat.CSV, csv);
+
+        Assertions.assertEquals(List.of(2L, 4L, 6L), actualLines.stream().map(ImportProductCommand::line).toList());
+
+        final var first = actualLines.get(0).command().get();
+        Assertions.assertEquals("chair, \"blue\"", first.aDescription());
+        Assertions.assertEquals("s-1", first.anSupplierCode());
+        Assertions.assertEquals(Instant.parse("2024-01-02T03:04:05Z"), first.aFabricatedAt());
+        Assertions.assertFalse(first.isActive());
+        Assertions.assertNull(first.aSupplierCNPJ());
+
+        final var second = actualLines.get(1).command().get();
+        Assertions.assertEquals("a table\non two lines", second.aDescription());
+        Assertions.assertNull(second.aFabricatedAt());
+        Assertions.assertTrue(second.isActive());
+
+        final var third = actualLines.get(2).command().getLeft();
+        Assertions.assertEquals("'fabricated_at' should be an ISO-8601 instant", third.getErrors().get(0).message());
+        Assertions.assertEquals("'is_active' should be true or false", third.getErrors().get(1).message());
+    }
+
+    @Test
+    public void givenAnExportedCsv_whenReading_thenShouldGetTheSameProductsBack() throws IOException {
+        final var aProduct = Product.newProduct(
+                7L,
+                "A normal, \"quoted\" description.",
+                Instant.now().truncatedTo(ChronoUnit.MILLIS),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                false
+        );
+
+        final var exported = new ByteArrayOutputStream();
+        try (final var writer = new CsvProductExportWriter(exported)) {
+            writer.write(ProductApiPresenter.present(ProductOutput.from(aProduct)));
+        }
+
+        final var actualLines = read(ProductImportFormat.CSV, exported.toString(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(1, actualLines.size());
+        Assertions.assertEquals(
+                CreateProductCommand.with(
+                        aProduct.getDescription(),
+                        aProduct.getFabricatedAt(),
+                        aProduct.getExpiredAt(),
+                        aProduct.getSupplierCode(),
+                        aProduct.getSupplierDescription(),
+                        aProduct.getSupplierCNPJ(),
+                        false
+                ),
+                actualLines.get(0).command().get()
+        );
+    }
+
+    @Test
+    public void givenNdjsonWithAnInvalidLine_whenReading_thenShouldReportItAndKeepReading() throws IOException {
+        final var ndjson = """
+                {"description":"first product.","expired_at":"2030-01-01T00:00:00Z"}
+                {"description":
+                {"description":"third product.","is_active":false}""";
+
+        final var actualLines = read(ProductImportFormat.NDJSON, ndjson);
+
+        Assertions.assertEquals(List.of(1L, 2L, 3L), actualLines.stream().map(ImportProductCommand::line).toList());
+        Assertions.assertEquals(Instant.parse("2030-01-01T00:00:00Z"), actualLines.get(0).command().get().anExpiredAt());
+        Assertions.assertTrue(actualLines.get(1).command().getLeft().getErrors().get(0).message().startsWith("invalid json"));
+        Assertions.assertFalse(actualLines.get(2).command().get().isActive());
+    }
+
+    @Test
+    public void givenALineOverTheLimit_whenReading_thenShouldReportItAndReadTheNextOne() throws IOException {
+        final var huge = "x".repeat(ProductImportReader.MAX_LINE_LENGTH + 1);
+        final var csv = "supplier_code,description\ns-1,\"" + huge + "\nstill quoted\"\ns-2,lamp\n";
+        final var ndjson = "{\"description\":\"" + huge + "\"}\r\n{\"description\":\"lamp\"}";
+
+        for (final var lines : List.of(read(ProductImportFormat.CSV, csv), read(ProductImportFormat.NDJSON, ndjson))) {
+            Assertions.assertEquals(2, lines.size());
+            Assertions.assertEquals("line is longer than 16384 characters", lines.get(0).command().getLeft().getErrors().get(0).message());
+            Assertions.assertEquals("lamp", lines.get(1).command().get().aDescription());
+        }
+    }
+
+    private static List<ImportProductCommand> read(final ProductImportFormat aFormat, final String aBody) throws IOException {
+        final var lines = new ArrayList<ImportProductCommand>();
+        try (final var reader = aFormat.open(new ByteArrayInputStream(aBody.getBytes(StandardCharsets.UTF_8)))) {
+            reader.forEachRemaining(lines::add);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,90 @@
+package com.company.admin.product_management.infrastructure.product.search;
+
+import com.company.admin.product_management.infrastructure.product.persistence.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void cleanUp() {
+        reset(productRepository);
+        searchIndex = new ProductSearchIndex(productRepository);
+    }
+
+    @Test
+    public void givenARepository_whenCallsRebuild_thenShouldLoadEveryChunk() {
+        when(productRepository.findSearchDocuments(eq(0L), any()))
+                .thenReturn(List.of(
+                        new ProductSearchDocument(1L, "blue chair.", "chair", "Furniture Ltda.", "11111111111111"),
+                        new ProductSearchDocument(2L, "red table.", "table", "Furniture Ltda.", "22222222222222")
+                ));
+        when(productRepository.findSearchDocuments(eq(2L), any()))
+                .thenReturn(List.of(new ProductSearchDocument(3L, "green lamp.", "lamp", "Lights Ltda.", "33333333333333")));
+        when(productRepository.findSearchDocuments(eq(3L), any()))
+                .thenReturn(List.of());
+
+        searchIndex.rebuild();
+
+        Assertions.assertEquals(3, searchIndex.size());
+        Assertions.assertArrayEquals(new int[]{1, 2}, searchIndex.search("furniture"));
+        Assertions.assertArrayEquals(new int[]{3}, searchIndex.search("LAMP"));
+    }
+
+    @Test
+    public void givenIndexedDocuments_whenCallsSearch_thenShouldMatchSubstringsOnly() {
+        searchIndex.put(new ProductSearchDocument(1L, "Cadeira de escrit\u00f3rio.", "cad-01", "M\u00f3veis SA", "11111111111111"));
+        searchIndex.put(new ProductSearchDocument(2L, "Mesa de escritorio.", "mes-01", "Moveis SA", "22222222222222"));
+        searchIndex.put(new ProductSearchDocument(3L, "Lumin\u00e1ria.", "lum-01", "Luzes SA", "33333333333333"));
+
+        Assertions.assertArrayEquals(new int[]{1, 2}, searchIndex.search("escrit\u00f3rio"));
+        Assertions.assertArrayEquals(new int[]{1, 2}, searchIndex.search("moveis"));
+        Assertions.assertArrayEquals(new int[]{3}, searchIndex.search("333"));
+        Assertions.assertArrayEquals(new int[]{1}, searchIndex.search("ca"));
+        Assertions.assertArrayEquals(new int[0], searchIndex.search("escritorio moveis"));
+        Assertions.assertArrayEquals(new int[0], searchIndex.search("sofa"));
+    }
+
+    @Test
+    public void givenAnIndexedDocument_whenCallsPutAndRemove_thenShouldReplaceItsTerms() {
+        searchIndex.put(new ProductSearchDocument(1L, "old description.", "code", "supplier", "11111111111111"));
+        searchIndex.put(new ProductSearchDocument(1L, "new description.", "code", "supplier", "11111111111111"));
+
+        Assertions.assertEquals(1, searchIndex.size());
+        Assertions.assertArrayEquals(new int[0], searchIndex.search("old"));
+        Assertions.assertArrayEquals(new int[]{1}, searchIndex.search("new"));
+
+        searchIndex.remove(1L);
+
+        Assertions.assertEquals(0, searchIndex.size());
+        Assertions.assertArrayEquals(new int[0], searchIndex.search("new"));
+    }
+
+    @Test
+    public void givenMatches_whenCallsRank_thenShouldOrderByRelevance() {
+        searchIndex.put(new ProductSearchDocument(1L, "a lamp with a long description about many other things.", "l-1", "supplier", "11111111111111"));
+        searchIndex.put(new ProductSearchDocument(2L, "lamp, lamp shade and lamp bulb.", "lamp", "lamp supplier", "22222222222222"));
+        searchIndex.put(new ProductSearchDocument(3L, "desk lamp.", "l-3", "supplier", "33333333333333"));
+
+        final var actualRanking = searchIndex.rank("lamp", searchIndex.search("lamp"));
+
+        Assertions.assertArrayEquals(new int[]{2, 3, 1}, actualRanking);
+    }
+}
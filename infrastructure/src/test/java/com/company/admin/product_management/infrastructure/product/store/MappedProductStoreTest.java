@@ -0,0 +1,175 @@
+package com.company.admin.product_management.infrastructure.product.store;
+
+import com.company.admin.product_management.domain.product.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MappedProductStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<MappedProductStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(MappedProductStore::close);
+    }
+
+    @Test
+    public void givenAClosedStore_whenOpenedAgain_thenShouldServeTheSameProducts() {
+        final var aStore = newStore();
+        final var aProduct = aProduct(7L, "S\u00e3o Paulo chair.", null);
+        final var removedProduct = aProduct(8L, "removed product.", Instant.now());
+        aStore.putAll(List.of(aProduct, removedProduct, aProduct(3_000_000L, "far away code.", Instant.now())));
+        aStore.removeAll(List.of(8L));
+        aStore.close();
+        stores.remove(aStore);
+
+        final var reopened = newStore();
+        final var actualProduct = reopened.get(7L).get();
+
+        Assertions.assertEquals(aProduct.getId(), actualProduct.getId());
+        Assertions.assertEquals("S\u00e3o Paulo chair.", actualProduct.getDescription());
+        Assertions.assertNull(actualProduct.getFabricatedAt());
+        Assertions.assertNull(actualProduct.getSupplierDescription());
+        Assertions.assertEquals(aProduct.getExpiredAt(), actualProduct.getExpiredAt());
+        Assertions.assertEquals(aProduct.getCreatedAt(), actualProduct.getCreatedAt());
+        Assertions.assertEquals("59456277000176", actualProduct.getSupplierCNPJ());
+        Assertions.assertTrue(actualProduct.isActive());
+        Assertions.assertEquals("far away code.", reopened.get(3_000_000L).get().getDescription());
+        Assertions.assertTrue(reopened.get(8L).isEmpty());
+        Assertions.assertTrue(reopened.get(9L).isEmpty());
+    }
+
+    @Test
+    public void givenChangesNotCheckpointed_whenTheDataFileIsLost_thenShouldReplayThemFromTheLog() throws IOException {
+        final var aStore = newStore();
+        aStore.putAll(List.of(aProduct(1L, "first product.", null), aProduct(2L, "second product.", null)));
+        aStore.evictAll(List.of(aProduct(2L, "second product.", null)));
+
+        try (final var data = FileChannel.open(directory.resolve("products.dat"), StandardOpenOption.WRITE);
+             final var wal = FileChannel.open(directory.resolve("products.wal"), StandardOpenOption.WRITE)) {
+            data.write(ByteBuffer.allocate(ProductRecord.SIZE * 4), ProductRecord.SIZE);
+            wal.write(ByteBuffer.wrap("torn entry".getBytes()), wal.size());
+        }
+        Assertions.assertTrue(aStore.get(1L).isEmpty());
+
+        final var recovered = newStore();
+
+        Assertions.assertEquals("first product.", recovered.get(1L).get().getDescription());
+        Assertions.assertTrue(recovered.get(2L).isEmpty());
+        Assertions.assertEquals(0, Files.size(directory.resolve("products.wal")));
+    }
+
+    @Test
+    public void givenAStoredVersion_whenPuttingAnOlderOrOversizedOne_thenShouldKeepReadsCorrect() {
+        final var aStore = newStore();
+        final var aProduct = aProduct(1L, "first product.", null);
+        final var newerProduct = withVersion(aProduct, "first product.", 2L);
+
+        aStore.put(newerProduct);
+        aStore.put(aProduct);
+        Assertions.assertEquals(2, aStore.get(1L).get().getVersion());
+
+        aStore.evictAll(List.of(newerProduct));
+        aStore.put(newerProduct);
+        Assertions.assertTrue(aStore.get(1L).isEmpty());
+
+        aStore.put(withVersion(aProduct, "\u20ac".repeat(255), 3L));
+        Assertions.assertTrue(aStore.get(1L).isEmpty());
+
+        aStore.forgetAll(List.of(1L));
+        aStore.put(aProduct);
+        Assertions.assertEquals(0, aStore.get(1L).get().getVersion());
+    }
+
+    @Test
+    public void givenARecordTornByAPowerLoss_whenOpenedAgain_thenShouldMissItUntilStoredAgain() throws IOException {
+        final var aStore = newStore();
+        final var aProduct = aProduct(1L, "first product.", null);
+        aStore.put(aProduct);
+        aStore.close();
+        stores.remove(aStore);
+
+        //the code at the start of the record survives, only a later page got half of a newer write
+        try (final var data = FileChannel.open(directory.resolve("products.dat"), StandardOpenOption.WRITE)) {
+            data.write(ByteBuffer.wrap("half of another version".getBytes()), ProductRecord.SIZE + 1_000L);
+        }
+
+        final var reopened = newStore();
+        Assertions.assertTrue(reopened.get(1L).isEmpty());
+
+        reopened.put(aProduct);
+        Assertions.assertEquals("first product.", reopened.get(1L).get().getDescription());
+    }
+
+    @Test
+    public void givenSupplierFieldsAtTheColumnLimit_whenStored_thenShouldReadThemBack() {
+        final var aStore = newStore();
+        final var aProduct = Product.newProduct(1L, "first product.", null, Instant.now().plus(10, ChronoUnit.DAYS),
+                "\u00e7".repeat(255), "\u00e3".repeat(255), "59456277000176", true);
+
+        aStore.put(aProduct);
+
+        Assertions.assertEquals("\u00e7".repeat(255), aStore.get(1L).get().getSupplierCode());
+        Assertions.assertEquals("\u00e3".repeat(255), aStore.get(1L).get().getSupplierDescription());
+    }
+
+    @Test
+    public void givenNoOrARelativeDirectory_whenCreatingTheStore_thenShouldRefuseToStart() {
+        Assertions.assertThrows(IllegalStateException.class, () -> new MappedProductStore(null, DataSize.ofMegabytes(1)));
+        Assertions.assertThrows(IllegalStateException.class, () -> new MappedProductStore(Path.of("product-store"), DataSize.ofMegabytes(1)));
+    }
+
+    private MappedProductStore newStore() {
+        final var aStore = new MappedProductStore(directory, DataSize.ofMegabytes(1));
+        stores.add(aStore);
+        return aStore;
+    }
+
+    private static Product withVersion(final Product aProduct, final String aDescription, final long aVersion) {
+        return Product.with(
+                aVersion,
+                aProduct.getId(),
+                aProduct.getCode(),
+                aDescription,
+                aProduct.getFabricatedAt(),
+                aProduct.getExpiredAt(),
+                aProduct.getSupplierCode(),
+                aProduct.getSupplierDescription(),
+                aProduct.getSupplierCNPJ(),
+                aProduct.isActive(),
+                aProduct.getCreatedAt(),
+                aProduct.getUpdatedAt(),
+                aProduct.getDeletedAt()
+        );
+    }
+
+    private static Product aProduct(final Long aCode, final String aDescription, final Instant aFabricatedAt) {
+        return Product.newProduct(
+                aCode,
+                aDescription,
+                aFabricatedAt,
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                null,
+                "59456277000176",
+                true
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.company.admin.product_management.reactive.product;
+
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import reactor.core.publisher.Mono;
+
+//non-blocking counterpart of ProductGateway for the operations the reactive stack serves
+public interface ReactiveProductGateway {
+
+    Mono<Product> create(Product aProduct);
+
+    Mono<Void> deleteByCode(Long code);
+
+    Mono<Product> findByCode(Long aCode);
+
+    Mono<Product> update(Product aProduct);
+
+    Mono<Pagination<Product>> findAll(ProductSearchQuery aQuery);
+}
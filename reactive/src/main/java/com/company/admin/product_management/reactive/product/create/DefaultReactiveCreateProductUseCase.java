@@ -0,0 +1,47 @@
+package com.company.admin.product_management.reactive.product.create;
+
+import com.company.admin.product_management.application.product.create.CreateProductCommand;
+import com.company.admin.product_management.application.product.create.CreateProductOutput;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import io.vavr.control.Either;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+import static io.vavr.API.Left;
+import static io.vavr.API.Right;
+
+public class DefaultReactiveCreateProductUseCase extends ReactiveCreateProductUseCase {
+
+    private final ReactiveProductGateway productGateway;
+
+    public DefaultReactiveCreateProductUseCase(final ReactiveProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Mono<Either<Notification, CreateProductOutput>> execute(final CreateProductCommand aCommand) {
+        final var aProduct = Product.newProduct(
+                aCommand.aDescription(),
+                aCommand.aFabricatedAt(),
+                aCommand.anExpiredAt(),
+                aCommand.anSupplierCode(),
+                aCommand.aSupplierDescription(),
+                aCommand.aSupplierCNPJ(),
+                aCommand.isActive()
+        );
+
+        final var notification = Notification.create();
+        aProduct.validate(notification);
+
+        return notification.hasError() ? Mono.just(Left(notification)) : create(aProduct);
+    }
+
+    private Mono<Either<Notification, CreateProductOutput>> create(final Product aProduct) {
+        return this.productGateway.create(aProduct)
+                .<Either<Notification, CreateProductOutput>>map(created -> Right(CreateProductOutput.from(created)))
+                .onErrorResume(t -> Mono.just(Left(Notification.create(t))));
+    }
+}
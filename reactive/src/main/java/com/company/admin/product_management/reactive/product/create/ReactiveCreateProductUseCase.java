@@ -0,0 +1,12 @@
+package com.company.admin.product_management.reactive.product.create;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.application.product.create.CreateProductCommand;
+import com.company.admin.product_management.application.product.create.CreateProductOutput;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import io.vavr.control.Either;
+import reactor.core.publisher.Mono;
+
+public abstract class ReactiveCreateProductUseCase
+        extends UseCase<CreateProductCommand, Mono<Either<Notification, CreateProductOutput>>> {
+}
@@ -0,0 +1,20 @@
+package com.company.admin.product_management.reactive.product.delete;
+
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+public class DefaultReactiveDeleteProductUseCase extends ReactiveDeleteProductUseCase {
+
+    private final ReactiveProductGateway productGateway;
+
+    public DefaultReactiveDeleteProductUseCase(final ReactiveProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Mono<Void> execute(final Long aCode) {
+        return this.productGateway.deleteByCode(aCode);
+    }
+}
@@ -0,0 +1,7 @@
+package com.company.admin.product_management.reactive.product.delete;
+
+import com.company.admin.product_management.application.UseCase;
+import reactor.core.publisher.Mono;
+
+public abstract class ReactiveDeleteProductUseCase extends UseCase<Long, Mono<Void>> {
+}
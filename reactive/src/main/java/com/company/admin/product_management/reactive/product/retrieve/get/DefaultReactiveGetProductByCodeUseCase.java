@@ -0,0 +1,25 @@
+package com.company.admin.product_management.reactive.product.retrieve.get;
+
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+public class DefaultReactiveGetProductByCodeUseCase extends ReactiveGetProductByCodeUseCase {
+
+    private final ReactiveProductGateway productGateway;
+
+    public DefaultReactiveGetProductByCodeUseCase(final ReactiveProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Mono<ProductOutput> execute(final Long aCode) {
+        return this.productGateway.findByCode(aCode)
+                .map(ProductOutput::from)
+                .switchIfEmpty(Mono.error(() -> NotFoundException.with(Product.class, aCode)));
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.admin.product_management.reactive.product.retrieve.get;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.application.product.retrieve.get.ProductOutput;
+import reactor.core.publisher.Mono;
+
+public abstract class ReactiveGetProductByCodeUseCase extends UseCase<Long, Mono<ProductOutput>> {
+}
@@ -0,0 +1,23 @@
+package com.company.admin.product_management.reactive.product.retrieve.list;
+
+import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+public class DefaultReactiveListProductsUseCase extends ReactiveListProductsUseCase {
+
+    private final ReactiveProductGateway productGateway;
+
+    public DefaultReactiveListProductsUseCase(final ReactiveProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Mono<Pagination<ProductListOutput>> execute(final ProductSearchQuery aQuery) {
+        return this.productGateway.findAll(aQuery).map(page -> page.map(ProductListOutput::from));
+    }
+}
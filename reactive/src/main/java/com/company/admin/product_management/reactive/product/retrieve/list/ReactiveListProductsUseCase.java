@@ -0,0 +1,11 @@
+package com.company.admin.product_management.reactive.product.retrieve.list;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.application.product.retrieve.list.ProductListOutput;
+import com.company.admin.product_management.domain.pagination.Pagination;
+import com.company.admin.product_management.domain.product.ProductSearchQuery;
+import reactor.core.publisher.Mono;
+
+public abstract class ReactiveListProductsUseCase
+        extends UseCase<ProductSearchQuery, Mono<Pagination<ProductListOutput>>> {
+}
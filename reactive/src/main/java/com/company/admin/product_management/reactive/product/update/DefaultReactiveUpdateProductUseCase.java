@@ -0,0 +1,63 @@
+package com.company.admin.product_management.reactive.product.update;
+
+import com.company.admin.product_management.application.product.update.UpdateProductCommand;
+import com.company.admin.product_management.application.product.update.UpdateProductOutput;
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import io.vavr.control.Either;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+import static io.vavr.API.Left;
+import static io.vavr.API.Right;
+
+public class DefaultReactiveUpdateProductUseCase extends ReactiveUpdateProductUseCase {
+
+    private final ReactiveProductGateway productGateway;
+
+    public DefaultReactiveUpdateProductUseCase(final ReactiveProductGateway productGateway) {
+        this.productGateway = Objects.requireNonNull(productGateway);
+    }
+
+    @Override
+    public Mono<Either<Notification, UpdateProductOutput>> execute(final UpdateProductCommand aCommand) {
+        final var code = aCommand.code();
+
+        return this.productGateway.findByCode(code)
+                .switchIfEmpty(Mono.error(() -> NotFoundException.with(Product.class, code)))
+                .flatMap(aProduct -> {
+                    if (aCommand.isStale(aProduct.getVersion())) {
+                        return Mono.error(ConflictException.with(Product.class, code));
+                    }
+
+                    final var notification = Notification.create();
+
+                    aProduct.update(
+                            aCommand.code(),
+                            aCommand.description(),
+                            aCommand.fabricatedAt(),
+                            aCommand.expiredAt(),
+                            aCommand.supplierCode(),
+                            aCommand.supplierDescription(),
+                            aCommand.supplierCNPJ(),
+                            aCommand.isActive()
+                    ).validate(notification);
+
+                    return notification.hasError() ? Mono.just(Left(notification)) : update(aProduct);
+                });
+    }
+
+    private Mono<Either<Notification, UpdateProductOutput>> update(final Product aProduct) {
+        //a concurrent change or removal is not a validation error, so it reaches the caller as is
+        return this.productGateway.update(aProduct)
+                .<Either<Notification, UpdateProductOutput>>map(updated -> Right(UpdateProductOutput.from(updated)))
+                .onErrorResume(
+                        t -> !(t instanceof ConflictException) && !(t instanceof NotFoundException),
+                        t -> Mono.just(Left(Notification.create(t)))
+                );
+    }
+}
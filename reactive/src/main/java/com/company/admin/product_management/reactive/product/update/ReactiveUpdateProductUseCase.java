@@ -0,0 +1,12 @@
+package com.company.admin.product_management.reactive.product.update;
+
+import com.company.admin.product_management.application.UseCase;
+import com.company.admin.product_management.application.product.update.UpdateProductCommand;
+import com.company.admin.product_management.application.product.update.UpdateProductOutput;
+import com.company.admin.product_management.domain.validation.handler.Notification;
+import io.vavr.control.Either;
+import reactor.core.publisher.Mono;
+
+public abstract class ReactiveUpdateProductUseCase
+        extends UseCase<UpdateProductCommand, Mono<Either<Notification, UpdateProductOutput>>> {
+}
@@ -0,0 +1,109 @@
+package com.company.admin.product_management.reactive.product.create;
+
+import com.company.admin.product_management.application.product.create.CreateProductCommand;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveCreateProductUseCaseTest {
+
+    @InjectMocks
+    private DefaultReactiveCreateProductUseCase useCase;
+
+    @Mock
+    private ReactiveProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenAValidCommand_whenCallsCreateProduct_shouldReturnTheCodeGivenByTheGateway() {
+        final var aCommand = CreateProductCommand.with(
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+
+        when(productGateway.create(any())).thenAnswer(invocation -> {
+            final Product aProduct = invocation.getArgument(0);
+            return Mono.just(Product.with(
+                    aProduct.getId(),
+                    123L,
+                    aProduct.getDescription(),
+                    aProduct.getFabricatedAt(),
+                    aProduct.getExpiredAt(),
+                    aProduct.getSupplierCode(),
+                    aProduct.getSupplierDescription(),
+                    aProduct.getSupplierCNPJ(),
+                    aProduct.isActive(),
+                    aProduct.getCreatedAt(),
+                    aProduct.getUpdatedAt(),
+                    aProduct.getDeletedAt()
+            ));
+        });
+
+        final var actualOutput = useCase.execute(aCommand).block().get();
+
+        Assertions.assertEquals(123L, actualOutput.productCode());
+        Mockito.verify(productGateway, times(1)).create(any());
+    }
+
+    @Test
+    public void givenSomeInvalidData_whenCallsCreateProduct_shouldReturnTheNotificationWithoutReachingTheGateway() {
+        final var aCommand = CreateProductCommand.with(
+                null,
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+
+        final var notification = useCase.execute(aCommand).block().getLeft();
+
+        Assertions.assertEquals("'description' should not be null", notification.firstError().message());
+        Mockito.verify(productGateway, times(0)).create(any());
+    }
+
+    @Test
+    public void givenAFailingGateway_whenCallsCreateProduct_shouldReturnTheErrorAsANotification() {
+        final var aCommand = CreateProductCommand.with(
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+
+        when(productGateway.create(any())).thenReturn(Mono.error(new IllegalStateException("Gateway error")));
+
+        final var notification = useCase.execute(aCommand).block().getLeft();
+
+        Assertions.assertEquals("Gateway error", notification.firstError().message());
+    }
+}
@@ -0,0 +1,115 @@
+package com.company.admin.product_management.reactive.product.update;
+
+import com.company.admin.product_management.application.product.update.UpdateProductCommand;
+import com.company.admin.product_management.domain.exceptions.ConflictException;
+import com.company.admin.product_management.domain.exceptions.NotFoundException;
+import com.company.admin.product_management.domain.product.Product;
+import com.company.admin.product_management.reactive.product.ReactiveProductGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveUpdateProductUseCaseTest {
+
+    @InjectMocks
+    private DefaultReactiveUpdateProductUseCase useCase;
+
+    @Mock
+    private ReactiveProductGateway productGateway;
+
+    @BeforeEach
+    void cleanUp() {
+        Mockito.reset(productGateway);
+    }
+
+    @Test
+    public void givenAValidCommand_whenCallsUpdateProduct_shouldReturnTheNewVersion() {
+        final var aProduct = aProduct();
+
+        when(productGateway.findByCode(eq(1234L))).thenReturn(Mono.just(Product.with(aProduct)));
+        when(productGateway.update(any())).thenAnswer(invocation -> {
+            final Product updated = invocation.getArgument(0);
+            return Mono.just(Product.with(
+                    updated.getVersion() + 1,
+                    updated.getId(),
+                    updated.getCode(),
+                    updated.getDescription(),
+                    updated.getFabricatedAt(),
+                    updated.getExpiredAt(),
+                    updated.getSupplierCode(),
+                    updated.getSupplierDescription(),
+                    updated.getSupplierCNPJ(),
+                    updated.isActive(),
+                    updated.getCreatedAt(),
+                    updated.getUpdatedAt(),
+                    updated.getDeletedAt()
+            ));
+        });
+
+        final var actualOutput = useCase.execute(aCommand(0L)).block().get();
+
+        Assertions.assertEquals(1234L, actualOutput.code());
+        Assertions.assertEquals(1, actualOutput.version());
+        Mockito.verify(productGateway, times(1)).update(Mockito.argThat(updated ->
+                "An updated product description.".equals(updated.getDescription())));
+    }
+
+    @Test
+    public void givenAStaleVersion_whenCallsUpdateProduct_shouldFailWithConflictWithoutUpdating() {
+        when(productGateway.findByCode(eq(1234L))).thenReturn(Mono.just(aProduct()));
+
+        Assertions.assertThrows(ConflictException.class, () -> useCase.execute(aCommand(7L)).block());
+        Mockito.verify(productGateway, times(0)).update(any());
+    }
+
+    @Test
+    public void givenAnUnknownCode_whenCallsUpdateProduct_shouldFailWithNotFound() {
+        when(productGateway.findByCode(eq(1234L))).thenReturn(Mono.empty());
+
+        final var actualException = Assertions.assertThrows(NotFoundException.class, () -> useCase.execute(aCommand(null)).block());
+
+        Assertions.assertEquals("Product with code 1234 was not found", actualException.getMessage());
+    }
+
+    private static UpdateProductCommand aCommand(final Long anExpectedVersion) {
+        return UpdateProductCommand.with(
+                1234L,
+                "An updated product description.",
+                Instant.now(),
+                Instant.now().plus(50, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true,
+                anExpectedVersion
+        );
+    }
+
+    private static Product aProduct() {
+        return Product.newProduct(
+                1234L,
+                "A normal product description.",
+                Instant.now(),
+                Instant.now().plus(10, ChronoUnit.DAYS),
+                "supplier-code",
+                "A normal supplier description.",
+                "59456277000176",
+                true
+        );
+    }
+}